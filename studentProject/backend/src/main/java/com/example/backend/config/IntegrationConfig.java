@@ -1,16 +1,38 @@
 package com.example.backend.config;
 
+import com.example.backend.dataAccess.StudentsRepositoryCustom;
 import com.example.backend.entities.Student;
+import com.example.backend.service.concretes.CsvImportMetrics;
+import com.example.backend.service.concretes.CsvImportTracker;
+import com.example.backend.service.concretes.CsvIngestionThrottle;
 import com.example.backend.service.concretes.StudentManager;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.integration.aggregator.AggregatingMessageHandler;
+import org.springframework.integration.aggregator.DefaultAggregatingMessageGroupProcessor;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.PartitionedChannel;
 import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.expression.ValueExpression;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.handler.annotation.Header;
+
+import java.sql.SQLTransientException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Configuration
 @EnableIntegration
@@ -19,32 +41,193 @@ import org.springframework.messaging.MessageChannel;
 public class IntegrationConfig {
 
     private final StudentManager studentManager;
+    private final CsvImportTracker csvImportTracker;
+    private final CsvImportMetrics csvImportMetrics;
+    private final CsvIngestionThrottle csvIngestionThrottle;
+
+    @Value("${csv.batch.flush-timeout-ms:200}")
+    private long batchFlushTimeoutMs;
+
+    @Value("${csv.batch.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${csv.batch.retry.backoff-ms:200}")
+    private long retryBackoffMs;
+
+    @Value("${csv.channel.line.type:direct}")
+    private String lineChannelType;
+
+    @Value("${csv.channel.line.consumers:4}")
+    private int lineChannelConsumers;
+
+    @Value("${csv.channel.student.type:direct}")
+    private String studentChannelType;
+
+    @Value("${csv.channel.student.consumers:4}")
+    private int studentChannelConsumers;
 
     @Bean
     public MessageChannel csvLineChannel() {
-        return new DirectChannel();
+        return channel(lineChannelType, lineChannelConsumers, "csv-line-",
+                message -> numberKey((String[]) message.getPayload()));
     }
 
     @Bean
     public MessageChannel studentChannel() {
+        return channel(studentChannelType, studentChannelConsumers, "csv-student-",
+                message -> String.valueOf(((Student) message.getPayload()).getNumber()));
+    }
+
+    // direct: asama gonderen thread'de calisir. partitioned: mesajlar numaraya gore sabit bir
+    // virtual thread tuketiciye gider; ayni numaranin satirlari o tuketicide sirasiyla islenir,
+    // farkli numaralar paralel islenir. Sira yazmaya kadar studentBatchAggregator'da korunur.
+    // Kuyruk derinligi dosya basina max-in-flight ile sinirlidir.
+    private MessageChannel channel(String type, int consumers, String threadPrefix,
+                                   Function<Message<?>, Object> partitionKey) {
+        if ("partitioned".equalsIgnoreCase(type)) {
+            PartitionedChannel channel = new PartitionedChannel(Math.max(1, consumers), partitionKey);
+            channel.setThreadFactory(Thread.ofVirtual().name(threadPrefix, 0).factory());
+            return channel;
+        }
+        return new DirectChannel();
+    }
+
+    private static Object numberKey(String[] csvLine) {
+        return csvLine != null && csvLine.length > 2 && csvLine[2] != null ? csvLine[2].trim() : "";
+    }
+
+    // Aggregator'a ayni anda satir gonderen thread sayisi kadar bolum; direct kanallarda tek grup
+    private int batchPartitions() {
+        if ("partitioned".equalsIgnoreCase(studentChannelType)) {
+            return Math.max(1, studentChannelConsumers);
+        }
+        if ("partitioned".equalsIgnoreCase(lineChannelType)) {
+            return Math.max(1, lineChannelConsumers);
+        }
+        return 1;
+    }
+
+    @Bean
+    public MessageChannel studentBatchChannel() {
         return new DirectChannel();
     }
 
+    // Ogrencileri dosya/parca (csvBatchKey) ve numara bolumu bazinda gruplayip batch boyutuna
+    // ulasinca ya da dosyadan yeni satir gelmedigi flush suresi dolunca toplu kayda gonderir.
+    // Ayni numara hep ayni gruba duser ve grup kilidi yazma bitene kadar tutulur: bir sonraki
+    // batch'e satir eklenemeden onceki batch commit edilmis olur, boylece dosyadaki son satir
+    // kazanir. Farkli bolumlerin batch'leri paralel yazilir.
+    @Bean
     @ServiceActivator(inputChannel = "studentChannel")
-    public void saveStudent(Student student) {
-        try {
-            log.info("Ogrenci kaydediliyor: {} {} ({})",
-                    student.getName(), student.getSurname(), student.getNumber());
+    public AggregatingMessageHandler studentBatchAggregator() {
+        SimpleMessageStore batchStore = new SimpleMessageStore();
+        csvImportMetrics.monitorBatchStore(batchStore);
+        AggregatingMessageHandler aggregator = new AggregatingMessageHandler(new RowSeqAggregatingProcessor(), batchStore);
+        int partitions = batchPartitions();
+        aggregator.setCorrelationStrategy(message ->
+                message.getHeaders().getOrDefault(CsvImportTracker.BATCH_KEY_HEADER, "default") + "@"
+                        + Math.floorMod(String.valueOf(((Student) message.getPayload()).getNumber()).hashCode(), partitions));
+        // Batch kilit altinda studentBatchChannel'a (DirectChannel) gonderilir ve yazilir
+        aggregator.setReleaseLockBeforeSend(false);
+        // Batch boyutu veritabani baskisina gore degisir (ust sinir csv.batch.size)
+        aggregator.setReleaseStrategy(group -> group.size() >= csvIngestionThrottle.getBatchSize());
+        aggregator.setGroupTimeoutExpression(new ValueExpression<>(batchFlushTimeoutMs));
+        aggregator.setSendPartialResultOnExpiry(true);
+        aggregator.setExpireGroupsUponCompletion(true);
+        aggregator.setOutputChannelName("studentBatchChannel");
+        return aggregator;
+    }
+
+    // Her batch kendi transaction'inda yazilir. Gecici veritabani hatalarinda (kilit, zaman asimi,
+    // baglanti) sadece bu batch artan beklemeyle tekrar denenir; kalici hatada (or. kisit ihlali) veya
+    // denemeler bitince batch basarisiz sayilir. Onceki batch'ler commit edilmis kalir ve ilerleme
+    // kaydi sayesinde dosya tekrar islendiginde sadece yazilamayan kisimdan devam edilir.
+    @ServiceActivator(inputChannel = "studentBatchChannel")
+    public void saveStudentBatch(List<Student> students,
+                                 @Header(name = CsvImportTracker.IMPORT_ID_HEADER, required = false) String importId,
+                                 @Header(name = CsvImportTracker.ROW_SEQS_HEADER, required = false) long[] rowSeqs) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                log.info("{} ogrenci toplu olarak kaydediliyor", students.size());
+
+                // Batch'i tek upsert ile veritabanina yaz; yazici limiti doluysa once sira bekle
+                csvIngestionThrottle.acquire();
+                long start = System.nanoTime();
+                StudentsRepositoryCustom.WriteCounts counts;
+                try {
+                    counts = studentManager.saveBatch(students);
+                } finally {
+                    csvIngestionThrottle.release(System.nanoTime() - start);
+                }
+                csvImportMetrics.recordPersist(System.nanoTime() - start, students.size());
+                csvImportMetrics.recordUnchanged(counts.unchanged());
+                csvImportMetrics.recordChunkCommitted();
 
-            // Ogrenciyi veritabanina kaydet
-            Student savedStudent = studentManager.save(student);
+                csvImportTracker.onPersisted(importId, students.size(), rowSeqs, counts.unchanged());
+                return;
 
-            log.info("Ogrenci basariyla kaydedildi. ID: {}", savedStudent.getId());
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                if (attempt < retryMaxAttempts && isTransient(e) && backoff(attempt)) {
+                    log.warn("Ogrenci batch'i gecici hatayla yazilamadi, tekrar deneniyor ({}/{}): {} kayit - Hata: {}",
+                            attempt, retryMaxAttempts, students.size(), e.getMessage());
+                    csvImportMetrics.recordChunkRetried();
+                    continue;
+                }
+                log.error("Ogrenci batch'i kaydedilirken hata olustu: {} kayit, {} deneme - Hata: {}",
+                        students.size(), attempt, e.getMessage());
+                csvImportMetrics.recordFailed(students.size());
+                csvImportMetrics.recordChunkFailed();
+                csvImportTracker.onFailed(importId, students.size(), e);
+                throw new RuntimeException("Ogrenci batch'i kaydedilemedi: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // StudentManager hatayi sarar; neden zincirinde gecici bir veritabani hatasi var mi
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof SQLTransientException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // attempt. denemeden sonra backoff-ms * 2^(attempt-1) bekler; kesilirse tekrar denenmez
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs << Math.min(attempt - 1, 10));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("Ogrenci kaydedilirken hata olustu: {} {} - Hata: {}",
-                    student.getName(), student.getSurname(), e.getMessage());
-            throw new RuntimeException("Ogrenci kaydedilemedi: " + e.getMessage(), e);
+    // Batch'teki satirlarin sira numaralarini tek header'da toplar; asenkron kanallarda batch'ler
+    // okuma sirasiyla yazilmadigi icin ilerleme kaydi hangi satirlarin yazildigini buradan bilir
+    private static class RowSeqAggregatingProcessor extends DefaultAggregatingMessageGroupProcessor {
+        @Override
+        protected Map<String, Object> aggregateHeaders(MessageGroup group) {
+            Map<String, Object> headers = super.aggregateHeaders(group);
+            long[] rowSeqs = new long[group.size()];
+            int count = 0;
+            for (Message<?> message : group.getMessages()) {
+                Long rowSeq = message.getHeaders().get(CsvImportTracker.ROW_SEQ_HEADER, Long.class);
+                if (rowSeq != null) {
+                    rowSeqs[count++] = rowSeq;
+                }
+            }
+            if (count > 0) {
+                headers.put(CsvImportTracker.ROW_SEQS_HEADER, count == rowSeqs.length ? rowSeqs : Arrays.copyOf(rowSeqs, count));
+            }
+            return headers;
         }
     }
-} 
\ No newline at end of file
+}
@@ -32,6 +32,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**", "/api/public", "/test/public", "/api/test/integration/**").permitAll()
                         .requestMatchers("/api/v1/teachers/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/ip-addresses/**").hasRole("ADMIN")
                         .requestMatchers("/api/lessons/**").hasRole("ADMIN")
                         .requestMatchers("/api/v3/students").hasAnyRole("ADMIN", "USER")
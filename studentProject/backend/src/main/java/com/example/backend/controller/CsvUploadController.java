@@ -0,0 +1,64 @@
+package com.example.backend.controller;
+
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.response.CsvUploadResponse;
+import com.example.backend.service.concretes.CsvUploadService;
+import com.example.backend.service.concretes.CsvUploadSession;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+// Parca parca CSV yukleme:
+// POST /uploads?fileName=x.csv yuklemeyi baslatir,
+// PUT /uploads/{id}?offset=N[&last=true] istek govdesindeki ham byte'lari (application/octet-stream)
+// dosyanin N. byte'indan itibaren ekler; tek istekte tum dosya icin offset=0&last=true yeterlidir,
+// GET /uploads/{id} ilerlemeyi ve kaldigi konumu (receivedBytes) dondurur.
+// Konum uyusmazsa 409 ile guncel durum doner; istemci receivedBytes'tan devam eder.
+// Yukleme durumu sadece baslatan node'dadir; ayni uploadId'nin istekleri ayni node'a gitmelidir.
+@RestController
+@RequestMapping("/api/v3/files/uploads")
+@RequiredArgsConstructor
+public class CsvUploadController {
+
+    private final CsvUploadService csvUploadService;
+
+    @PostMapping
+    public ResponseEntity<CsvUploadResponse> startUpload(@RequestParam String fileName) {
+        try {
+            return ResponseEntity.ok(CsvUploadResponse.fromSession(csvUploadService.start(fileName)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<CsvUploadResponse> appendChunk(@PathVariable String uploadId,
+                                                         @RequestParam long offset,
+                                                         @RequestParam(defaultValue = "false") boolean last,
+                                                         HttpServletRequest request) {
+        try {
+            CsvUploadSession upload = csvUploadService.append(uploadId, offset, request.getInputStream(), last);
+            return ResponseEntity.ok(CsvUploadResponse.fromSession(upload));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(CsvUploadResponse.fromSession(csvUploadService.get(uploadId)));
+        } catch (IOException e) {
+            // Parca yarida kesildi; alinan kisim yuklemede kalir
+            return ResponseEntity.badRequest().body(CsvUploadResponse.fromSession(csvUploadService.get(uploadId)));
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<CsvUploadResponse> getUpload(@PathVariable String uploadId) {
+        try {
+            return ResponseEntity.ok(CsvUploadResponse.fromSession(csvUploadService.get(uploadId)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -16,9 +16,6 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
-import com.example.backend.entities.IpAddress;
-import com.example.backend.dataAccess.IpAddressRepository;
 
 @RestController
 @RequestMapping("/api/v1/ip-addresses")
@@ -29,7 +26,6 @@ import com.example.backend.dataAccess.IpAddressRepository;
 public class IpAddressController {
 
     private final IpAddressService ipAddressService;
-    private final IpAddressRepository ipAddressRepository;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -162,14 +158,8 @@ public class IpAddressController {
             if (com.example.backend.utility.IpValidationUtil.isValidIpv4(ipAddress) || 
                 com.example.backend.utility.IpValidationUtil.isValidIpv6(ipAddress)) {
                 
-                // Mevcut tüm IP adreslerini al
-                List<IpAddress> existingIpAddresses = ipAddressRepository.findAll();
-                List<String> existingIpStrings = existingIpAddresses.stream()
-                        .map(IpAddress::getIpAddress)
-                        .collect(Collectors.toList());
-                
                 // IP adresinin mevcut subnet veya range içinde olup olmadığını kontrol et
-                if (com.example.backend.utility.IpValidationUtil.isIpInExistingRanges(ipAddress, existingIpStrings)) {
+                if (ipAddressService.isIpInExistingRange(ipAddress)) {
                     return ResponseEntity.badRequest().body("Bu IP adresi mevcut bir subnet veya aralık içinde bulunuyor: " + ipAddress);
                 }
             }
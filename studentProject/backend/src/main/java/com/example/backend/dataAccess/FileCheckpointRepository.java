@@ -0,0 +1,17 @@
+package com.example.backend.dataAccess;
+
+import com.example.backend.entities.FileCheckpoint; // Dosya ilerleme kaydi
+import org.springframework.data.jpa.repository.JpaRepository; // JPA repository arayüzü
+import org.springframework.stereotype.Repository; // Repository anotasyonu
+import org.springframework.transaction.annotation.Transactional; // Transaction anotasyonu
+
+import java.util.Optional; // Optional
+
+@Repository
+public interface FileCheckpointRepository extends JpaRepository<FileCheckpoint, Long> {
+
+    Optional<FileCheckpoint> findByFullFileName(String fullFileName);
+
+    @Transactional
+    void deleteByFullFileName(String fullFileName);
+}
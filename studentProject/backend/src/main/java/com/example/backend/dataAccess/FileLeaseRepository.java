@@ -0,0 +1,9 @@
+package com.example.backend.dataAccess;
+
+import com.example.backend.entities.FileLease; // Dosya kirasi
+import org.springframework.data.jpa.repository.JpaRepository; // JPA repository arayüzü
+import org.springframework.stereotype.Repository; // Repository anotasyonu
+
+@Repository
+public interface FileLeaseRepository extends JpaRepository<FileLease, Long>, FileLeaseRepositoryCustom {
+}
@@ -0,0 +1,16 @@
+package com.example.backend.dataAccess;
+
+import java.util.Collection; // Koleksiyon
+import java.util.Set; // Kume
+
+public interface FileLeaseRepositoryCustom {
+
+    // Dosyanin kirasini alir: kira yoksa olusturur, suresi dolmussa veya zaten owner'daysa devralir.
+    // Baska bir node kirayi tutuyor ya da o anda almaya calisiyorsa beklemeden false doner.
+    boolean claim(String fullFileName, String owner, long ttlSeconds);
+
+    // owner'in elindeki kiralarin suresini uzatir; uzatilabilenlerin adlarini dondurur
+    Set<String> renew(Collection<String> fullFileNames, String owner, long ttlSeconds);
+
+    void release(String fullFileName, String owner);
+}
@@ -0,0 +1,78 @@
+package com.example.backend.dataAccess;
+
+import lombok.RequiredArgsConstructor; // Constructor injection
+import org.springframework.jdbc.core.JdbcTemplate; // JDBC template
+import org.springframework.jdbc.core.RowCallbackHandler; // Satir satir sonuc isleyici
+import org.springframework.transaction.annotation.Transactional; // Transaction anotasyonu
+
+import java.sql.PreparedStatement; // Hazir SQL ifadesi
+import java.util.Collection; // Koleksiyon
+import java.util.HashSet; // Kume
+import java.util.Set; // Kume
+
+@RequiredArgsConstructor
+public class FileLeaseRepositoryCustomImpl implements FileLeaseRepositoryCustom {
+
+    // Kira yoksa tek INSERT ile alinir; unique full_file_name ikinci node'un insert'unu bos gecirir
+    private static final String INSERT_SQL =
+            "INSERT INTO file_leases (full_file_name, owner, acquired_at, expires_at) " +
+            "VALUES (?, ?, now(), now() + ? * interval '1 second') " +
+            "ON CONFLICT (full_file_name) DO NOTHING";
+
+    // Suresi dolmus (veya zaten bizim) kira kilitlenir; o an baska bir node'un kilitledigi satir atlanir
+    private static final String LOCK_TAKEABLE_SQL =
+            "SELECT id FROM file_leases " +
+            "WHERE full_file_name = ? AND (owner = ? OR expires_at < now()) " +
+            "FOR UPDATE SKIP LOCKED";
+
+    private static final String TAKE_OVER_SQL =
+            "UPDATE file_leases SET owner = ?, acquired_at = now(), expires_at = now() + ? * interval '1 second' " +
+            "WHERE id = ?";
+
+    private static final String RENEW_SQL =
+            "UPDATE file_leases SET expires_at = now() + ? * interval '1 second' " +
+            "WHERE owner = ? AND full_file_name = ANY (?) " +
+            "RETURNING full_file_name";
+
+    private static final String RELEASE_SQL = "DELETE FROM file_leases WHERE full_file_name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public boolean claim(String fullFileName, String owner, long ttlSeconds) {
+        if (jdbcTemplate.update(INSERT_SQL, fullFileName, owner, ttlSeconds) == 1) {
+            return true;
+        }
+
+        Long leaseId = jdbcTemplate.query(LOCK_TAKEABLE_SQL,
+                resultSet -> resultSet.next() ? resultSet.getLong(1) : null, fullFileName, owner);
+        if (leaseId == null) {
+            return false;
+        }
+        jdbcTemplate.update(TAKE_OVER_SQL, owner, ttlSeconds, leaseId);
+        return true;
+    }
+
+    @Override
+    public Set<String> renew(Collection<String> fullFileNames, String owner, long ttlSeconds) {
+        Set<String> renewed = new HashSet<>();
+        if (fullFileNames.isEmpty()) {
+            return renewed;
+        }
+        String[] names = fullFileNames.toArray(new String[0]);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RENEW_SQL);
+            statement.setLong(1, ttlSeconds);
+            statement.setString(2, owner);
+            statement.setArray(3, connection.createArrayOf("text", names));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> renewed.add(resultSet.getString(1)));
+        return renewed;
+    }
+
+    @Override
+    public void release(String fullFileName, String owner) {
+        jdbcTemplate.update(RELEASE_SQL, fullFileName, owner);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository; // Repository anotasyonu
 
 import java.time.LocalDateTime; // Yerel tarih zaman
 import java.util.List; // Liste
+import java.util.Optional; // Optional
 
 @Repository
 public interface FileRepository extends JpaRepository<File, Long> {
@@ -22,6 +23,10 @@ public interface FileRepository extends JpaRepository<File, Long> {
 
     long countByStatus(File.FileStatus status);
 
+    boolean existsByStatusAndFileSize(File.FileStatus status, Long fileSize);
+
+    Optional<File> findFirstByContentHashAndStatusOrderByProcessedAtAsc(String contentHash, File.FileStatus status);
+
     List<File> findAllByOrderByProcessedAtDesc();
 
     @Query("SELECT COALESCE(SUM(f.studentCount), 0) FROM File f WHERE f.status = 'DONE'")
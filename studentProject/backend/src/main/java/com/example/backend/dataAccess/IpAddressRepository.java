@@ -1,12 +1,14 @@
 package com.example.backend.dataAccess;
 
 import com.example.backend.entities.IpAddress;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 // Liste ve Optional sınıfları için import
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,4 +38,37 @@ public interface IpAddressRepository extends JpaRepository<IpAddress, Long> {
     int countByIpAddressAndStudentIsNotNull(String ipAddress);
     
     boolean existsByIpAddressAndStudentIsNotNull(String ipAddress);
+
+    // Sayisal aralik sorgulari (ip_version, range_start, range_end) indeksini kullanir.
+    // Subnet/aralik kayitlari ipAddress metnindeki '/' veya '-' ile tekil IP'lerden ayrilir.
+
+    // Adresi kapsayan subnet veya aralik var mi
+    @Query("SELECT COUNT(ip) > 0 FROM IpAddress ip WHERE ip.ipVersion = :version " +
+            "AND ip.rangeStart <= :address AND ip.rangeEnd >= :address " +
+            "AND (ip.ipAddress LIKE '%/%' OR ip.ipAddress LIKE '%-%')")
+    boolean existsRangeContaining(@Param("version") int version, @Param("address") BigDecimal address);
+
+    // [start, end] ile kesisen tum kayitlar (tekil IP'ler dahil)
+    @Query("SELECT ip FROM IpAddress ip WHERE ip.ipVersion = :version " +
+            "AND ip.rangeStart <= :end AND ip.rangeEnd >= :start ORDER BY ip.rangeStart")
+    List<IpAddress> findOverlapping(@Param("version") int version,
+                                    @Param("start") BigDecimal start, @Param("end") BigDecimal end);
+
+    // [start, end] icindeki tekil IP kayitlari
+    @Query("SELECT ip FROM IpAddress ip WHERE ip.ipVersion = :version " +
+            "AND ip.rangeStart >= :start AND ip.rangeStart <= :end " +
+            "AND ip.ipAddress NOT LIKE '%/%' AND ip.ipAddress NOT LIKE '%-%'")
+    List<IpAddress> findSinglesWithin(@Param("version") int version,
+                                      @Param("start") BigDecimal start, @Param("end") BigDecimal end);
+
+    // Her subnet/aralik kaydi icin icindeki ogrenciye atanmis tekil IP sayisi: [id, count].
+    // Atanmis IP'si olmayan kayit sonuca girmez.
+    @Query("SELECT r.id, COUNT(s) FROM IpAddress r, IpAddress s WHERE r.id IN :ids " +
+            "AND s.ipVersion = r.ipVersion AND s.rangeStart >= r.rangeStart AND s.rangeStart <= r.rangeEnd " +
+            "AND s.student IS NOT NULL AND s.ipAddress NOT LIKE '%/%' AND s.ipAddress NOT LIKE '%-%' " +
+            "GROUP BY r.id")
+    List<Object[]> countAssignedInRanges(@Param("ids") List<Long> ids);
+
+    // Sayisal aralik kolonlari eklenmeden once yazilmis kayitlar, id sirasiyla
+    List<IpAddress> findByRangeStartIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -9,7 +9,7 @@ import org.springframework.stereotype.Repository; // Repository anotasyonu
 import java.util.List; // Liste
 
 @Repository
-public interface StudentsRepository extends JpaRepository<Student, Integer> {
+public interface StudentsRepository extends JpaRepository<Student, Integer>, StudentsRepositoryCustom {
 
     @Query("SELECT DISTINCT s FROM students s LEFT JOIN FETCH s.lessons LEFT JOIN FETCH s.ipAddresses WHERE " +
             "LOWER(TRIM(s.name)) LIKE LOWER(CONCAT(TRIM(:searchTerm), '%')) OR " +
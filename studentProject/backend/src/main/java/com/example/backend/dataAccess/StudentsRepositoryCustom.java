@@ -0,0 +1,36 @@
+package com.example.backend.dataAccess;
+
+import com.example.backend.entities.Student; // Öğrenci entity'si
+
+import java.io.IOException; // IO hatası
+import java.util.List; // Liste
+
+public interface StudentsRepositoryCustom {
+
+    // Ogrencileri number uzerinden tek SQL ile ekler/gunceller; onaylanmis kayitlara ve ad/soyad ozeti
+    // (fingerprint) ayni olan kayitlara dokunmaz. Eklenen, guncellenen veya zaten ayni olan her satir
+    // stored'a bildirilir.
+    WriteCounts upsertUnverified(List<Student> students, StudentNumberCallback stored);
+
+    // Tum ogrencilerin id/number/verified/fingerprint bilgisini entity olusturmadan akis halinde okur
+    void forEachStudentNumber(StudentNumberCallback callback);
+
+    // Ogrencileri COPY ile gecici tabloya akitip tek INSERT ... SELECT ile birlestirir.
+    // Ayni number birden fazla geciyorsa son satir kazanir; onaylanmis ve degismemis kayitlara dokunulmaz.
+    // Tek transaction'dir: kaynak hata firlatirsa hicbir satir yazilmaz.
+    WriteCounts bulkMergeUnverified(StudentSource source) throws IOException;
+
+    // written: eklenen/guncellenen satirlar, unchanged: ad/soyad ayni oldugu icin yazilmayan satirlar
+    record WriteCounts(int written, int unchanged) {
+    }
+
+    @FunctionalInterface
+    interface StudentSource {
+        Student next() throws IOException; // Sonraki ogrenci, kaynak bittiyse null
+    }
+
+    @FunctionalInterface
+    interface StudentNumberCallback {
+        void accept(int id, String number, boolean verified, long fingerprint); // fingerprint bilinmiyorsa 0
+    }
+}
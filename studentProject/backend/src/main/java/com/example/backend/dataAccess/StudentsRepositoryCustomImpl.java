@@ -0,0 +1,221 @@
+package com.example.backend.dataAccess;
+
+import com.example.backend.entities.Student; // Öğrenci entity'si
+import lombok.RequiredArgsConstructor; // Constructor injection
+import org.postgresql.PGConnection; // PostgreSQL baglantisi
+import org.postgresql.copy.CopyIn; // COPY FROM STDIN akisi
+import org.springframework.jdbc.core.ConnectionCallback; // Baglanti callback'i
+import org.springframework.jdbc.core.JdbcTemplate; // JDBC template
+import org.springframework.jdbc.core.RowCallbackHandler; // Satir satir sonuc isleyici
+import org.springframework.transaction.annotation.Transactional; // Transaction anotasyonu
+
+import java.io.IOException; // IO hatası
+import java.io.UncheckedIOException; // Kontrolsuz IO hatası
+import java.nio.charset.StandardCharsets; // Karakter seti
+import java.sql.PreparedStatement; // Hazir SQL ifadesi
+import java.sql.ResultSet; // Sorgu sonucu
+import java.sql.SQLException; // SQL hatasi
+import java.sql.Statement; // SQL ifadesi
+import java.util.Arrays; // Dizi islemleri
+import java.util.List; // Liste
+
+@RequiredArgsConstructor
+public class StudentsRepositoryCustomImpl implements StudentsRepositoryCustom {
+
+    // ON CONFLICT DO UPDATE kosulu: ozet farkliysa (veya null) ya da ad/soyad byte olarak farkliysa
+    private static final String CHANGED_SQL =
+            "(students.fingerprint IS DISTINCT FROM EXCLUDED.fingerprint " +
+            "OR students.name IS DISTINCT FROM EXCLUDED.name OR students.surname IS DISTINCT FROM EXCLUDED.surname)";
+
+    // Tum batch tek round trip'te gider: diziler unnest ile satirlara acilir,
+    // number cakismasinda yalnizca onaylanmamis ve ad/soyadi farkli ogrenci guncellenir; ayni ad/soyadli
+    // satir icin yeni tuple (WAL, dead tuple) olusmaz. Ozet sadece on filtredir: ozetler esitse de ad ve
+    // soyad ayrica karsilastirilir, ozeti eski veya null olan satirda ozet guncellenir. Ikinci sorgu
+    // ifade oncesi goruntuden bu degismeyen satirlari dondurur: written = false.
+    private static final String UPSERT_SQL =
+            "WITH t AS (SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::bigint[]) " +
+            "AS t(name, surname, number, fingerprint)), " +
+            "upserted AS (" +
+            "INSERT INTO students (name, surname, number, verified, view, fingerprint) " +
+            "SELECT t.name, t.surname, t.number, false, false, t.fingerprint FROM t " +
+            "ON CONFLICT (number) DO UPDATE SET name = EXCLUDED.name, surname = EXCLUDED.surname, " +
+            "fingerprint = EXCLUDED.fingerprint " +
+            "WHERE students.verified = false AND " + CHANGED_SQL + " " +
+            "RETURNING id, number, fingerprint) " +
+            "SELECT true AS written, id, number, fingerprint FROM upserted " +
+            "UNION ALL " +
+            "SELECT false, s.id, s.number, s.fingerprint FROM students s JOIN t ON s.number = t.number " +
+            "WHERE s.verified = false AND s.fingerprint = t.fingerprint " +
+            "AND s.name IS NOT DISTINCT FROM t.name AND s.surname IS NOT DISTINCT FROM t.surname";
+
+    private static final String NUMBER_INDEX_SQL =
+            "SELECT id, number, verified, fingerprint FROM students WHERE number IS NOT NULL";
+
+    // PostgreSQL sonucu sadece transaction icinde fetch size ile parca parca getirir
+    private static final int NUMBER_INDEX_FETCH_SIZE = 10_000;
+
+    // Gecici tablo transaction bitince duser; seq dosyadaki satir sirasini tutar
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE students_staging (seq bigserial, name text, surname text, number text, fingerprint bigint) " +
+            "ON COMMIT DROP";
+
+    private static final String COPY_STAGING_SQL =
+            "COPY students_staging (name, surname, number, fingerprint) FROM STDIN WITH (FORMAT csv)";
+
+    // Her number'in son satiri
+    private static final String LATEST_STAGING_SQL =
+            "SELECT DISTINCT ON (s.number) s.name, s.surname, s.number, s.fingerprint " +
+            "FROM students_staging s ORDER BY s.number, s.seq DESC";
+
+    // Birlestirmeden once: kayitli ad/soyadi ayni oldugu icin yazilmayacak satirlar
+    private static final String UNCHANGED_STAGING_SQL =
+            "SELECT count(*) FROM (" + LATEST_STAGING_SQL + ") s JOIN students st ON st.number = s.number " +
+            "WHERE st.verified = false AND st.fingerprint = s.fingerprint " +
+            "AND st.name IS NOT DISTINCT FROM s.name AND st.surname IS NOT DISTINCT FROM s.surname";
+
+    // DISTINCT ON + seq DESC: ayni number icin dosyadaki son satir kazanir (ON CONFLICT ayni satiri iki kez guncelleyemez)
+    private static final String MERGE_STAGING_SQL =
+            "INSERT INTO students (name, surname, number, verified, view, fingerprint) " +
+            "SELECT s.name, s.surname, s.number, false, false, s.fingerprint FROM (" + LATEST_STAGING_SQL + ") s " +
+            "ON CONFLICT (number) DO UPDATE SET name = EXCLUDED.name, surname = EXCLUDED.surname, " +
+            "fingerprint = EXCLUDED.fingerprint " +
+            "WHERE students.verified = false AND " + CHANGED_SQL;
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public WriteCounts upsertUnverified(List<Student> students, StudentNumberCallback stored) {
+        if (students.isEmpty()) {
+            return new WriteCounts(0, 0);
+        }
+
+        String[] names = new String[students.size()];
+        String[] surnames = new String[students.size()];
+        String[] numbers = new String[students.size()];
+        Long[] fingerprints = new Long[students.size()];
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            names[i] = student.getName();
+            surnames[i] = student.getSurname();
+            numbers[i] = student.getNumber();
+            fingerprints[i] = Student.fingerprintOf(student.getName(), student.getSurname());
+        }
+
+        int[] counts = new int[2];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT_SQL);
+            statement.setArray(1, connection.createArrayOf("text", names));
+            statement.setArray(2, connection.createArrayOf("text", surnames));
+            statement.setArray(3, connection.createArrayOf("text", numbers));
+            statement.setArray(4, connection.createArrayOf("bigint", fingerprints));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            counts[resultSet.getBoolean(1) ? 0 : 1]++;
+            stored.accept(resultSet.getInt(2), resultSet.getString(3), false, resultSet.getLong(4));
+        });
+        return new WriteCounts(counts[0], counts[1]);
+    }
+
+    @Override
+    @Transactional
+    public WriteCounts bulkMergeUnverified(StudentSource source) throws IOException {
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<WriteCounts>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING_SQL);
+                }
+
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING_SQL);
+                try {
+                    copyRows(source, copyIn);
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE students_staging");
+                    int unchanged;
+                    try (ResultSet resultSet = statement.executeQuery(UNCHANGED_STAGING_SQL)) {
+                        resultSet.next();
+                        unchanged = resultSet.getInt(1);
+                    }
+                    return new WriteCounts(statement.executeUpdate(MERGE_STAGING_SQL), unchanged);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Satirlar CSV olarak kodlanip COPY akisina tampon doldukca yazilir
+    private void copyRows(StudentSource source, CopyIn copyIn) throws SQLException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int length = 0;
+        Student student;
+        while ((student = nextStudent(source)) != null) {
+            byte[] name = student.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] surname = student.getSurname().getBytes(StandardCharsets.UTF_8);
+            byte[] number = student.getNumber().getBytes(StandardCharsets.UTF_8);
+            byte[] fingerprint = Long.toString(Student.fingerprintOf(student.getName(), student.getSurname()))
+                    .getBytes(StandardCharsets.US_ASCII);
+
+            // En kotu durumda her byte tirnakla ikiye katlanir
+            int needed = 2 * (name.length + surname.length + number.length) + fingerprint.length + 10;
+            if (length + needed > buffer.length) {
+                copyIn.writeToCopy(buffer, 0, length);
+                length = 0;
+                if (needed > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, needed);
+                }
+            }
+            length = appendQuoted(buffer, length, name);
+            buffer[length++] = ',';
+            length = appendQuoted(buffer, length, surname);
+            buffer[length++] = ',';
+            length = appendQuoted(buffer, length, number);
+            buffer[length++] = ',';
+            System.arraycopy(fingerprint, 0, buffer, length, fingerprint.length);
+            length += fingerprint.length;
+            buffer[length++] = '\n';
+        }
+        if (length > 0) {
+            copyIn.writeToCopy(buffer, 0, length);
+        }
+    }
+
+    private static Student nextStudent(StudentSource source) {
+        try {
+            return source.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int appendQuoted(byte[] buffer, int length, byte[] value) {
+        buffer[length++] = '"';
+        for (byte b : value) {
+            if (b == '"') {
+                buffer[length++] = '"';
+            }
+            buffer[length++] = b;
+        }
+        buffer[length++] = '"';
+        return length;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachStudentNumber(StudentNumberCallback callback) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(NUMBER_INDEX_SQL);
+            statement.setFetchSize(NUMBER_INDEX_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet ->
+                callback.accept(resultSet.getInt(1), resultSet.getString(2), resultSet.getBoolean(3), resultSet.getLong(4)));
+    }
+}
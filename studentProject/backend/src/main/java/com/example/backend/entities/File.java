@@ -9,7 +9,10 @@ import org.hibernate.annotations.CreationTimestamp; // Oluşturma zaman damgası
 import java.time.LocalDateTime; // Yerel tarih zaman
 
 @Entity
-@Table(name = "files")
+@Table(name = "files", indexes = {
+        @Index(name = "idx_files_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_files_file_size", columnList = "file_size")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,6 +42,29 @@ public class File {
     @Column(name = "description", length = 1000)
     private String description;
 
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "rows_accepted")
+    private Integer rowsAccepted;
+
+    @Column(name = "rows_rejected")
+    private Integer rowsRejected;
+
+    // Kaydedilen satirlardan ad/soyadi zaten ayni oldugu icin veritabaninda degismeyenler
+    @Column(name = "rows_unchanged")
+    private Integer rowsUnchanged;
+
+    @Column(name = "bytes_read")
+    private Long bytesRead;
+
+    // Ham dosya iceriginin SHA-256 ozeti; ayni icerik tekrar geldiginde import atlanir
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
     public enum FileStatus {
         DONE,
         FAIL
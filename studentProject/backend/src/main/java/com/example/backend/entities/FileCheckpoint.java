@@ -0,0 +1,57 @@
+package com.example.backend.entities;
+
+import jakarta.persistence.*; // JPA anotasyonları
+import lombok.AllArgsConstructor; // Tüm alanlar için constructor
+import lombok.Data; // Getter, setter, toString, equals, hashCode
+import lombok.NoArgsConstructor; // Parametresiz constructor
+import org.hibernate.annotations.UpdateTimestamp; // Güncelleme zaman damgası
+
+import java.time.LocalDateTime; // Yerel tarih zaman
+
+// Islenmekte olan CSV dosyasinin kalici ilerleme kaydi. Dosya boyutu ve son degisiklik
+// zamani ayni kaldigi surece yeniden baslatmada okuma bu noktadan devam eder.
+@Entity
+@Table(name = "file_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "full_file_name", nullable = false, unique = true)
+    private String fullFileName;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "last_modified", nullable = false)
+    private Long lastModified;
+
+    @Column(name = "rows_committed", nullable = false)
+    private Long rowsCommitted;
+
+    @Column(name = "byte_offset")
+    private Long byteOffset;
+
+    // Bu dosya icin commit edilmis ogrenci batch'leri (tekrar denenenler dahil)
+    @Column(name = "chunks_committed")
+    private Integer chunksCommitted;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public FileCheckpoint(String fullFileName, long fileSize, long lastModified) {
+        this.fullFileName = fullFileName;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.rowsCommitted = 0L;
+    }
+
+    public boolean matches(long fileSize, long lastModified) {
+        return this.fileSize == fileSize && this.lastModified == lastModified;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.entities;
+
+import jakarta.persistence.*; // JPA anotasyonları
+import lombok.AllArgsConstructor; // Tüm alanlar için constructor
+import lombok.Data; // Getter, setter, toString, equals, hashCode
+import lombok.NoArgsConstructor; // Parametresiz constructor
+
+import java.time.Instant; // Zaman damgasi (timestamptz)
+
+// Paylasilan CSV klasorundeki bir dosyayi isleyen node'un kirasi. Sure veritabani saatine
+// gore tutulur; sahibi heartbeat atmayi birakirsa sure dolar ve baska bir node dosyayi alabilir.
+@Entity
+@Table(name = "file_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "full_file_name", nullable = false, unique = true)
+    private String fullFileName;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "acquired_at", nullable = false)
+    private Instant acquiredAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
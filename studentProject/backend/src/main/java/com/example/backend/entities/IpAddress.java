@@ -1,5 +1,6 @@
 package com.example.backend.entities;
 
+import com.example.backend.utility.IpParseUtil;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,10 +8,13 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ip_addresses")
+@Table(name = "ip_addresses", indexes = {
+        @Index(name = "idx_ip_addresses_range", columnList = "ip_version, range_start, range_end")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +27,18 @@ public class IpAddress {
     @Column(name = "ip_address", nullable = false, unique = true, length = 45)
     private String ipAddress;
 
+    // ipAddress'in kapsadigi sayisal aralik (tekil IP icin start == end); kapsama ve cakisma
+    // sorgulari metni parse etmeden indeksle cevaplanir. IPv6 128 bit oldugu icin numeric(39).
+    // Kayit oncesinde ipAddress'ten hesaplanir; gecersiz metinde null kalir.
+    @Column(name = "ip_version")
+    private Integer ipVersion;
+
+    @Column(name = "range_start", precision = 39, scale = 0)
+    private BigDecimal rangeStart;
+
+    @Column(name = "range_end", precision = 39, scale = 0)
+    private BigDecimal rangeEnd;
+
     @Column(name = "description", length = 500)
     private String description;
 
@@ -41,6 +57,15 @@ public class IpAddress {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    @PreUpdate
+    public void refreshRange() {
+        IpParseUtil.IpRange range = IpParseUtil.toRange(ipAddress);
+        ipVersion = range != null ? range.version() : null;
+        rangeStart = range != null ? new BigDecimal(range.start()) : null;
+        rangeEnd = range != null ? new BigDecimal(range.end()) : null;
+    }
+
     public IpAddress(String ipAddress, String description) {
         this.ipAddress = ipAddress;
         this.description = description;
@@ -6,6 +6,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor; // Parametresiz constructor
 import lombok.Setter;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -34,6 +38,12 @@ public class Student {
     @Column(name = "view", nullable = false)
     private Boolean view = false;
 
+    // Ad ve soyadin 64 bitlik ozeti; import ayni ad/soyadi tekrar getirdiginde UPDATE atlanir.
+    // Alan eklenmeden (veya ozet SHA-256'ya gecmeden) once yazilmis kayitlarda null ya da eski degerdir
+    // ve ilk guncellemede dolar.
+    @Column(name = "fingerprint")
+    private Long fingerprint;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "student_lessons",
@@ -45,4 +55,39 @@ public class Student {
     @OneToMany(mappedBy = "student", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private Set<IpAddress> ipAddresses = new HashSet<>();
 
+    @PrePersist
+    @PreUpdate
+    public void refreshFingerprint() {
+        fingerprint = fingerprintOf(name, surname);
+    }
+
+    // "name\0surname"in UTF-8 byte'lari uzerinde SHA-256'nin ilk 64 biti. Normalize edilmez: NFC ve
+    // NFD yazimlar farkli byte'lardir ve guncellenmelidir. Bellekteki indeks satiri sadece bu ozete
+    // bakarak atlar, bu yuzden rastlanti veya bilerek uretilmis cakismaya dayanikli bir ozet kullanilir;
+    // veritabanindaki upsert ise ozeti sadece on filtre olarak kullanip ad/soyadi ayrica karsilastirir.
+    // 0 "bilinmiyor" anlamina ayrildigi icin hic uretilmez.
+    public static long fingerprintOf(String name, String surname) {
+        MessageDigest digest = SHA256.get();
+        update(digest, name);
+        // Ayirici \0: ("ab", "c") ile ("a", "bc") ayni ozeti vermez
+        digest.update((byte) 0);
+        update(digest, surname);
+        long hash = ByteBuffer.wrap(digest.digest()).getLong();
+        return hash != 0 ? hash : 1;
+    }
+
+    // null ile bos metin ayni ozeti verir; ikisi de gecerli CSV satirinda olmaz
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    });
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.example.backend.response; // Response paketi
+
+import com.example.backend.service.concretes.CsvFileProcessor; // Dosya isleme sonucu
+import com.example.backend.service.concretes.CsvUploadSession; // Yukleme durumu
+import lombok.AllArgsConstructor; // Tüm alanlar için constructor
+import lombok.Data; // Getter, setter, toString, equals, hashCode
+import lombok.NoArgsConstructor; // Parametresiz constructor
+
+@Data // Lombok data anotasyonu
+@NoArgsConstructor // Parametresiz constructor
+@AllArgsConstructor // Tüm alanlar için constructor
+public class CsvUploadResponse { // Yukleme durumu DTO sınıfı
+
+    private String uploadId; // Yukleme ID'si
+
+    private String fileName; // Dosya adı
+
+    private String status; // RECEIVING, DONE veya FAILED
+
+    private Long receivedBytes; // Sonraki parcanin baslamasi gereken konum
+
+    private Integer rowsSent; // Akisa gonderilen satır sayısı
+
+    private Integer rowsPersisted; // Kaydedilen satır sayısı
+
+    private Integer rowsRejected; // Kaydedilemeyen satır sayısı
+
+    private Integer rowsUnchanged; // Değişmediği için yazılmayan satır sayısı
+
+    private String message; // Sonuc veya hata mesajı
+
+    public static CsvUploadResponse fromSession(CsvUploadSession upload) { // Yukleme durumundan DTO oluşturma metodu
+        CsvUploadResponse response = new CsvUploadResponse(); // Yeni yanıt nesnesi oluştur
+        response.setUploadId(upload.getUploadId()); // ID'yi ayarla
+        response.setFileName(upload.getFileName()); // Dosya adını ayarla
+        response.setStatus(upload.getStatus().name()); // Durumu ayarla
+        response.setReceivedBytes(upload.getReceivedBytes()); // Alinan byte'ı ayarla
+        response.setRowsSent(upload.getRowsSent()); // Gonderilen satırları ayarla
+        response.setRowsPersisted(upload.getRowsPersisted()); // Kaydedilen satırları ayarla
+        response.setRowsRejected(upload.getRowsRejected()); // Kaydedilemeyen satırları ayarla
+        response.setRowsUnchanged(upload.getRowsUnchanged()); // Değişmeyen satırları ayarla
+        CsvFileProcessor.CsvProcessingResult result = upload.getResult(); // Yukleme bittiyse sonuc
+        if (result != null) { // Sonuc varsa
+            response.setMessage(result.isSuccess() ? result.getMessage() : result.getErrorMessage()); // Mesajı ayarla
+        }
+        return response; // Yanıtı döndür
+    }
+}
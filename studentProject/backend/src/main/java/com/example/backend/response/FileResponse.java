@@ -26,6 +26,18 @@ public class FileResponse { // Dosya yanıtı DTO sınıfı
 
     private String description; // Açıklama
 
+    private Long durationMs; // İşleme süresi (ms)
+
+    private Integer rowsAccepted; // Kaydedilen satır sayısı
+
+    private Integer rowsRejected; // Kaydedilemeyen satır sayısı
+
+    private Integer rowsUnchanged; // Değişmediği için yazılmayan satır sayısı
+
+    private Long bytesRead; // Okunan byte
+
+    private String contentHash; // İçerik özeti (SHA-256)
+
     public static FileResponse fromEntity(File file) { // Entity'den DTO oluşturma metodu
         FileResponse response = new FileResponse(); // Yeni yanıt nesnesi oluştur
         response.setId(file.getId()); // ID'yi ayarla
@@ -35,6 +47,12 @@ public class FileResponse { // Dosya yanıtı DTO sınıfı
         response.setProcessedAt(file.getProcessedAt()); // İşlenme tarihini ayarla
         response.setStudentCount(file.getStudentCount()); // Öğrenci sayısını ayarla
         response.setDescription(file.getDescription()); // Açıklamayı ayarla
+        response.setDurationMs(file.getDurationMs()); // İşleme süresini ayarla
+        response.setRowsAccepted(file.getRowsAccepted()); // Kaydedilen satırları ayarla
+        response.setRowsRejected(file.getRowsRejected()); // Kaydedilemeyen satırları ayarla
+        response.setRowsUnchanged(file.getRowsUnchanged()); // Değişmeyen satırları ayarla
+        response.setBytesRead(file.getBytesRead()); // Okunan byte'ı ayarla
+        response.setContentHash(file.getContentHash()); // İçerik özetini ayarla
         return response; // Yanıtı döndür
     }
 } 
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.example.backend.scheduler;
+
+import com.example.backend.service.concretes.CsvProcessingService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// CSV klasorunu WatchService ile izler; dosya olusturuldugunda veya klasore tasindiginda
+// yazma islemi durulduktan (settle-ms boyunca yeni olay gelmedikten) sonra islemeyi baslatir.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CsvDirectoryWatcher {
+
+    private final CsvProcessingService csvProcessingService;
+
+    @Value("${csv.watch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${csv.watch.settle-ms:300}")
+    private long settleMs;
+
+    // Dosya yolu -> son olay zamani (nanoTime)
+    private final Map<Path, Long> pendingFiles = new ConcurrentHashMap<>();
+
+    private volatile WatchService watchService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("CSV klasor izleme kapali, sadece zamanlanmis tarama calisacak.");
+            return;
+        }
+
+        Path directory = csvProcessingService.getWatchDirectory().toAbsolutePath();
+        try {
+            Files.createDirectories(directory);
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.error("CSV klasoru izlenemiyor, zamanlanmis taramaya devam edilecek: {}", e.getMessage(), e);
+            return;
+        }
+
+        Thread.ofVirtual().name("csv-directory-watcher").start(() -> watch(directory));
+        log.info("CSV klasoru izleniyor: {}", directory);
+
+        // Uygulama kapaliyken birakilan dosyalar icin ilk tarama
+        Thread.ofVirtual().start(csvProcessingService::processCsvFiles);
+    }
+
+    @PreDestroy
+    public void stop() {
+        WatchService service = watchService;
+        watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.warn("CSV klasor izleyici kapatilamadi: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void watch(Path directory) {
+        long pollMs = Math.max(50, settleMs / 2);
+
+        try {
+            while (watchService != null) {
+                WatchKey key = watchService.poll(pollMs, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // Olaylar kaciti, klasoru bir kez tara
+                            log.warn("CSV klasor olaylari tasti, tam tarama yapiliyor.");
+                            Thread.ofVirtual().start(csvProcessingService::processCsvFiles);
+                            continue;
+                        }
+
+                        Path name = (Path) event.context();
+                        if (csvProcessingService.isTailFile(name.toString())) {
+                            // Surekli yazilan dosyada olaylar hic durulmaz: ilk bekleyen olaydan settle-ms sonra oku
+                            pendingFiles.putIfAbsent(directory.resolve(name), System.nanoTime());
+                        } else if (CsvProcessingService.isCsvFileName(name.toString())) {
+                            pendingFiles.put(directory.resolve(name), System.nanoTime());
+                        }
+                    }
+                    if (!key.reset()) {
+                        log.error("CSV klasoru artik izlenemiyor: {}", directory);
+                        return;
+                    }
+                }
+                dispatchSettledFiles();
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.info("CSV klasor izleyici durduruldu.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatchSettledFiles() {
+        long now = System.nanoTime();
+        long settleNanos = TimeUnit.MILLISECONDS.toNanos(settleMs);
+
+        Iterator<Map.Entry<Path, Long>> iterator = pendingFiles.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, Long> entry = iterator.next();
+            if (now - entry.getValue() < settleNanos) {
+                continue;
+            }
+            iterator.remove();
+
+            Path path = entry.getKey();
+            if (Files.isRegularFile(path)) {
+                if (csvProcessingService.isTailFile(path.getFileName().toString())) {
+                    log.debug("Tail dosyasina satir eklendi: {}", path.getFileName());
+                } else {
+                    log.info("Yeni CSV dosyasi algilandi: {}", path.getFileName());
+                }
+                csvProcessingService.submitCsvFile(path.toFile());
+            }
+        }
+    }
+}
@@ -13,9 +13,10 @@ public class CsvProcessingScheduler {
 
     private final CsvProcessingService csvProcessingService;
 
-    @Scheduled(cron = "0/30 * * * * *") // Her 30 saniyede bir çalıştır
+    // Asil tetikleyici CsvDirectoryWatcher; bu tarama sadece kacan dosyalar icin yedektir
+    @Scheduled(cron = "${csv.watch.fallback-cron:0 */5 * * * *}") // Varsayilan: 5 dakikada bir
     public void processCsvFilesScheduled() {
-        log.info("Scheduled CSV isleme job'i baslatiliyor...");
+        log.info("Yedek CSV tarama job'i baslatiliyor...");
         try {
             csvProcessingService.processCsvFiles();
             log.info("Scheduled CSV isleme job'i tamamlandi.");
@@ -0,0 +1,11 @@
+package com.example.backend.service.abstracts; // Service abstract paketi
+
+import java.io.Closeable; // Kapatilabilir kaynak
+import java.io.IOException; // IO hatası
+
+public interface CsvRecordReader extends Closeable { // CSV kayit okuyucu arayüzü
+
+    String[] readNext() throws IOException; // Sonraki kaydi oku, dosya bittiyse null
+
+    void setProjection(int[] columns); // Sonraki kayitlarda sadece verilen sutunlari dondur (eksik sutun null)
+}
@@ -40,6 +40,9 @@ public interface IpAddressService {
     // IP adresinin veritabanında var olup olmadığını kontrol eden metod
     boolean existsByIpAddress(String ipAddress);
 
+    // Tekil IP adresinin kayitli bir subnet veya aralik icinde olup olmadigini kontrol eden metod
+    boolean isIpInExistingRange(String ipAddress);
+
     // Öğrenciye IP adresleri atayan metod
     void assignIpAddressesToStudent(Integer studentId, List<Long> ipAddressIds);
 
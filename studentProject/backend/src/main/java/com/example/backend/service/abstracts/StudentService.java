@@ -1,6 +1,9 @@
 package com.example.backend.service.abstracts; // Service abstract paketi
 
+import com.example.backend.dataAccess.StudentsRepositoryCustom; // Toplu yukleme kaynagi
 import com.example.backend.entities.Student; // Öğrenci entity'si
+
+import java.io.IOException; // IO hatası
 import java.util.List; // Liste
 
 public interface StudentService { // Öğrenci servis arayüzü
@@ -11,6 +14,10 @@ public interface StudentService { // Öğrenci servis arayüzü
 
     Student save(Student student); // Öğrenci kaydet metodu
 
+    StudentsRepositoryCustom.WriteCounts saveBatch(List<Student> students); // Öğrencileri toplu kaydet metodu
+
+    StudentsRepositoryCustom.WriteCounts bulkLoad(StudentsRepositoryCustom.StudentSource source) throws IOException; // Öğrencileri COPY ile yükle metodu
+
     Student update(int id, Student student); // Öğrenci güncelle metodu
 
     void deleteById(int id); // ID ile öğrenci sil metodu
@@ -0,0 +1,91 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.FileCheckpointRepository;
+import com.example.backend.entities.FileCheckpoint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+
+// CSV dosyalarinin ilerleme kayitlarini yonetir. Kayit yazilamazsa import durmaz;
+// en kotu durumda yeniden baslatmada daha eski bir noktadan devam edilir (upsert tekrari zararsizdir).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CsvCheckpointManager {
+
+    private final FileCheckpointRepository fileCheckpointRepository;
+
+    // Dosya degismediyse kayitli ilerlemeyi, degistiyse sifirlanmis bir kaydi dondurur
+    public FileCheckpoint resume(File csvFile) {
+        long size = csvFile.length();
+        long lastModified = csvFile.lastModified();
+
+        try {
+            FileCheckpoint checkpoint = fileCheckpointRepository.findByFullFileName(csvFile.getName()).orElse(null);
+            if (checkpoint == null) {
+                return new FileCheckpoint(csvFile.getName(), size, lastModified);
+            }
+            if (!checkpoint.matches(size, lastModified)) {
+                log.info("Dosya son ilerleme kaydindan sonra degismis, bastan okunacak: {}", csvFile.getName());
+                checkpoint.setFileSize(size);
+                checkpoint.setLastModified(lastModified);
+                checkpoint.setRowsCommitted(0L);
+                checkpoint.setByteOffset(null);
+                checkpoint.setChunksCommitted(null);
+            }
+            return checkpoint;
+        } catch (Exception e) {
+            log.warn("Ilerleme kaydi okunamadi, dosya bastan okunacak: {} - Hata: {}", csvFile.getName(), e.getMessage());
+            return new FileCheckpoint(csvFile.getName(), size, lastModified);
+        }
+    }
+
+    // Tail modu: dosya buyudukce kayit gecerli kalir. Dosya kayitli konumdan kisaldiysa (kesildi veya
+    // yeniden olusturuldu) bastan okunur. Kayit okunamazsa null; dosyayi bastan okuyup eski kaydin
+    // ustune yazmak yerine bu tetikleme atlanir.
+    public FileCheckpoint resumeTail(File csvFile) {
+        long size = csvFile.length();
+        long lastModified = csvFile.lastModified();
+
+        try {
+            FileCheckpoint checkpoint = fileCheckpointRepository.findByFullFileName(csvFile.getName()).orElse(null);
+            if (checkpoint == null) {
+                return new FileCheckpoint(csvFile.getName(), size, lastModified);
+            }
+            if (checkpoint.getByteOffset() != null && size < checkpoint.getByteOffset()) {
+                log.info("Dosya son okunan konumdan kisalmis, bastan okunacak: {}", csvFile.getName());
+                checkpoint.setRowsCommitted(0L);
+                checkpoint.setByteOffset(null);
+                checkpoint.setChunksCommitted(null);
+            }
+            checkpoint.setFileSize(size);
+            checkpoint.setLastModified(lastModified);
+            return checkpoint;
+        } catch (Exception e) {
+            log.warn("Ilerleme kaydi okunamadi, eklenen satirlar sonraki tetiklemede okunacak: {} - Hata: {}",
+                    csvFile.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    public FileCheckpoint commit(FileCheckpoint checkpoint, long rowsCommitted, Long byteOffset) {
+        checkpoint.setRowsCommitted(rowsCommitted);
+        checkpoint.setByteOffset(byteOffset);
+        try {
+            return fileCheckpointRepository.save(checkpoint);
+        } catch (Exception e) {
+            log.warn("Ilerleme kaydi yazilamadi: {} - Hata: {}", checkpoint.getFullFileName(), e.getMessage());
+            return checkpoint;
+        }
+    }
+
+    public void clear(File csvFile) {
+        try {
+            fileCheckpointRepository.deleteByFullFileName(csvFile.getName());
+        } catch (Exception e) {
+            log.warn("Ilerleme kaydi silinemedi: {} - Hata: {}", csvFile.getName(), e.getMessage());
+        }
+    }
+}
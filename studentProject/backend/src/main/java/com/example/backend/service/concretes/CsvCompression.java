@@ -0,0 +1,60 @@
+package com.example.backend.service.concretes;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+// Islenebilen CSV dosya turleri. Sikistirilmis dosyalar diske acilmadan okuma sirasinda cozulur.
+public enum CsvCompression {
+
+    NONE(".csv"),
+    GZIP(".csv.gz"),
+    ZSTD(".csv.zst");
+
+    private static final int INFLATE_BUFFER_SIZE = 1 << 16;
+
+    private final String suffix;
+
+    CsvCompression(String suffix) {
+        this.suffix = suffix;
+    }
+
+    // Dosya adina gore tur; CSV degilse null
+    public static CsvCompression of(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        for (CsvCompression compression : values()) {
+            if (lower.endsWith(compression.suffix)) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+    public boolean isCompressed() {
+        return this != NONE;
+    }
+
+    // Uzantisiz dosya adi (files tablosundaki file_name)
+    public String baseName(String fileName) {
+        return fileName.substring(0, fileName.length() - suffix.length());
+    }
+
+    // Islenmis dosyanin yeni adi (status: .done veya .fail). Duz CSV'de .csv uzantisinin yerini alir
+    // (x.csv -> x.done); sikistirilmis dosyada sikistirma uzantisi korunup sona eklenir (x.csv.gz -> x.csv.gz.done),
+    // boylece dosyanin hala sikistirilmis oldugu adindan anlasilir
+    public String archiveName(String fileName, String status) {
+        return isCompressed() ? fileName + status : baseName(fileName) + status;
+    }
+
+    public InputStream decompress(InputStream raw) throws IOException {
+        return switch (this) {
+            case NONE -> raw;
+            case GZIP -> new GZIPInputStream(raw, INFLATE_BUFFER_SIZE);
+            case ZSTD -> new ZstdInputStream(new BufferedInputStream(raw, INFLATE_BUFFER_SIZE));
+        };
+    }
+}
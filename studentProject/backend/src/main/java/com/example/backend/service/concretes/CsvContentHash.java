@@ -0,0 +1,115 @@
+package com.example.backend.service.concretes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Dosyanin ham byte'larinin (sikistirilmis dosyada sikistirilmis hali) SHA-256 ozeti.
+// Ayni export farkli adla tekrar birakildiginda files tablosundaki ozetle eslesir.
+public final class CsvContentHash {
+
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+
+    private CsvContentHash() {
+    }
+
+    // Dosyayi bastan sona okuyup ozetini hesaplar
+    public static String of(Path file) throws IOException {
+        try (DigestChannel channel = new DigestChannel(FileChannel.open(file, StandardOpenOption.READ))) {
+            ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.clear();
+            }
+            return channel.hex();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    // Okunan byte'lari okuma sirasinda ozete ekleyen kanal. Ozet sadece dosya bastan sona,
+    // konum degistirilmeden okunduysa gecerlidir; aksi halde hex() null dondurur.
+    public static class DigestChannel implements SeekableByteChannel {
+        private final SeekableByteChannel channel;
+        private final MessageDigest digest = newDigest();
+        private long expectedPosition;
+        private boolean complete;
+        private boolean broken;
+        private String hex;
+
+        public DigestChannel(SeekableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            int start = target.position();
+            int read = channel.read(target);
+            if (read < 0) {
+                complete = true;
+            } else if (read > 0) {
+                digest.update(target.duplicate().position(start).limit(start + read));
+                expectedPosition += read;
+            }
+            return read;
+        }
+
+        // Dosyanin tam ozeti; dosya sonuna kadar okunmadiysa veya atlandiysa null
+        public String hex() {
+            if (hex == null && complete && !broken) {
+                hex = HexFormat.of().formatHex(digest.digest());
+            }
+            return hex;
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            if (newPosition != expectedPosition) {
+                broken = true;
+            }
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
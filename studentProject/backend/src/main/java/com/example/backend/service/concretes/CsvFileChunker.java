@@ -0,0 +1,171 @@
+package com.example.backend.service.concretes;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Buyuk bir CSV dosyasini kayit sinirlarina hizalanmis byte araliklarina boler.
+// Sinir olarak sadece tirnak disinda kalan '\n' kabul edilir (Utf8CsvRecordReader ile ayni kacis kurallari).
+// Dosya esit araliklara bolunur ve her aralik kendi virtual thread'inde taranir. Bir araligin hangi tirnak
+// durumunda basladigi onceki araliklara baglidir; bu yuzden her aralik uc olasi baslangic durumu icin
+// birlikte taranir ve ilk sinir ile bitis durumu kaydedilir. Sonra araliklar sirayla (tarama yapmadan)
+// birlestirilir: dosya basindan gelen gercek durum her araligin gercek sinirini secer.
+public final class CsvFileChunker {
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 20;
+
+    // Tarama durumlari: tirnak disi, tirnak ici, tirnak icinde '\' sonrasi
+    static final int OUTSIDE = 0;
+    static final int QUOTED = 1;
+    static final int QUOTED_ESCAPE = 2;
+
+    private CsvFileChunker() {
+    }
+
+    // [baslangic, bitis) araliklarini dondurur; ilk aralik 0'dan baslar, bos aralik dondurulmez
+    public static List<long[]> split(FileChannel channel, int chunkCount) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        if (chunkCount <= 1 || size < chunkCount) {
+            chunks.add(new long[]{0, size});
+            return chunks;
+        }
+
+        long chunkSize = size / chunkCount;
+        RangeScan[] scans = scanInParallel(channel, chunkCount, chunkSize, size);
+
+        long chunkStart = 0;
+        int state = OUTSIDE;
+        for (int i = 0; i < chunkCount; i++) {
+            long boundary = scans[i].boundaries()[state];
+            // Aralikta sinir yoksa onceki parca bir sonraki araliga uzar
+            if (i > 0 && boundary > chunkStart) {
+                chunks.add(new long[]{chunkStart, boundary});
+                chunkStart = boundary;
+            }
+            state = scans[i].endStates()[state];
+        }
+        if (chunkStart < size) {
+            chunks.add(new long[]{chunkStart, size});
+        }
+        return chunks;
+    }
+
+    private static RangeScan[] scanInParallel(FileChannel channel, int chunkCount, long chunkSize, long size)
+            throws IOException {
+        List<Future<RangeScan>> tasks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < chunkCount; i++) {
+                long from = i * chunkSize;
+                long to = i == chunkCount - 1 ? size : from + chunkSize;
+                tasks.add(executor.submit(() -> scan(channel, from, to)));
+            }
+        }
+
+        RangeScan[] scans = new RangeScan[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            try {
+                scans[i] = tasks.get(i).get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw new IOException("Dosya parcalanamadi", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Dosya parcalama kesildi");
+            }
+        }
+        return scans;
+    }
+
+    // [from, to) araligini uc baslangic durumu icin birlikte tarar
+    static RangeScan scan(FileChannel channel, long from, long to) throws IOException {
+        int[] states = {OUTSIDE, QUOTED, QUOTED_ESCAPE};
+        long[] boundaries = {-1, -1, -1};
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(SCAN_BUFFER_SIZE, Math.max(1, to - from)));
+        byte[] bytes = buffer.array();
+
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = bytes[i];
+                for (int s = 0; s < 3; s++) {
+                    int state = states[s];
+                    if (state == QUOTED_ESCAPE) {
+                        // '\' sadece '"' ve '\' oncesinde kacis; diger byte'lar da tirnak icinde kalir
+                        states[s] = QUOTED;
+                    } else if (state == QUOTED) {
+                        if (b == '"') {
+                            states[s] = OUTSIDE;
+                        } else if (b == '\\') {
+                            states[s] = QUOTED_ESCAPE;
+                        }
+                    } else if (b == '"') {
+                        states[s] = QUOTED;
+                    } else if (b == '\n' && boundaries[s] < 0) {
+                        boundaries[s] = position + i + 1;
+                    }
+                }
+            }
+            position += read;
+        }
+        return new RangeScan(boundaries, states);
+    }
+
+    // Her baslangic durumu icin araliktaki ilk sinir (yoksa -1) ve araligin bitis durumu
+    record RangeScan(long[] boundaries, int[] endStates) {
+    }
+
+    // FileChannel'in bir araligini, kanalin konumunu degistirmeden okuyan gorunum
+    public static class FileRangeChannel implements ReadableByteChannel {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        public FileRangeChannel(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int max = (int) Math.min(target.remaining(), end - position);
+            ByteBuffer slice = target.slice(target.position(), max);
+            int read = channel.read(slice, position);
+            if (read > 0) {
+                target.position(target.position() + read);
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // Ortak FileChannel'i cagiran kapatir
+        }
+    }
+}
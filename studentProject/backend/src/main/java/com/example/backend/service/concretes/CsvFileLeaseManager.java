@@ -0,0 +1,112 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.FileLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Ayni csv-files klasorunu paylasan replikalar arasinda her dosyanin tek bir node'da islenmesini saglar.
+// Dosya islenmeden once file_leases tablosunda kiralanir, islem boyunca heartbeat ile uzatilir ve
+// dosya .done/.fail olunca birakilir. Kirayi tutan node coker ise sure dolar ve dosyayi baska bir
+// node alir; yarim kalan import ilerleme kaydindan devam eder.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CsvFileLeaseManager {
+
+    private final FileLeaseRepository fileLeaseRepository;
+
+    @Value("${csv.lease.enabled:true}")
+    private boolean enabled;
+
+    @Value("${csv.lease.node-id:}")
+    private String nodeId;
+
+    @Value("${csv.lease.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // Bu node'un kirasini tuttugu dosyalar
+    private final Set<String> heldFiles = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        if (enabled) {
+            log.info("CSV dosya kiralama acik, node: {}, kira suresi: {} sn", nodeId, ttlSeconds);
+        }
+    }
+
+    // Dosyayi bu node icin kiralar; baska bir node isliyorsa false
+    public boolean claim(File csvFile) {
+        if (!enabled) {
+            return true;
+        }
+        try {
+            if (!fileLeaseRepository.claim(csvFile.getName(), nodeId, ttlSeconds)) {
+                return false;
+            }
+            heldFiles.add(csvFile.getName());
+            return true;
+        } catch (Exception e) {
+            // Kira alinamazsa dosya islenmez; bir sonraki taramada tekrar denenir
+            log.warn("Dosya kiralanamadi, atlaniyor: {} - Hata: {}", csvFile.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(File csvFile) {
+        if (!enabled || !heldFiles.remove(csvFile.getName())) {
+            return;
+        }
+        try {
+            fileLeaseRepository.release(csvFile.getName(), nodeId);
+        } catch (Exception e) {
+            // Birakilamayan kiranin suresi dolar; dosya zaten .done/.fail oldugu icin tekrar islenmez
+            log.warn("Dosya kirasi birakilamadi: {} - Hata: {}", csvFile.getName(), e.getMessage());
+        }
+    }
+
+    // Kira suresinin ucte birinden sik calismali ki tek bir kacan heartbeat kirayi dusurmesin
+    @Scheduled(fixedDelayString = "${csv.lease.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (!enabled || heldFiles.isEmpty()) {
+            return;
+        }
+        Set<String> held = new HashSet<>(heldFiles);
+        try {
+            Set<String> renewed = fileLeaseRepository.renew(held, nodeId, ttlSeconds);
+            for (String fileName : held) {
+                // Bu arada birakilan dosyalar da donmez; sadece hala tutulanlar kaybedilmis sayilir
+                if (!renewed.contains(fileName) && heldFiles.contains(fileName)) {
+                    log.warn("Dosya kirasi kaybedildi, baska bir node devralmis olabilir: {}", fileName);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Dosya kiralari uzatilamadi: {}", e.getMessage());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package com.example.backend.service.concretes; // Service paketi
 
-import com.opencsv.CSVReader; // CSV okuyucu
-import com.opencsv.exceptions.CsvValidationException; // CSV doğrulama hatası
+import com.example.backend.dataAccess.StudentsRepositoryCustom; // Toplu yukleme kaynagi
+import com.example.backend.entities.FileCheckpoint; // Dosya ilerleme kaydi
+import com.example.backend.entities.Student; // Ogrenci entity'si
+import com.example.backend.service.abstracts.CsvRecordReader; // CSV kayit okuyucu
 import lombok.RequiredArgsConstructor; // Constructor injection
 import lombok.extern.slf4j.Slf4j; // Logging
+import org.springframework.beans.factory.annotation.Value; // Konfigurasyon degeri
 import org.springframework.integration.support.MessageBuilder; // Message builder
 import org.springframework.messaging.MessageChannel; // Message channel
 import org.springframework.stereotype.Component; // Component anotasyonu
 
+import java.io.ByteArrayInputStream; // Onceki parcadan kalan byte'lar
 import java.io.File; // Dosya sınıfı
-import java.io.FileReader; // Dosya okuyucu
+import java.io.FilterInputStream; // Akis sarmalayici
 import java.io.IOException; // IO hatası
+import java.io.InputStream; // Dosya akisi
+import java.io.InputStreamReader; // Karakter okuyucu
+import java.io.SequenceInputStream; // Ardisik akislar
+import java.nio.channels.Channels; // Akis -> kanal donusumu
+import java.nio.channels.FileChannel; // Dosya kanali
+import java.nio.charset.StandardCharsets; // Karakter seti
+import java.nio.file.StandardOpenOption; // Dosya acma secenekleri
+import java.security.DigestInputStream; // Okurken icerik ozeti
+import java.util.ArrayDeque; // Ilerleme isaretleri kuyrugu
 import java.util.ArrayList; // ArrayList
+import java.util.Arrays; // Dizi islemleri
 import java.util.List; // Liste
+import java.util.concurrent.ExecutionException; // Gorev hatasi
+import java.util.concurrent.ExecutorService; // Executor
+import java.util.concurrent.Executors; // Executor fabrikasi
+import java.util.concurrent.Future; // Gorev sonucu
 
 @Component // Spring component anotasyonu
 @RequiredArgsConstructor // Constructor injection
@@ -20,115 +38,780 @@ import java.util.List; // Liste
 public class CsvFileProcessor { // CSV dosya işleyici sınıfı
 
     private final MessageChannel csvLineChannel; // CSV satır işleme kanalı
+    private final CsvImportTracker csvImportTracker; // Akistaki satir takipcisi
+    private final CsvCheckpointManager csvCheckpointManager; // Dosya ilerleme kayitlari
+    private final CsvImportMetrics csvImportMetrics; // Asama metrikleri
+    private final StudentNumberIndex studentNumberIndex; // Numara -> (id, verified) indeksi
+    private final CsvLineToStudentTransformer csvLineToStudentTransformer; // Satir -> ogrenci donusumu
+    private final StudentManager studentManager; // Toplu yukleme
+
+    @Value("${csv.processing.settle-timeout-seconds:300}")
+    private long settleTimeoutSeconds; // Akistaki satirlar icin bekleme suresi
+
+    @Value("${csv.parser:opencsv}")
+    private String parserType; // CSV ayrıştırıcı: opencsv veya bytes
+
+    @Value("${csv.parallel.enabled:false}")
+    private boolean parallelEnabled; // Tek dosyanin parcalara bolunup paralel okunmasi
+
+    @Value("${csv.parallel.min-file-size-mb:256}")
+    private long parallelMinFileSizeMb; // Paralel okuma icin en kucuk dosya boyutu
+
+    @Value("${csv.parallel.chunks:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int parallelChunks; // Dosyanin bolunecegi parca sayisi
+
+    @Value("${csv.checkpoint.enabled:true}")
+    private boolean checkpointEnabled; // Yeniden baslatmada kaldigi yerden devam
+
+    @Value("${csv.checkpoint.interval-rows:10000}")
+    private int checkpointIntervalRows; // Kac satirda bir ilerleme kaydi yazilacagi
+
+    @Value("${csv.bulk.mode:off}")
+    private String bulkMode; // COPY ile toplu yukleme: off, auto (boyut esigi) veya always
+
+    @Value("${csv.bulk.min-file-size-mb:100}")
+    private long bulkMinFileSizeMb; // auto modunda COPY'nin devreye girecegi dosya boyutu
+
+    private static final String[] STUDENT_COLUMNS = {"name", "surname", "number"}; // Transformer'in bekledigi sutun sirasi
+
+    private static final int HEADER_BUFFER_SIZE = 1 << 16; // Sadece header okunurken tampon boyutu
+
+    private static final int CHUNK_BUFFER_SIZE = 1 << 20; // Parca okuyucu tampon boyutu
+
+    private static final int REPLAY_BUFFER_SIZE = 1 << 12; // Tek satiri yeniden okuyan okuyucunun tampon boyutu
 
     public CsvProcessingResult processCsvFile(File csvFile) { // CSV dosyasini isleme metodu
         log.info("CSV dosyasi isleniyor: {}", csvFile.getName()); // Log mesaji
+        long startNanos = System.nanoTime(); // Dosya isleme baslangici
 
         CsvProcessingResult result = new CsvProcessingResult(); // Sonuç nesnesi oluştur
-        CSVReader reader = null; // CSV okuyucu değişkeni
+        FileCheckpoint checkpoint = checkpointEnabled ? csvCheckpointManager.resume(csvFile) : null; // Onceki ilerleme
+        long resumedRows = checkpoint != null ? checkpoint.getRowsCommitted() : 0; // Onceden kaydedilmis satirlar
+        boolean bulk = resumedRows == 0 && useBulkLoad(csvFile); // COPY ile tek transaction'da yukleme
+        boolean parallel = !bulk && resumedRows == 0 && useParallelChunks(csvFile); // Yarim kalan dosya sirali devam eder
+        studentNumberIndex.acquire(); // Ilk import indeksi veritabanindan yukler
+        CsvImportTracker.ImportProgress progress = csvImportTracker.start(csvFile.getName(),
+                parallel ? parallelChunks : 1); // Dosya takibini baslat
+        CheckpointWriter writer = checkpoint != null && !bulk && !parallel
+                ? new CheckpointWriter(checkpoint, progress) : null; // Sirali okumada ilerleme yazici
 
         try { // Hata yakalama bloğu
-            reader = new CSVReader(new FileReader(csvFile)); // CSV okuyucu oluştur
-
-            String[] header = reader.readNext(); // Header'ı oku
-            if (header == null) { // Header yoksa
-                result.setSuccess(false); // Basarisiz olarak isaretle
-                result.setErrorMessage("Dosya bos"); // Hata mesaji
+            if (bulk) { // COPY yolu integration akisini kullanmaz
+                loadInBulk(csvFile, result); // Sonuc result uzerinde
                 return result; // Sonucu dondur
             }
 
-            if (!isValidHeader(header)) { // Header gecersizse
+            String sendError; // Gonderim sirasinda olusan hata
+            if (parallel) { // Parcalar paralel okunur
+                sendError = streamInParallelChunks(csvFile, progress, result); // Parcalari paralel gonder
+            } else { // Tek okuyucu ile sirali okuma
+                sendError = streamSequentially(csvFile, progress, result, writer); // Satirlari sirayla gonder
+            }
+
+            if (result.getErrorMessage() != null) { // Header hatasi varsa
                 result.setSuccess(false); // Basarisiz olarak isaretle
-                result.setErrorMessage("Gecersiz header formati - Beklenen: name,surname,number"); // Hata mesaji
                 return result; // Sonucu dondur
             }
 
-            List<String[]> csvLines = new ArrayList<>(); // CSV satırları listesi oluştur
-            String[] line; // Satır değişkeni
-            int lineNumber = 1; // Satır numarası
+            settle(progress, result, sendError, resumedRows); // Akistaki satirlari bekle ve sonucu yaz
 
-            while ((line = reader.readNext()) != null) { // Her satır için
-                lineNumber++; // Satır numarasını artır
-                try { // Hata yakalama bloğu
-                    // Satırı doğrudan listeye ekle (transformer'da işlenecek)
-                    csvLines.add(line); // Listeye ekle
-                } catch (Exception e) { // Hata yakalama
-                    log.error("Satir {} islenirken hata: {}", lineNumber, e.getMessage()); // Hata log'u
-                    result.setSuccess(false); // Basarisiz olarak isaretle
-                    result.setErrorMessage("Satir " + lineNumber + " islenirken hata: " + e.getMessage()); // Hata mesaji
+            if (writer != null && !result.isSuccess()) { // Dosya yarida kaldi
+                writer.flush(); // Commit edilmis parcalarin sinirini kaydet; tekrar islemede oradan devam edilir
+            }
+
+        } catch (IOException e) { // IO veya CSV hatasi
+            log.error("CSV dosyasi okunurken hata: {}", e.getMessage()); // Hata log'u
+            result.setSuccess(false); // Basarisiz olarak isaretle
+            result.setErrorMessage("Dosya okuma hatasi: " + e.getMessage()); // Hata mesaji
+        } catch (InterruptedException e) { // Bekleme kesildiyse
+            Thread.currentThread().interrupt(); // Interrupt durumunu koru
+            result.setSuccess(false); // Basarisiz olarak isaretle
+            result.setErrorMessage("Dosya isleme kesildi"); // Hata mesaji
+        } finally { // Son islem blogu
+            csvImportTracker.finish(progress); // Dosya takibini bitir
+            studentNumberIndex.release(); // Son import indeksi birakir
+            if (result.isSuccess() && result.getContentHash() == null) { // Paralel veya kaldigi yerden okunan dosya
+                result.setContentHash(contentHashOf(csvFile)); // Ozeti ayri bir okumayla hesapla
+            }
+            result.setDurationMs((System.nanoTime() - startNanos) / 1_000_000); // Toplam sure
+            csvImportMetrics.recordFile(result.isSuccess(), result.getDurationMs(), result.getBytesRead()); // Dosya metrikleri
+            log.info("{} dosyasi {} ms'de islendi: {} satir, {} byte, {} satir/sn", csvFile.getName(),
+                    result.getDurationMs(), progress.getSent(), result.getBytesRead(),
+                    progress.getSent() * 1000L / Math.max(1, result.getDurationMs())); // Performans log'u
+        }
+
+        return result; // Sonucu döndür
+    }
+
+    // Tail modu: buyumeye devam eden dosyada sadece son kayitli konumdan sonra eklenen, satir sonu
+    // gelmis kayitlari isler. Dosya .done olmaz; konum her tetiklemede ilerleme kaydina yazilir.
+    public CsvProcessingResult processAppended(File csvFile) { // Eklenen satirlari isleme metodu
+        long startNanos = System.nanoTime(); // Isleme baslangici
+        CsvProcessingResult result = new CsvProcessingResult(); // Sonuç nesnesi oluştur
+        FileCheckpoint checkpoint = csvCheckpointManager.resumeTail(csvFile); // Son okunan konum
+        if (checkpoint == null) { // Kayit okunamadi
+            result.setErrorMessage("Ilerleme kaydi okunamadi"); // Hata mesaji
+            return result; // Sonraki tetiklemede tekrar denenir
+        }
+        Long startOffset = checkpoint.getByteOffset(); // Kaldigi byte konumu
+        if (startOffset != null && startOffset >= csvFile.length()) { // Yeni byte yok
+            result.setSuccess(true); // Basarili olarak isaretle
+            result.setMessage("Yeni satir yok"); // Bilgi mesaji
+            return result; // Dosyayi acmadan don
+        }
+
+        // Numara indeksi kullanilmaz: sik gelen kucuk tetiklemelerde her seferinde tum tabloyu yuklemek pahali
+        CsvImportTracker.ImportProgress progress = csvImportTracker.start(csvFile.getName()); // Dosya takibini baslat
+        try (Utf8CsvRecordReader reader = new Utf8CsvRecordReader(csvFile.toPath())) { // Konumlanabilen byte okuyucu
+            reader.setCompleteRecordsOnly(true); // Yazilmakta olan son satiri okuma
+            if (startOffset != null) { // Header daha once dogrulandi
+                int[] projection = headerProjection(csvFile); // Sutun sirasi dosyanin basindaki header'dan
+                if (projection == null) { // Dosya degistirilmis
+                    result.setErrorMessage("Gecersiz header formati - Beklenen: name,surname,number"); // Hata mesaji
+                    return result; // Sonucu dondur
+                }
+                reader.seek(startOffset); // Kaldigi yere atla
+                reader.setProjection(projection); // Sadece gereken sutunlar
+            } else { // Dosyanin basi
+                String[] header = reader.readNext(); // Header'ı oku
+                if (header == null) { // Header satiri henuz tamamlanmadi
+                    result.setSuccess(true); // Basarili olarak isaretle
+                    result.setMessage("Yeni satir yok"); // Bilgi mesaji
+                    return result; // Sonucu dondur
+                }
+                int[] projection = resolveProjection(header); // Header -> sutun indeksleri
+                if (projection == null) { // Header gecersizse
+                    result.setErrorMessage("Gecersiz header formati - Beklenen: name,surname,number"); // Hata mesaji
                     return result; // Sonucu dondur
                 }
+                reader.setProjection(projection); // Veri satirlarinda sadece gereken sutunlari oku
+                skipCommittedRows(reader, checkpoint); // Konumsuz eski kayit varsa satirlari atla
+            }
+            long readFrom = reader.getPosition(); // Bu tetiklemede okunan ilk byte
+
+            long baseRows = checkpoint.getRowsCommitted(); // Onceki tetiklemelerde islenen satirlar
+            CheckpointWriter writer = new CheckpointWriter(checkpoint, progress); // Ilerleme yazici
+            String sendError = streamRecords(reader, progress, progress.getImportId(), "Satir ", 1 + baseRows, writer); // Eklenen satirlari gonder
+            boolean settled = progress.awaitSettled(settleTimeoutSeconds); // Akistaki satirlarin sonuclanmasini bekle
+
+            result.setRowCount(progress.getSent()); // Bu tetiklemede okunan satirlar
+            result.setStudentCount(progress.getPersisted()); // Kaydedilen ogrenciler
+            result.setUnchangedCount(progress.getUnchanged()); // Degismeyen ogrenciler
+            result.setRejectedCount(progress.getRejected() + progress.getFailed()); // Kaydedilemeyen satirlar
+            result.setBytesRead(writer.sentOffset(readFrom) - readFrom); // Islenen byte
+
+            // Gonderilen her satir sonuclandiysa ve veritabani hatasi yoksa konum ilerler; gecersiz
+            // satirlar tekrar denenmez, veritabani hatasinda ayni satirlar sonraki tetiklemede tekrar okunur
+            if (settled && progress.getFailed() == 0 && (progress.getSent() > 0 || startOffset == null)) { // Yazilamayan satir yok
+                writer.commitSent(readFrom); // Son gonderilen satirin sonunu kaydet
             }
 
-            if (!csvLines.isEmpty()) { // CSV satırları listesi bos degilse
-                // CSV satirlarini integration channel'a gonder
-                sendCsvLinesToChannel(csvLines); // Integration channel'a gonder
+            if (!settled) { // Zaman asimi
+                result.setErrorMessage("Satirlarin islenmesi " + settleTimeoutSeconds + " saniyede tamamlanamadi"); // Hata mesaji
+            } else if (sendError != null || progress.hasErrors()) { // Hatali satir varsa
+                result.setErrorMessage(sendError != null ? sendError :
+                        "Satir islenirken hata: " + describe(progress.getFirstError())); // Hata mesaji
+            } else { // Tum satirlar kaydedildi
                 result.setSuccess(true); // Basarili olarak isaretle
-                result.setStudentCount(csvLines.size()); // CSV satır sayısını ayarla
-                result.setMessage(csvLines.size() + " CSV satiri integration channel'a gonderildi"); // Basari mesaji
-            } else { // CSV satırları listesi bossa
-                result.setSuccess(false); // Basarisiz olarak isaretle
-                result.setErrorMessage("CSV dosyasindan hic gecerli satir okunamadi"); // Hata mesaji
+                result.setMessage(result.getRowCount() + " yeni CSV satiri okundu, " + result.getStudentCount()
+                        + " ogrenci kaydedildi (" + result.getUnchangedCount() + " degismedi)"); // Basari mesaji
             }
-
-        } catch (IOException | CsvValidationException e) { // IO veya CSV hatasi
+        } catch (IOException e) { // IO hatasi
             log.error("CSV dosyasi okunurken hata: {}", e.getMessage()); // Hata log'u
+            result.setErrorMessage("Dosya okuma hatasi: " + e.getMessage()); // Hata mesaji
+        } catch (InterruptedException e) { // Bekleme kesildiyse
+            Thread.currentThread().interrupt(); // Interrupt durumunu koru
+            result.setErrorMessage("Dosya isleme kesildi"); // Hata mesaji
+        } finally { // Son islem blogu
+            csvImportTracker.finish(progress); // Dosya takibini bitir
+            result.setDurationMs((System.nanoTime() - startNanos) / 1_000_000); // Toplam sure
+            csvImportMetrics.recordFile(result.isSuccess(), result.getDurationMs(), result.getBytesRead()); // Dosya metrikleri
+        }
+        return result; // Sonucu döndür
+    }
+
+    // Akistaki satirlarin sonuclanmasini bekler ve dosya sonucunu sayaclardan doldurur
+    private void settle(CsvImportTracker.ImportProgress progress, CsvProcessingResult result, String sendError,
+                        long resumedRows) throws InterruptedException { // Sonuc hesaplama
+        if (!progress.awaitSettled(settleTimeoutSeconds)) { // Akistaki satirlarin sonuclanmasini bekle
+            sendError = "Satirlarin islenmesi " + settleTimeoutSeconds + " saniyede tamamlanamadi"; // Zaman asimi
+        }
+
+        result.setRowCount((int) (resumedRows + progress.getSent())); // Okunan satir sayisi
+        result.setStudentCount((int) (resumedRows + progress.getPersisted() - progress.getReplayed())); // Kaydedilen ogrenci sayisi
+        result.setUnchangedCount(progress.getUnchanged()); // Degismeyen ogrenci sayisi (bu calismada)
+        result.setRejectedCount(progress.getRejected() + progress.getFailed()); // Kaydedilemeyen satir sayisi
+
+        if (sendError != null || progress.hasErrors()) { // Herhangi bir satir basarisizsa
+            result.setSuccess(false); // Basarisiz olarak isaretle
+            result.setErrorMessage(sendError != null ? sendError :
+                    "Satir islenirken hata: " + describe(progress.getFirstError())); // Hata mesaji
+        } else if (result.getRowCount() > 0) { // Satirlar basariyla islendiyse
+            result.setSuccess(true); // Basarili olarak isaretle
+            result.setMessage(result.getRowCount() + " CSV satiri okundu, " + result.getStudentCount()
+                    + " ogrenci kaydedildi (" + result.getUnchangedCount() + " degismedi)" + (resumedRows > 0 ? " (" + resumedRows
+                    + " satir onceki calismadan devam)" : "")); // Basari mesaji
+        } else { // Hic satir yoksa
             result.setSuccess(false); // Basarisiz olarak isaretle
+            result.setErrorMessage("CSV dosyasindan hic gecerli satir okunamadi"); // Hata mesaji
+        }
+    }
+
+    // Parca parca yukleme: dosya diske yazilmadan her parca okundugu anda ayni akisa gonderilir
+    public CsvUploadSession openUpload(String fileName) { // Yukleme baslatma metodu
+        studentNumberIndex.acquire(); // Yukleme boyunca numara indeksi
+        CsvUploadSession upload = new CsvUploadSession(fileName, csvImportTracker.start(fileName)); // Yukleme durumu
+        log.info("CSV yuklemesi basladi: {} ({})", fileName, upload.getUploadId()); // Log mesaji
+        return upload; // Yuklemeyi dondur
+    }
+
+    // Bir parcanin tam kayitlarini akisa gonderir; satir sonu gelmemis son kayit sonraki parcaya kalir.
+    // Baglanti koparsa o ana kadar okunan byte'lar yuklemede kalir ve IOException firlatilir; icerik
+    // hatasinda (or. kapanmamis tirnak) yukleme basarisiz olarak biter.
+    // Son parcada akistaki satirlar beklenir ve sonuc dondurulur, aksi halde null.
+    public CsvProcessingResult receiveUploadChunk(CsvUploadSession upload, InputStream body, boolean last)
+            throws IOException { // Parca isleme metodu
+        CsvImportTracker.ImportProgress progress = upload.getProgress(); // Yukleme takibi
+        CsvProcessingResult result = new CsvProcessingResult(); // Sonuç nesnesi oluştur
+        UploadBody received = new UploadBody(new DigestInputStream(body, upload.getDigest())); // Okurken ozet
+        InputStream content = new SequenceInputStream(new ByteArrayInputStream(upload.getCarry()),
+                received); // Onceki parcadan kalan kayit + yeni byte'lar
+        Utf8CsvRecordReader reader = new Utf8CsvRecordReader(Channels.newChannel(content), CHUNK_BUFFER_SIZE); // Byte okuyucu
+        reader.resumeAt(upload.getRecordOffset()); // Mutlak konumlar
+        reader.setCompleteRecordsOnly(!last); // Parca sonundaki yarim kaydi bekle
+        String sendError = null; // Gonderim sirasinda olusan hata
+
+        try { // Hata yakalama bloğu
+            if (upload.getProjection() == null) { // Header henuz okunmadi
+                String[] header = reader.readNext(); // Header'ı oku
+                if (header == null && !last) { // Header satiri sonraki parcada tamamlanacak
+                    return null; // Devam
+                }
+                int[] projection = header != null ? resolveProjection(header) : null; // Header -> sutun indeksleri
+                if (projection == null) { // Header yok veya gecersiz
+                    result.setErrorMessage(header == null ? "Dosya bos"
+                            : "Gecersiz header formati - Beklenen: name,surname,number"); // Hata mesaji
+                    return finishUpload(upload, result); // Yuklemeyi bitir
+                }
+                upload.setProjection(projection); // Sonraki parcalar icin
+            }
+            reader.setProjection(upload.getProjection()); // Sadece gereken sutunlar
+            sendError = streamRecords(reader, progress, upload.getUploadId(), "Satir ",
+                    1 + progress.getSent(), null); // Tam kayitlari akisa gonder
+            if (sendError == null && !last) { // Yukleme devam ediyor
+                return null; // Devam
+            }
+            settle(progress, result, sendError, 0); // Akistaki satirlari bekle ve sonucu yaz
+        } catch (IOException e) { // Baglanti veya icerik hatasi
+            if (received.failed) { // Istek govdesi okunamadi: istemci kaldigi yerden devam edebilir
+                throw e; // Yukleme acik kalir
+            }
+            log.error("Yuklenen CSV okunurken hata: {}", e.getMessage()); // Hata log'u
             result.setErrorMessage("Dosya okuma hatasi: " + e.getMessage()); // Hata mesaji
+        } catch (InterruptedException e) { // Bekleme kesildiyse
+            Thread.currentThread().interrupt(); // Interrupt durumunu koru
+            result.setErrorMessage("Yukleme isleme kesildi"); // Hata mesaji
         } finally { // Son islem blogu
-            if (reader != null) { // Okuyucu varsa
-                try { // Hata yakalama blogu
-                    reader.close(); // Okuyucuyu kapat
-                } catch (IOException e) { // IO hatasi
-                    log.error("CSV reader kapatilirken hata: {}", e.getMessage()); // Hata log'u
+            upload.advance(reader.getPosition(), reader.remaining()); // Alinan byte'lar ve yarim kayit
+            upload.touch(); // Son etkinlik
+        }
+        return finishUpload(upload, result); // Yuklemeyi bitir
+    }
+
+    // Tamamlanmayan yuklemeyi basarisiz olarak kapatir
+    public CsvProcessingResult abortUpload(CsvUploadSession upload, String reason) { // Yukleme iptali
+        upload.getProgress().abort(reason); // Akistaki satirlar yazilmaya devam edebilir
+        CsvProcessingResult result = new CsvProcessingResult(); // Sonuç nesnesi oluştur
+        result.setRowCount(upload.getRowsSent()); // Okunan satir sayisi
+        result.setStudentCount(upload.getRowsPersisted()); // Kaydedilen ogrenci sayisi
+        result.setUnchangedCount(upload.getProgress().getUnchanged()); // Degismeyen ogrenci sayisi
+        result.setRejectedCount(upload.getRowsRejected()); // Kaydedilemeyen satir sayisi
+        result.setErrorMessage(reason); // Hata mesaji
+        return finishUpload(upload, result); // Yuklemeyi bitir
+    }
+
+    // Istek govdesinden okurken hata olustu mu; icerik hatasini baglanti hatasindan ayirir
+    private static class UploadBody extends FilterInputStream {
+        private boolean failed; // Okuma hatasi
+
+        UploadBody(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            try {
+                return super.read(bytes, offset, length);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+
+    private CsvProcessingResult finishUpload(CsvUploadSession upload, CsvProcessingResult result) { // Yukleme sonu
+        csvImportTracker.finish(upload.getProgress()); // Dosya takibini bitir
+        studentNumberIndex.release(); // Son import indeksi birakir
+        result.setBytesRead(upload.getReceivedBytes()); // Alinan byte
+        if (result.isSuccess()) { // Tum dosya okundu
+            result.setContentHash(upload.contentHash()); // Yuklenen icerigin ozeti
+        }
+        result.setDurationMs((System.nanoTime() - upload.getStartNanos()) / 1_000_000); // Toplam sure
+        csvImportMetrics.recordFile(result.isSuccess(), result.getDurationMs(), result.getBytesRead()); // Dosya metrikleri
+        upload.complete(result); // Yukleme durumu
+        log.info("CSV yuklemesi {} ms'de bitti: {} - {} satir, {} byte, basarili: {}", result.getDurationMs(),
+                upload.getFileName(), upload.getRowsSent(), result.getBytesRead(), result.isSuccess()); // Performans log'u
+        return result; // Sonucu dondur
+    }
+
+    private String streamSequentially(File csvFile, CsvImportTracker.ImportProgress progress, CsvProcessingResult result,
+                                      CheckpointWriter writer) throws IOException, InterruptedException { // Sirali okuma
+        CsvContentHash.DigestChannel content = openContent(csvFile); // Okurken icerik ozeti
+        try (CsvRecordReader reader = openReader(csvFile, content)) { // CSV okuyucu oluştur
+            if (readHeader(reader, result) == null) { // Header gecersizse
+                return null; // Hata result uzerinde
+            }
+            if (writer == null) { // Ilerleme kaydi kapali
+                String error = streamRecords(reader, progress, progress.getImportId(), "Satir ", 1, null); // Satirlari akisa gonder
+                result.setBytesRead(bytesConsumed(reader, csvFile, 0)); // Okunan byte
+                result.setContentHash(content.hex()); // Dosya sonuna kadar okunduysa ozet
+                return error; // Gonderim hatasi
+            }
+
+            long resumedRows = writer.baseRows; // Onceden kaydedilmis satirlar
+            long startOffset = 0; // Atlanan byte konumu
+            if (resumedRows > 0) { // Yarim kalan dosya
+                startOffset = skipCommittedRows(reader, writer.checkpoint); // Kaydedilmis satirlari atla
+                log.info("{} dosyasina {}. satirdan devam ediliyor", csvFile.getName(), resumedRows + 1); // Log mesaji
+            }
+            String error = streamRecords(reader, progress, progress.getImportId(), "Satir ", 1 + resumedRows, writer); // Satirlari akisa gonder
+            result.setBytesRead(bytesConsumed(reader, csvFile, startOffset)); // Okunan byte
+            result.setContentHash(content.hex()); // Konuma atlandiysa null, sonda ayrica hesaplanir
+            return error; // Gonderim hatasi
+        }
+    }
+
+    private void loadInBulk(File csvFile, CsvProcessingResult result) throws IOException { // COPY ile toplu yukleme
+        log.info("{} dosyasi COPY ile toplu yukleniyor", csvFile.getName()); // Log mesaji
+        CsvContentHash.DigestChannel content = openContent(csvFile); // Okurken icerik ozeti
+        try (CsvRecordReader reader = openReader(csvFile, content)) { // CSV okuyucu oluştur
+            if (readHeader(reader, result) == null) { // Header gecersizse
+                result.setSuccess(false); // Basarisiz olarak isaretle
+                return; // Hata result uzerinde
+            }
+
+            long[] lineNumber = {1}; // Header 1. satir
+            StudentsRepositoryCustom.StudentSource source = () -> { // Okuyucudan ogrenci kaynagi
+                String[] line = readNext(reader); // Sonraki kayit
+                if (line == null) { // Dosya bitti
+                    return null; // Kaynak bitti
+                }
+                lineNumber[0]++; // Satır numarasını artır
+                Student student = csvLineToStudentTransformer.transformCsvLineToStudent(line, null); // Dogrulama ve donusum
+                if (student == null) { // Gecersiz satir tum yuklemeyi geri alir
+                    throw new IOException("Satir " + lineNumber[0] + " gecersiz"); // Hata
+                }
+                return student; // Ogrenciyi dondur
+            };
+
+            long start = System.nanoTime(); // Yazma baslangici
+            StudentsRepositoryCustom.WriteCounts counts; // Yazilan ve degismeyen satirlar
+            try { // Hata yakalama bloğu
+                counts = studentManager.bulkLoad(source); // COPY + birlestirme
+            } catch (RuntimeException e) { // Veritabani hatasi
+                log.error("{} dosyasi toplu yuklenirken hata: {}", csvFile.getName(), e.getMessage()); // Hata log'u
+                result.setSuccess(false); // Basarisiz olarak isaretle
+                result.setErrorMessage("Toplu yukleme hatasi: " + e.getMessage()); // Hata mesaji
+                return; // Hicbir satir yazilmadi
+            }
+
+            int rows = (int) (lineNumber[0] - 1); // Veri satiri sayisi
+            csvImportMetrics.recordPersist(System.nanoTime() - start, rows); // Yazma metrikleri
+            csvImportMetrics.recordUnchanged(counts.unchanged()); // Degismeyen satirlar
+            result.setRowCount(rows); // Okunan satir sayisi
+            result.setStudentCount(rows); // Kaydedilen ogrenci sayisi
+            result.setUnchangedCount(counts.unchanged()); // Degismeyen ogrenci sayisi
+            result.setBytesRead(bytesConsumed(reader, csvFile, 0)); // Okunan byte
+            result.setContentHash(content.hex()); // Icerik ozeti
+            if (rows > 0) { // Satirlar basariyla islendiyse
+                result.setSuccess(true); // Basarili olarak isaretle
+                result.setMessage(rows + " CSV satiri okundu, " + rows + " ogrenci COPY ile yuklendi ("
+                        + counts.unchanged() + " degismedi)"); // Basari mesaji
+            } else { // Hic satir yoksa
+                result.setSuccess(false); // Basarisiz olarak isaretle
+                result.setErrorMessage("CSV dosyasindan hic gecerli satir okunamadi"); // Hata mesaji
+            }
+        }
+    }
+
+    private long skipCommittedRows(CsvRecordReader reader, FileCheckpoint checkpoint) throws IOException { // Kaydedilmis satirlari atla
+        if (checkpoint.getByteOffset() != null && reader instanceof Utf8CsvRecordReader bytesReader
+                && bytesReader.isSeekable()) { // Byte konumu biliniyor ve dosya sikistirilmamissa
+            bytesReader.seek(checkpoint.getByteOffset()); // Dogrudan konuma atla
+            return checkpoint.getByteOffset(); // Atlanan byte
+        }
+        for (long i = 0; i < checkpoint.getRowsCommitted(); i++) { // Konum yoksa satirlari okuyup gec
+            if (reader.readNext() == null) { // Dosya beklenenden kisa
+                break; // Atlanacak satir kalmadi
+            }
+        }
+        return 0; // Satirlar okunarak atlandi
+    }
+
+    private long bytesConsumed(CsvRecordReader reader, File csvFile, long startOffset) { // Bu calismada okunan byte
+        if (reader instanceof Utf8CsvRecordReader bytesReader && bytesReader.isSeekable()) { // Byte okuyucu konumunu bilir
+            return bytesReader.getPosition() - startOffset; // Baslangictan bu yana okunan
+        }
+        return csvFile.length(); // opencsv ve sikistirilmis dosyalar bastan sona okunur
+    }
+
+    // Tum parcalar ayni batch anahtariyla gonderilir; aggregator numara bolumune gore gruplar ve ayni numara her
+    // zaman ayni grupta sirayla yazilir. Farkli parcalardaki ayni numaranin satirlari ise paralel geldigi icin
+    // dosya sirasiyla yazilmayabilir: parcalar bitince bu numaralarin dosyadaki son satiri yeniden gonderilir.
+    private String streamInParallelChunks(File csvFile, CsvImportTracker.ImportProgress progress,
+                                          CsvProcessingResult result) throws IOException, InterruptedException { // Paralel okuma
+        try (FileChannel channel = FileChannel.open(csvFile.toPath(), StandardOpenOption.READ)) { // Ortak dosya kanali
+            List<long[]> chunks = CsvFileChunker.split(channel, parallelChunks); // Kayit sinirina hizali araliklar
+            log.info("{} dosyasi {} parcada paralel okunuyor", csvFile.getName(), chunks.size()); // Log mesaji
+
+            List<Utf8CsvRecordReader> readers = new ArrayList<>(); // Her parca icin okuyucu
+            List<CsvLastRowOffsets> lastRows = new ArrayList<>(); // Her parcanin numara -> son satir konumu
+            for (long[] chunk : chunks) { // Her parca icin
+                Utf8CsvRecordReader reader = new Utf8CsvRecordReader(
+                        new CsvFileChunker.FileRangeChannel(channel, chunk[0], chunk[1]), CHUNK_BUFFER_SIZE); // Aralik okuyucu
+                reader.resumeAt(chunk[0]); // Konumlar dosya basina gore; BOM sadece ilk parcada aranir
+                readers.add(reader); // Okuyucuyu ekle
+                lastRows.add(new CsvLastRowOffsets()); // Parcanin son satir konumlari
+            }
+
+            int[] projection = readHeader(readers.get(0), result); // Header sadece ilk parcada bulunur
+            if (projection == null) { // Header gecersizse
+                return null; // Hata result uzerinde
+            }
+            for (Utf8CsvRecordReader reader : readers) { // Diger parcalar dogrudan veri satiriyla baslar
+                reader.setProjection(projection); // Ayni projeksiyon
+            }
+
+            String batchKey = progress.getImportId(); // Tum parcalar icin ortak batch grubu
+            List<Future<String>> tasks = new ArrayList<>(); // Parca gorevleri
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) { // Parca basina virtual thread
+                for (int i = 0; i < readers.size(); i++) { // Her parca icin
+                    Utf8CsvRecordReader reader = readers.get(i); // Parca okuyucusu
+                    CsvLastRowOffsets rows = lastRows.get(i); // Parcanin son satir konumlari
+                    String label = "Parca " + (i + 1) + " satir "; // Hata mesajlari icin etiket
+                    tasks.add(executor.submit(() -> { // Parcayi akisa gonder
+                        try { // Hata yakalama bloğu
+                            return streamRecords(reader, progress, batchKey, label, 0, null, rows); // Parca satirlarini gonder
+                        } catch (Exception e) { // Okuma hatasi
+                            progress.abort(label + "okunurken hata: " + e.getMessage()); // Diger parcalari durdur
+                            throw e; // Hatayi gorev sonucuna tasi
+                        }
+                    }));
                 }
             }
+
+            long bytesRead = 0; // Parcalardan okunan toplam byte
+            for (int i = 0; i < readers.size(); i++) { // Her parca
+                bytesRead += readers.get(i).getPosition() - chunks.get(i)[0]; // Parca icinde okunan byte
+            }
+            result.setBytesRead(bytesRead); // Okunan byte
+
+            for (Future<String> task : tasks) { // Okuma hatalarini yuzeye cikar
+                try { // Hata yakalama bloğu
+                    task.get(); // Parca sonucu
+                } catch (ExecutionException e) { // Parca okuma hatasi
+                    if (e.getCause() instanceof IOException ioException) { // Okuma hatasi ise
+                        throw ioException; // Dosya okuma hatasi olarak isle
+                    }
+                }
+            }
+            if (progress.getAbortReason() != null) { // Bir parca hata aldiysa dosya zaten basarisiz
+                return progress.getAbortReason(); // Ilk olusan hata
+            }
+
+            long[] replay = new long[0]; // Birden fazla parcada gecen numaralarin son satirlari
+            CsvLastRowOffsets later = lastRows.get(lastRows.size() - 1); // Sondan basa birlestirilir
+            for (int i = lastRows.size() - 2; i >= 0; i--) { // Onceki parcalar
+                replay = lastRows.get(i).mergeInto(later, replay); // Sonraki parcada da gecenler
+            }
+            return replayLastRows(channel, projection, replay, progress, batchKey); // Son satirlari tekrar gonder
         }
+    }
 
-        return result; // Sonucu döndür
+    // Parcalar gonderildikten sonra verilen konumlardaki satirlari tekrar gonderir. Ayni numaranin onceki
+    // satirlari ayni batch grubuna daha once girdigi icin bu satirlar onlardan sonra yazilir.
+    private String replayLastRows(FileChannel channel, int[] projection, long[] offsets,
+                                  CsvImportTracker.ImportProgress progress, String batchKey)
+            throws IOException, InterruptedException { // Son satirlari yeniden gonder
+        if (offsets.length > 0) { // Parcalar arasi tekrar eden numara varsa
+            log.info("{} dosyasinda {} numara birden fazla parcada geciyor, son satirlari yeniden gonderiliyor",
+                    progress.getFileName(), offsets.length); // Log mesaji
+        }
+        long size = channel.size(); // Dosya sonu
+        for (long offset : offsets) { // Her son satir
+            Utf8CsvRecordReader reader = new Utf8CsvRecordReader(
+                    new CsvFileChunker.FileRangeChannel(channel, offset, size), REPLAY_BUFFER_SIZE); // Tek kayit okuyucu
+            reader.resumeAt(offset); // Kayit baslangici
+            reader.setProjection(projection); // Ayni projeksiyon
+            String[] line = reader.readNext(); // Satiri tekrar oku
+            if (line == null) { // Konumda kayit yok; dosya okuma sirasinda degismis
+                return "Dosya okunurken degisti (" + offset + ". byte)"; // Hata mesaji
+            }
+            progress.acquireReplay(); // Okunan satir olarak sayilmaz
+            try { // Hata yakalama bloğu
+                sendCsvLineToChannel(line, progress, batchKey, 0); // Satiri tekrar gonder
+            } catch (Exception e) { // Hata yakalama
+                log.error("{}. byte'taki satir tekrar gonderilirken hata: {}", offset, e.getMessage()); // Hata log'u
+                return offset + ". byte'taki satir islenirken hata: " + e.getMessage(); // Hata mesaji
+            }
+            if (progress.hasErrors()) { // Asenkron asamalarda hata olustuysa dur
+                return "Satir islenirken hata: " + describe(progress.getFirstError()); // Hata mesaji
+            }
+        }
+        return null; // Hata yok
+    }
+
+    private int[] readHeader(CsvRecordReader reader, CsvProcessingResult result) throws IOException { // Header okuma
+        String[] header = reader.readNext(); // Header'ı oku
+        if (header == null) { // Header yoksa
+            result.setErrorMessage("Dosya bos"); // Hata mesaji
+            return null; // Gecersiz
+        }
+
+        int[] projection = resolveProjection(header); // Header -> sutun indeksleri
+        if (projection == null) { // Header gecersizse
+            result.setErrorMessage("Gecersiz header formati - Beklenen: name,surname,number"); // Hata mesaji
+            return null; // Gecersiz
+        }
+
+        reader.setProjection(projection); // Veri satirlarinda sadece gereken sutunlari oku
+        return projection; // Ayni dosyanin diger okuyuculari icin
+    }
+
+    private int[] headerProjection(File csvFile) throws IOException { // Dosyanin basindaki header'dan projeksiyon
+        try (Utf8CsvRecordReader headerReader = new Utf8CsvRecordReader(
+                FileChannel.open(csvFile.toPath(), StandardOpenOption.READ), HEADER_BUFFER_SIZE)) { // Sadece ilk kayit
+            return resolveProjection(headerReader.readNext()); // Header -> sutun indeksleri
+        }
+    }
+
+    private String streamRecords(CsvRecordReader reader, CsvImportTracker.ImportProgress progress, String batchKey,
+                                 String label, long lineNumber, CheckpointWriter checkpoint)
+            throws IOException, InterruptedException { // Satirlari akisa gonder
+        return streamRecords(reader, progress, batchKey, label, lineNumber, checkpoint, null); // Son satir takibi yok
+    }
+
+    private String streamRecords(CsvRecordReader reader, CsvImportTracker.ImportProgress progress, String batchKey,
+                                 String label, long lineNumber, CheckpointWriter checkpoint, CsvLastRowOffsets lastRows)
+            throws IOException, InterruptedException { // Satirlari akisa gonder
+        String[] line; // Satır değişkeni
+        long recordStart = positionOf(reader); // Paralel parcada siradaki satirin baslangic byte'i
+
+        while ((line = readNext(reader)) != null) { // Her satır okundugu anda akisa gonderilir
+            lineNumber++; // Satır numarasını artır
+            progress.acquire(); // Akistaki satir sayisi sinirdaysa bekle (back-pressure)
+            try { // Hata yakalama bloğu
+                sendCsvLineToChannel(line, progress, batchKey,
+                        checkpoint != null ? checkpoint.nextSeq() : 0); // Satiri integration channel'a gonder
+            } catch (Exception e) { // Hata yakalama
+                log.error("{}{} islenirken hata: {}", label, lineNumber, e.getMessage()); // Hata log'u
+                String error = label + lineNumber + " islenirken hata: " + e.getMessage(); // Hata mesaji
+                progress.abort(error); // Ayni dosyanin diger parcalarini da durdur
+                return error; // Hata mesajini dondur
+            }
+            if (checkpoint != null) { // Ilerleme kaydi aciksa
+                checkpoint.onSent(reader); // Satir konumunu isaretle
+            }
+            if (lastRows != null) { // Paralel parcada numaranin son satiri
+                lastRows.record(line, recordStart); // Numara -> satir baslangici
+                recordStart = positionOf(reader); // Sonraki satirin baslangici
+            }
+            if (progress.getAbortReason() != null) { // Baska bir parca hata aldiysa
+                return progress.getAbortReason(); // Ilk hatayi dondur
+            }
+            if (progress.hasErrors()) { // Asenkron asamalarda hata olustuysa okumayi durdur
+                String error = label + lineNumber + " civarinda hata: " + describe(progress.getFirstError()); // Hata mesaji
+                progress.abort(error); // Diger parcalari da durdur
+                return error; // Hata mesajini dondur
+            }
+        }
+        return null; // Hata yok
+    }
+
+    private long positionOf(CsvRecordReader reader) { // Okunan son kaydin bittigi byte
+        return reader instanceof Utf8CsvRecordReader bytesReader ? bytesReader.getPosition() : -1; // opencsv konum bilmez
     }
 
-    private boolean isValidHeader(String[] header) { // Header doğrulama metodu
-        if (header == null || header.length < 3) { // Header null veya kısa ise
-            return false; // Geçersiz
+    private String[] readNext(CsvRecordReader reader) throws IOException { // Sure olcumlu okuma
+        long start = System.nanoTime(); // Parse baslangici
+        String[] line = reader.readNext(); // Sonraki kayit
+        if (line != null) { // Kayit okunduysa
+            csvImportMetrics.recordParse(System.nanoTime() - start); // Parse suresi
         }
+        return line; // Kaydi dondur
+    }
 
-        boolean hasName = false, hasSurname = false, hasNumber = false; // Gerekli alanlar
+    private boolean useBulkLoad(File csvFile) { // Toplu yukleme modu kontrolu
+        if ("always".equalsIgnoreCase(bulkMode)) { // Her dosya COPY ile
+            return true; // Toplu yukle
+        }
+        return "auto".equalsIgnoreCase(bulkMode) // Boyut esigine gore
+                && csvFile.length() >= bulkMinFileSizeMb * 1024L * 1024L; // Dosya yeterince buyuk mu
+    }
 
-        for (String column : header) { // Her sütun için
-            String columnLower = column.toLowerCase().trim(); // Sütun adını küçük harfe çevir
+    private boolean useParallelChunks(File csvFile) { // Paralel parca modu kontrolu
+        return parallelEnabled && parallelChunks > 1 // Mod acik mi
+                && CsvCompression.of(csvFile.getName()) == CsvCompression.NONE // Sikistirilmis akis bolunemez
+                && "bytes".equalsIgnoreCase(parserType) // Byte araliklari sadece byte okuyucu ile okunabilir
+                && csvFile.length() >= parallelMinFileSizeMb * 1024L * 1024L; // Dosya yeterince buyuk mu
+    }
+
+    private CsvContentHash.DigestChannel openContent(File csvFile) throws IOException { // Ozet hesaplayan dosya kanali
+        return new CsvContentHash.DigestChannel(FileChannel.open(csvFile.toPath(), StandardOpenOption.READ)); // Ham byte'lar
+    }
+
+    private CsvRecordReader openReader(File csvFile, CsvContentHash.DigestChannel content) throws IOException { // Konfigurasyona gore okuyucu sec
+        try { // Okuyucu olusturulamazsa kanali kapat
+            CsvCompression compression = CsvCompression.of(csvFile.getName()); // Dosya turu
+            if (compression != null && compression.isCompressed()) { // Sikistirilmis dosya bellekte cozulur
+                InputStream input = compression.decompress(Channels.newInputStream(content)); // Cozulmus akis
+                if ("bytes".equalsIgnoreCase(parserType)) { // Byte seviyesinde UTF-8 ayristirici
+                    return new Utf8CsvRecordReader(Channels.newChannel(input)); // Cozulmus akistan oku
+                }
+                return new OpenCsvRecordReader(new InputStreamReader(input, StandardCharsets.UTF_8)); // opencsv okuyucu
+            }
 
-            if (columnLower.equals("name")) { // İsim alanı
-                hasName = true; // İsim var
-            } else if (columnLower.equals("surname")) { // Soyisim alanı
-                hasSurname = true; // Soyisim var
-            } else if (columnLower.equals("number")) { // Numara alanı
-                hasNumber = true; // Numara var
+            if ("bytes".equalsIgnoreCase(parserType)) { // Byte seviyesinde UTF-8 ayristirici
+                return new Utf8CsvRecordReader(content); // Dosya kanali uzerinden oku
             }
+            return new OpenCsvRecordReader(new InputStreamReader(Channels.newInputStream(content),
+                    StandardCharsets.UTF_8)); // Varsayilan opencsv okuyucu
+        } catch (IOException e) { // Sikistirma basligi bozuk vb.
+            content.close(); // Dosya kanalini kapat
+            throw e; // Hatayi ilet
         }
+    }
 
-        return hasName && hasSurname && hasNumber; // Tüm alanlar varsa geçerli
+    private String contentHashOf(File csvFile) { // Ayri okumayla icerik ozeti
+        try { // Hata yakalama bloğu
+            return CsvContentHash.of(csvFile.toPath()); // SHA-256
+        } catch (IOException e) { // Okuma hatasi
+            log.warn("{} dosyasinin icerik ozeti hesaplanamadi: {}", csvFile.getName(), e.getMessage()); // Uyari log'u
+            return null; // Ozetsiz kaydedilir
+        }
     }
 
-    private void sendCsvLinesToChannel(List<String[]> csvLines) { // CSV satirlarini channel'a gonderme metodu
-        try { // Hata yakalama blogu
-            log.info("{} CSV satiri integration channel'a gonderiliyor...", csvLines.size()); // Log mesaji
+    // Header bir kez cozulur: name, surname ve number sutunlarinin dosyadaki indeksleri bu sirayla
+    // dondurulur, boylece sutun sirasi ne olursa olsun transformer [name, surname, number] alir ve
+    // genis dosyalarda diger sutunlar icin String olusturulmaz. Eksik sutun varsa null (gecersiz header).
+    private int[] resolveProjection(String[] header) { // Header -> sutun indeksleri
+        if (header == null || header.length < STUDENT_COLUMNS.length) { // Header null veya kısa ise
+            return null; // Geçersiz
+        }
 
-            // Her CSV satirini ayri ayri channel'a gonder
-            for (String[] csvLine : csvLines) {
-                log.info("CSV satiri channel'a gonderiliyor: {}", String.join(",", csvLine));
+        int[] projection = new int[STUDENT_COLUMNS.length]; // Gerekli alanlarin indeksleri
+        Arrays.fill(projection, -1); // Henuz bulunmadi
+        for (int i = 0; i < header.length; i++) { // Her sütun için
+            String column = header[i] != null ? header[i].replace("\uFEFF", "").trim() : ""; // BOM'suz sutun adi
+            for (int j = 0; j < STUDENT_COLUMNS.length; j++) { // Gerekli alanlarla karsilastir
+                if (projection[j] < 0 && column.equalsIgnoreCase(STUDENT_COLUMNS[j])) { // Ayni ad tekrar ederse ilki
+                    projection[j] = i; // Sutun indeksi
+                }
+            }
+        }
 
-                // Her CSV satirini ayri message olarak gonder
-                csvLineChannel.send(MessageBuilder.withPayload(csvLine).build());
+        for (int index : projection) { // Tüm alanlar bulundu mu
+            if (index < 0) { // Eksik alan
+                return null; // Geçersiz
+            }
+        }
+        return projection; // Geçerli
+    }
 
-                log.info("CSV satiri basariyla channel'a gonderildi");
+    private void sendCsvLineToChannel(String[] csvLine, CsvImportTracker.ImportProgress progress, String batchKey,
+                                      long rowSeq) { // Tek satiri channel'a gonderme metodu
+        log.debug("CSV satiri channel'a gonderiliyor: {}", String.join(",", csvLine)); // Log mesaji
+
+        MessageBuilder<String[]> message = MessageBuilder.withPayload(csvLine)
+                .setHeader(CsvImportTracker.IMPORT_ID_HEADER, progress.getImportId()) // Dosya takip anahtari
+                .setHeader(CsvImportTracker.BATCH_KEY_HEADER, batchKey); // Batch gruplama anahtari
+        if (rowSeq > 0) { // Ilerleme kaydi icin satir sira numarasi
+            message.setHeader(CsvImportTracker.ROW_SEQ_HEADER, rowSeq); // Satir sira numarasi
+        }
+        csvLineChannel.send(message.build()); // Satiri ayri message olarak gonder
+    }
+
+    private String describe(Throwable error) { // Hata aciklamasi
+        return error != null ? error.getMessage() : "gecersiz satir"; // Hata yoksa satir reddedilmistir
+    }
+
+    // Sirali okumada ilerleme kaydini gunceller. Her satir sira numarasiyla gonderilir; kanallar asenkron
+    // olsa da takipci 1..P arasindaki tum satirlarin yazildigi P'yi bilir. Her interval satirda bir
+    // (satir, byte konumu) isareti alinir; P'nin gectigi en son isaret veritabanina yazilir.
+    // Kayitta commit edilmis batch (parca) sayisi da tutulur; dosya yarida kalirsa son sinir yazilir.
+    private class CheckpointWriter {
+        private final CsvImportTracker.ImportProgress progress; // Dosya takibi
+        private final long baseRows; // Onceki calismalardan kaydedilmis satirlar
+        private final int baseChunks; // Onceki calismalarda commit edilmis parcalar
+        private final ArrayDeque<long[]> marks = new ArrayDeque<>(); // Henuz kaydedilmemis isaretler
+        private FileCheckpoint checkpoint; // Guncel ilerleme kaydi
+        private long sentRows; // Bu calismada gonderilen satirlar
+        private long lastSentOffset = -1; // Son gonderilen satirin bittigi byte
+
+        CheckpointWriter(FileCheckpoint checkpoint, CsvImportTracker.ImportProgress progress) {
+            this.checkpoint = checkpoint;
+            this.progress = progress;
+            this.baseRows = checkpoint.getRowsCommitted();
+            this.baseChunks = checkpoint.getChunksCommitted() != null ? checkpoint.getChunksCommitted() : 0;
+        }
+
+        long nextSeq() { // Gonderilecek satirin sira numarasi
+            return sentRows + 1; // Sira numarasi
+        }
+
+        void onSent(CsvRecordReader reader) { // Satir gonderildi
+            sentRows++; // Gonderilen satir sayisi
+            lastSentOffset = reader instanceof Utf8CsvRecordReader bytesReader && bytesReader.isSeekable()
+                    ? bytesReader.getPosition() : -1; // Satir sonu konumu (sadece konumlanabilen dosyada)
+            if (sentRows % Math.max(1, checkpointIntervalRows) != 0) { // Isaret zamani degil
+                return; // Devam
             }
+            marks.add(new long[]{sentRows, lastSentOffset}); // Isareti kuyruga ekle
+            flush(); // Yazilmis isaretleri kaydet
+        }
+
+        void flush() { // Oncesi tamamen yazilmis en son isareti kaydet
+            long[] committed = null; // Kaydedilmis en son isaret
+            long persisted = progress.getContiguousPersisted(); // Ardisik yazilmis satirlar
+            while (!marks.isEmpty() && marks.peek()[0] <= persisted) { // Isaretten onceki satirlar yazildiysa
+                committed = marks.poll(); // Isareti ilerlet
+            }
+            if (committed != null) { // Yeni kaydedilmis isaret varsa
+                checkpoint.setChunksCommitted(baseChunks + progress.getChunks()); // Commit edilen parcalar
+                checkpoint = csvCheckpointManager.commit(checkpoint, baseRows + committed[0],
+                        committed[1] >= 0 ? committed[1] : null); // Ilerlemeyi veritabanina yaz
+            }
+        }
 
-            log.info("Tum CSV satirlari basariyla integration channel'a gonderildi"); // Basari log'u
+        long sentOffset(long startOffset) { // Son gonderilen satirin sonu; satir yoksa baslangic
+            return sentRows > 0 && lastSentOffset >= 0 ? lastSentOffset : startOffset; // Byte konumu
+        }
 
-        } catch (Exception e) { // Hata yakalama
-            log.error("CSV satirlari channel'a gonderilirken hata: {}", e.getMessage()); // Hata log'u
-            throw new RuntimeException("CSV satirlari channel'a gonderilemedi: " + e.getMessage(), e); // Hata firlat
+        void commitSent(long startOffset) { // Gonderilen tum satirlar sonuclandi
+            long offset = sentOffset(startOffset); // Kaydedilecek konum
+            checkpoint.setChunksCommitted(baseChunks + progress.getChunks()); // Commit edilen parcalar
+            checkpoint = csvCheckpointManager.commit(checkpoint, baseRows + sentRows,
+                    offset >= 0 ? offset : null); // Ilerlemeyi veritabanina yaz
         }
     }
 
@@ -137,6 +820,12 @@ public class CsvFileProcessor { // CSV dosya işleyici sınıfı
         private String message; // Mesaj
         private String errorMessage; // Hata mesajı
         private int studentCount; // Öğrenci sayısı
+        private int rowCount; // Okunan satır sayısı
+        private int rejectedCount; // Kaydedilemeyen satır sayısı
+        private int unchangedCount; // Ad/soyadi ayni oldugu icin yazilmayan ogrenci sayisi
+        private long bytesRead; // Okunan byte
+        private long durationMs; // İşleme süresi
+        private String contentHash; // Dosya iceriginin SHA-256 ozeti
 
         public boolean isSuccess() {
             return success;
@@ -169,5 +858,53 @@ public class CsvFileProcessor { // CSV dosya işleyici sınıfı
         public void setStudentCount(int studentCount) {
             this.studentCount = studentCount;
         } // Öğrenci sayısı setter
+
+        public int getRowCount() {
+            return rowCount;
+        } // Satır sayısı getter
+
+        public void setRowCount(int rowCount) {
+            this.rowCount = rowCount;
+        } // Satır sayısı setter
+
+        public int getRejectedCount() {
+            return rejectedCount;
+        } // Kaydedilemeyen satır sayısı getter
+
+        public void setRejectedCount(int rejectedCount) {
+            this.rejectedCount = rejectedCount;
+        } // Kaydedilemeyen satır sayısı setter
+
+        public int getUnchangedCount() {
+            return unchangedCount;
+        } // Degismeyen ogrenci sayisi getter
+
+        public void setUnchangedCount(int unchangedCount) {
+            this.unchangedCount = unchangedCount;
+        } // Degismeyen ogrenci sayisi setter
+
+        public long getBytesRead() {
+            return bytesRead;
+        } // Okunan byte getter
+
+        public void setBytesRead(long bytesRead) {
+            this.bytesRead = bytesRead;
+        } // Okunan byte setter
+
+        public long getDurationMs() {
+            return durationMs;
+        } // İşleme süresi getter
+
+        public void setDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+        } // İşleme süresi setter
+
+        public String getContentHash() {
+            return contentHash;
+        } // İçerik özeti getter
+
+        public void setContentHash(String contentHash) {
+            this.contentHash = contentHash;
+        } // İçerik özeti setter
     }
 } 
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.example.backend.service.concretes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// CSV import hattinin asama bazinda metrikleri (/actuator/metrics altinda).
+// csv.import.rows{stage}: asamadan gecen satir sayisi (rate ile satir/sn),
+// csv.import.stage.latency{stage}: parse/transform satir basina, persist batch basina sure,
+// csv.import.in-flight / csv.import.batch.pending / csv.import.active-files: akistaki satir,
+// batch'te bekleyen ogrenci ve islenen dosya sayisi,
+// csv.import.throttle.*: veritabani baskisina gore uyarlanan batch boyutu ve yazici limiti.
+@Component
+public class CsvImportMetrics {
+
+    private static final String ROWS = "csv.import.rows";
+    private static final String STAGE_LATENCY = "csv.import.stage.latency";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter parsedRows;
+    private final Counter transformedRows;
+    private final Counter rejectedRows;
+    private final Counter persistedRows;
+    private final Counter failedRows;
+    private final Counter unchangedRows;
+    private final Counter bytesRead;
+    private final Timer parseLatency;
+    private final Timer transformLatency;
+    private final Timer persistLatency;
+    private final DistributionSummary batchSize;
+    private final Counter committedChunks;
+    private final Counter retriedChunks;
+    private final Counter failedChunks;
+
+    public CsvImportMetrics(MeterRegistry meterRegistry, CsvImportTracker csvImportTracker) {
+        this.meterRegistry = meterRegistry;
+        this.parsedRows = rows("parse");
+        this.transformedRows = rows("transform");
+        this.rejectedRows = rows("reject");
+        this.persistedRows = rows("persist");
+        this.failedRows = rows("fail");
+        this.unchangedRows = rows("unchanged");
+        this.bytesRead = Counter.builder("csv.import.bytes")
+                .description("CSV dosyalarindan okunan byte")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.parseLatency = latency("parse");
+        this.transformLatency = latency("transform");
+        this.persistLatency = latency("persist");
+        this.batchSize = DistributionSummary.builder("csv.import.batch.size")
+                .description("Tek upsert ile yazilan ogrenci sayisi")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.committedChunks = chunks("committed");
+        this.retriedChunks = chunks("retried");
+        this.failedChunks = chunks("failed");
+
+        Gauge.builder("csv.import.in-flight", csvImportTracker, CsvImportTracker::getInFlightRows)
+                .description("Gonderilmis ama henuz sonuclanmamis satirlar")
+                .register(meterRegistry);
+        Gauge.builder("csv.import.active-files", csvImportTracker, CsvImportTracker::getActiveImports)
+                .description("Su an islenen CSV dosyalari")
+                .register(meterRegistry);
+    }
+
+    public void monitorBatchStore(MessageGroupStore batchStore) {
+        Gauge.builder("csv.import.batch.pending", batchStore, MessageGroupStore::getMessageCountForAllMessageGroups)
+                .description("Aggregator'da yazilmayi bekleyen ogrenciler")
+                .register(meterRegistry);
+    }
+
+    // csv.import.throttle.*: uyarlanan batch boyutu, yazici limiti/aktif yazici ve yavaslatma durumu
+    public void monitorThrottle(CsvIngestionThrottle throttle) {
+        Gauge.builder("csv.import.throttle.batch-size", throttle, CsvIngestionThrottle::getBatchSize)
+                .description("Su anki batch boyutu (ust sinir csv.batch.size)")
+                .register(meterRegistry);
+        Gauge.builder("csv.import.throttle.writers.limit", throttle, CsvIngestionThrottle::getWriterLimit)
+                .description("Ayni anda batch yazabilecek thread sayisi")
+                .register(meterRegistry);
+        Gauge.builder("csv.import.throttle.writers.active", throttle, CsvIngestionThrottle::getActiveWriters)
+                .description("Su an batch yazan thread sayisi")
+                .register(meterRegistry);
+        Gauge.builder("csv.import.throttle.throttled", throttle, t -> t.isThrottled() ? 1 : 0)
+                .description("Import veritabani baskisi nedeniyle yavaslatildiysa 1")
+                .register(meterRegistry);
+    }
+
+    public void recordParse(long nanos) {
+        parsedRows.increment();
+        parseLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTransform(long nanos, boolean accepted) {
+        if (accepted) {
+            transformedRows.increment();
+        } else {
+            rejectedRows.increment();
+        }
+        transformLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPersist(long nanos, int count) {
+        persistedRows.increment(count);
+        persistLatency.record(nanos, TimeUnit.NANOSECONDS);
+        batchSize.record(count);
+    }
+
+    // Yazilan satirlarin ad/soyadi kayitli olanla ayni oldugu icin UPDATE'i atlananlar
+    public void recordUnchanged(int count) {
+        unchangedRows.increment(count);
+    }
+
+    public void recordFailed(int count) {
+        failedRows.increment(count);
+    }
+
+    public void recordChunkCommitted() {
+        committedChunks.increment();
+    }
+
+    public void recordChunkRetried() {
+        retriedChunks.increment();
+    }
+
+    public void recordChunkFailed() {
+        failedChunks.increment();
+    }
+
+    public void recordThrottleAdjustment(String direction) {
+        Counter.builder("csv.import.throttle.adjustments")
+                .description("Yavaslatma (down) ve hizlandirma (up) ayarlari")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordFile(boolean success, long durationMs, long bytes) {
+        bytesRead.increment(bytes);
+        Timer.builder("csv.import.file.duration")
+                .description("Dosya basina toplam isleme suresi")
+                .tag("status", success ? "done" : "fail")
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    private Counter rows(String stage) {
+        return Counter.builder(ROWS)
+                .description("Asamadan gecen CSV satirlari")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private Counter chunks(String result) {
+        return Counter.builder("csv.import.chunks")
+                .description("Kendi transaction'inda yazilan ogrenci parcalari")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Timer latency(String stage) {
+        return Timer.builder(STAGE_LATENCY)
+                .description("CSV import asama suresi")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.backend.service.concretes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Dosya bazinda akista olan (gonderilmis ama henuz sonuclanmamis) satirlari takip eder.
+// Her satir mesaji IMPORT_ID_HEADER ile isaretlenir; satiri sonuclandiran asama
+// (transformer veya kayit asamasi) sayaclari gunceller ve pencereden yer acar.
+@Component
+@Slf4j
+public class CsvImportTracker {
+
+    public static final String IMPORT_ID_HEADER = "csvImportId";
+
+    // Batch gruplama anahtari; paralel okunan parcalar ayri gruplarda birikir
+    public static final String BATCH_KEY_HEADER = "csvBatchKey";
+
+    // Sirali okumada satirin dosyadaki sira numarasi (1'den baslar); batch'te hepsi ROW_SEQS_HEADER'da toplanir
+    public static final String ROW_SEQ_HEADER = "csvRowSeq";
+    public static final String ROW_SEQS_HEADER = "csvRowSeqs";
+
+    private final Map<String, ImportProgress> imports = new ConcurrentHashMap<>();
+
+    @Value("${csv.processing.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${csv.batch.size:500}")
+    private int batchSize;
+
+    public ImportProgress start(String fileName) {
+        return start(fileName, 1);
+    }
+
+    // streams: dosyayi ayni anda okuyan okuyucu sayisi. Her okuyucunun yarim batch'i pencerede
+    // yer tuttugu icin pencere en az iki batch/okuyucu olmali, yoksa okuyucular flush suresini bekler.
+    public ImportProgress start(String fileName, int streams) {
+        int window = Math.max(Math.max(1, maxInFlight), 2 * Math.max(1, streams) * Math.max(1, batchSize));
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(), fileName, window);
+        imports.put(progress.getImportId(), progress);
+        return progress;
+    }
+
+    public void finish(ImportProgress progress) {
+        imports.remove(progress.getImportId());
+    }
+
+    public void onPersisted(String importId, int count) {
+        onPersisted(importId, count, null);
+    }
+
+    public void onPersisted(String importId, int count, long[] rowSeqs) {
+        onPersisted(importId, count, rowSeqs, 0);
+    }
+
+    // unchanged: count'un icinden ad/soyadi ayni oldugu icin veritabaninda degismeyen satirlar
+    public void onPersisted(String importId, int count, long[] rowSeqs, int unchanged) {
+        ImportProgress progress = find(importId);
+        if (progress != null) {
+            if (rowSeqs != null) {
+                progress.markPersisted(rowSeqs);
+            }
+            progress.unchanged.addAndGet(unchanged);
+            progress.chunks.incrementAndGet();
+            progress.settle(count, 0, 0, null);
+        }
+    }
+
+    public void onRejected(String importId, int count) {
+        ImportProgress progress = find(importId);
+        if (progress != null) {
+            progress.settle(0, count, 0, null);
+        }
+    }
+
+    public void onFailed(String importId, int count, Throwable cause) {
+        ImportProgress progress = find(importId);
+        if (progress != null) {
+            progress.settle(0, 0, count, cause);
+        }
+    }
+
+    public int getActiveImports() {
+        return imports.size();
+    }
+
+    public int getInFlightRows() {
+        int total = 0;
+        for (ImportProgress progress : imports.values()) {
+            total += progress.getInFlight();
+        }
+        return total;
+    }
+
+    private ImportProgress find(String importId) {
+        return importId != null ? imports.get(importId) : null;
+    }
+
+    public static class ImportProgress {
+        // Yazilan satirlar bu boyutta bloklar halinde sayilir; dolan bloklar bastan itibaren ardisik yazilmis demektir
+        private static final int SEQ_BLOCK = 1024;
+
+        private final String importId;
+        private final String fileName;
+        private final int window;
+        private final Semaphore inFlight;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger persisted = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private final AtomicInteger chunks = new AtomicInteger();
+        private final AtomicInteger replayed = new AtomicInteger();
+        private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+        private final AtomicReference<String> abortReason = new AtomicReference<>();
+        private final Map<Long, AtomicInteger> persistedBlocks = new ConcurrentHashMap<>();
+        private long contiguousBlocks;
+
+        ImportProgress(String importId, String fileName, int window) {
+            this.importId = importId;
+            this.fileName = fileName;
+            this.window = window;
+            this.inFlight = new Semaphore(window);
+        }
+
+        // Pencere doluysa downstream bir satiri sonuclandirana kadar bekler
+        public void acquire() throws InterruptedException {
+            inFlight.acquire();
+            sent.incrementAndGet();
+        }
+
+        // Daha once okunmus bir satirin yeniden gonderimi; okunan satir olarak sayilmaz
+        public void acquireReplay() throws InterruptedException {
+            inFlight.acquire();
+            replayed.incrementAndGet();
+        }
+
+        // Gonderilen tum satirlar sonuclanana kadar bekler
+        public boolean awaitSettled(long timeoutSeconds) throws InterruptedException {
+            if (!inFlight.tryAcquire(window, timeoutSeconds, TimeUnit.SECONDS)) {
+                return false;
+            }
+            inFlight.release(window);
+            return true;
+        }
+
+        void settle(int persistedCount, int rejectedCount, int failedCount, Throwable cause) {
+            persisted.addAndGet(persistedCount);
+            rejected.addAndGet(rejectedCount);
+            failed.addAndGet(failedCount);
+            if (cause != null) {
+                firstError.compareAndSet(null, cause);
+            }
+            inFlight.release(persistedCount + rejectedCount + failedCount);
+        }
+
+        void markPersisted(long[] rowSeqs) {
+            for (long rowSeq : rowSeqs) {
+                persistedBlocks.computeIfAbsent((rowSeq - 1) / SEQ_BLOCK, block -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        // 1..N arasindaki tum satirlarin yazildigi en buyuk N (blok hassasiyetinde)
+        public synchronized long getContiguousPersisted() {
+            long block = contiguousBlocks;
+            AtomicInteger count;
+            while ((count = persistedBlocks.get(block)) != null && count.get() == SEQ_BLOCK) {
+                persistedBlocks.remove(block);
+                block++;
+            }
+            contiguousBlocks = block;
+            return block * SEQ_BLOCK;
+        }
+
+        // Ayni dosyayi okuyan diger okuyuculara durmalarini bildirir
+        public void abort(String reason) {
+            abortReason.compareAndSet(null, reason);
+        }
+
+        public String getAbortReason() {
+            return abortReason.get();
+        }
+
+        public boolean hasErrors() {
+            return rejected.get() > 0 || failed.get() > 0;
+        }
+
+        public String getImportId() {
+            return importId;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public int getInFlight() {
+            return window - inFlight.availablePermits();
+        }
+
+        public int getSent() {
+            return sent.get();
+        }
+
+        public int getPersisted() {
+            return persisted.get();
+        }
+
+        // getPersisted'in icinden yeniden gonderilen satirlar
+        public int getReplayed() {
+            return replayed.get();
+        }
+
+        // getPersisted'in icinden veritabaninda degismeyen satirlar
+        public int getUnchanged() {
+            return unchanged.get();
+        }
+
+        public int getRejected() {
+            return rejected.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        // Commit edilmis ogrenci parcalari (batch'ler)
+        public int getChunks() {
+            return chunks.get();
+        }
+
+        public Throwable getFirstError() {
+            return firstError.get();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.backend.service.concretes;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Import yazmalarinin PostgreSQL baglanti havuzunu doldurup API isteklerini bekletmesini onler.
+// Ayni anda batch yazan thread sayisi (yazici limiti) ve batch boyutu her aralikta yeniden ayarlanir:
+// havuzda baglanti bekleyen varsa yazici limiti yariya iner, batch yazma suresi hedefi asarsa batch
+// kuculur; ikisi de sakinse yavasca geri buyurler. Yazici limiti hicbir zaman havuzun
+// reserved-pool-share kadarlik payina (veya o an API'nin kullandigi kisma) dokunmaz.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CsvIngestionThrottle {
+
+    private final DataSource dataSource;
+    private final CsvImportMetrics csvImportMetrics;
+
+    @Value("${csv.throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${csv.batch.size:500}")
+    private int maxBatchSize;
+
+    @Value("${csv.throttle.min-batch-size:50}")
+    private int minBatchSize;
+
+    @Value("${csv.throttle.reserved-pool-share:0.3}")
+    private double reservedPoolShare;
+
+    @Value("${csv.throttle.target-write-latency-ms:500}")
+    private long targetWriteLatencyMs;
+
+    // Havuz bilgisi yokken yazici limiti
+    @Value("${csv.processing.parallelism:4}")
+    private int parallelism;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writerFreed = lock.newCondition();
+    private int writerLimit;
+    private int maxWriters;
+    private int activeWriters;
+    private volatile int batchSize;
+
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    private HikariPoolMXBean pool;
+    private int poolSize;
+
+    @PostConstruct
+    public void init() {
+        maxBatchSize = Math.max(1, maxBatchSize);
+        minBatchSize = Math.max(1, Math.min(minBatchSize, maxBatchSize));
+        batchSize = maxBatchSize;
+        writerLimit = Math.max(1, parallelism);
+        maxWriters = writerLimit;
+        csvImportMetrics.monitorThrottle(this);
+    }
+
+    // Yazici limiti doluysa bir batch yazmasi bitene kadar bekler
+    public void acquire() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        lock.lockInterruptibly();
+        try {
+            while (activeWriters >= writerLimit) {
+                writerFreed.await();
+            }
+            activeWriters++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Batch yazmasi bitti (basarili ya da degil); sure bir sonraki ayarda kullanilir
+    public void release(long writeNanos) {
+        if (!enabled) {
+            return;
+        }
+        this.writeNanos.add(writeNanos);
+        writes.increment();
+        release();
+    }
+
+    // Batch disi uzun islem (COPY birlestirmesi, numara indeksi taramasi) bitti. Yazici limitinden yer tutar
+    // ama suresi batch yazma suresi hedefine katilmaz; dakikalar suren tek bir COPY batch'leri kucultmemeli
+    public void release() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            activeWriters--;
+            writerFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Aggregator bu kadar ogrenci biriktiginde batch'i yazar
+    public int getBatchSize() {
+        return enabled ? batchSize : maxBatchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${csv.throttle.interval-ms:1000}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        long count = writes.sumThenReset();
+        long nanos = writeNanos.sumThenReset();
+        long latencyMs = count > 0 ? TimeUnit.NANOSECONDS.toMillis(nanos / count) : 0;
+        boolean slow = latencyMs > targetWriteLatencyMs;
+        boolean calm = latencyMs <= targetWriteLatencyMs / 2;
+
+        HikariPoolMXBean pool = pool();
+        int waiting = 0;
+        int max = Math.max(1, parallelism);
+        int cap = max;
+
+        lock.lock();
+        try {
+            if (pool != null) {
+                waiting = pool.getThreadsAwaitingConnection();
+                max = Math.max(1, poolSize - (int) Math.ceil(poolSize * reservedPoolShare));
+                // Aktif baglantilarin import disinda kalani yaklasik olarak API trafigidir
+                int others = Math.max(0, pool.getActiveConnections() - activeWriters);
+                cap = Math.max(1, Math.min(max, poolSize - others));
+            }
+
+            int limit = writerLimit;
+            int batch = batchSize;
+            if (waiting > 0) {
+                limit = Math.max(1, limit / 2);
+            } else if (calm) {
+                limit++;
+            }
+            limit = Math.min(limit, cap);
+            if (slow) {
+                batch = Math.max(minBatchSize, batch / 2);
+            } else if (calm && waiting == 0) {
+                batch = Math.min(maxBatchSize, batch + Math.max(1, maxBatchSize / 10));
+            }
+
+            if (limit < writerLimit || batch < batchSize) {
+                log.info("CSV import yavaslatildi: yazici {} -> {}, batch {} -> {} (baglanti bekleyen: {}, batch yazma suresi: {} ms)",
+                        writerLimit, limit, batchSize, batch, waiting, latencyMs);
+                csvImportMetrics.recordThrottleAdjustment("down");
+            } else if (limit > writerLimit || batch > batchSize) {
+                log.debug("CSV import hizlandiriliyor: yazici {} -> {}, batch {} -> {}", writerLimit, limit, batchSize, batch);
+                csvImportMetrics.recordThrottleAdjustment("up");
+            }
+            if (limit > writerLimit) {
+                writerFreed.signalAll();
+            }
+            writerLimit = limit;
+            maxWriters = max;
+            batchSize = batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWriterLimit() {
+        lock.lock();
+        try {
+            return writerLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveWriters() {
+        lock.lock();
+        try {
+            return activeWriters;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Batch boyutu veya yazici limiti ust sinirinin (havuzun import'a ayrilan kismi) altindaysa true
+    public boolean isThrottled() {
+        lock.lock();
+        try {
+            return enabled && (batchSize < maxBatchSize || writerLimit < maxWriters);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Havuz ilk baglantida olusur; o zamana kadar (veya Hikari degilse) null
+    private HikariPoolMXBean pool() {
+        if (pool == null) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                    pool = hikari.getHikariPoolMXBean();
+                    poolSize = hikari.getMaximumPoolSize();
+                }
+            } catch (SQLException e) {
+                log.debug("Baglanti havuzu bilgisi alinamadi: {}", e.getMessage());
+            }
+        }
+        return pool;
+    }
+}
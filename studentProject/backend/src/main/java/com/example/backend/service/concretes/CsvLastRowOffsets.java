@@ -0,0 +1,162 @@
+package com.example.backend.service.concretes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Paralel parca okumada bir parcanin numara -> o numaranin parcadaki son gecerli satirinin baslangic
+// byte'i eslemesi. Parcalar ayni batch gruplarina paralel yazildigi icin farkli parcalardaki ayni
+// numaranin satirlari dosya sirasiyla yazilmayabilir. Tum parcalar gonderildikten sonra parcalar
+// birlestirilir; birden fazla parcada gecen numaralarin dosyadaki son satiri yeniden gonderilir ve
+// sirali okumadaki "son satir kazanir" davranisi korunur.
+// Sayisal numaralar (StudentNumberIndex ile ayni anahtar) long dizilerde, digerleri HashMap'te durur.
+final class CsvLastRowOffsets {
+
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private long[] offsets;
+    private int mask;
+    private int numericSize;
+    private final Map<String, Long> others = new HashMap<>();
+
+    CsvLastRowOffsets() {
+        this(1024);
+    }
+
+    CsvLastRowOffsets(int capacity) {
+        keys = new long[capacity];
+        offsets = new long[capacity];
+        Arrays.fill(offsets, EMPTY);
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return numericSize + others.size();
+    }
+
+    // Transformer'in reddedecegi satirlar (bos ad, soyad veya numara) yazilmaz; son satir sayilmaz
+    void record(String[] line, long offset) {
+        if (line.length < 3 || isBlank(line[0]) || isBlank(line[1]) || isBlank(line[2])) {
+            return;
+        }
+        put(line[2].trim(), offset);
+    }
+
+    // Parca icinde satirlar artan konumla geldigi icin son yazilan en son satirdir
+    void put(String number, long offset) {
+        long key = StudentNumberIndex.numericKey(number);
+        if (key < 0) {
+            others.put(number, offset);
+            return;
+        }
+        int slot = find(key);
+        if (offsets[slot] == EMPTY) {
+            if ((numericSize + 1) * 4L > keys.length * 3L) {
+                resize();
+                slot = find(key);
+            }
+            numericSize++;
+            keys[slot] = key;
+        }
+        offsets[slot] = offset;
+    }
+
+    long get(String number) {
+        long key = StudentNumberIndex.numericKey(number);
+        if (key < 0) {
+            return others.getOrDefault(number, EMPTY);
+        }
+        return offsets[find(key)];
+    }
+
+    // Bu (onceki) parcanin numaralarini sonraki parcalarin eslemesine ekler. Numara sonraki bir parcada
+    // zaten varsa oradaki konum dosyadaki son satirdir ve yeniden gonderilecekler listesine eklenir.
+    // Donen dizi artan sirali ve tekrarsizdir; bu nesne birlestirmeden sonra kullanilmaz.
+    long[] mergeInto(CsvLastRowOffsets later, long[] replay) {
+        long[] result = replay;
+        int count = replay.length;
+        for (int i = 0; i < keys.length; i++) {
+            if (offsets[i] == EMPTY) {
+                continue;
+            }
+            long existing = later.putNumericIfAbsent(keys[i], offsets[i]);
+            if (existing != EMPTY) {
+                result = append(result, count++, existing);
+            }
+        }
+        for (Map.Entry<String, Long> entry : others.entrySet()) {
+            Long existing = later.others.putIfAbsent(entry.getKey(), entry.getValue());
+            if (existing != null) {
+                result = append(result, count++, existing);
+            }
+        }
+        keys = null;
+        offsets = null;
+        others.clear();
+
+        long[] sorted = Arrays.copyOf(result, count);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (unique == 0 || sorted[unique - 1] != sorted[i]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    private long putNumericIfAbsent(long key, long offset) {
+        int slot = find(key);
+        if (offsets[slot] != EMPTY) {
+            return offsets[slot];
+        }
+        if ((numericSize + 1) * 4L > keys.length * 3L) {
+            resize();
+            slot = find(key);
+        }
+        numericSize++;
+        keys[slot] = key;
+        offsets[slot] = offset;
+        return EMPTY;
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        while (offsets[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldOffsets = offsets;
+        keys = new long[oldKeys.length * 2];
+        offsets = new long[oldOffsets.length * 2];
+        Arrays.fill(offsets, EMPTY);
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOffsets[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                offsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static long[] append(long[] array, int count, long value) {
+        long[] target = count < array.length ? array : Arrays.copyOf(array, Math.max(16, count * 2));
+        target[count] = value;
+        return target;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -1,18 +1,38 @@
 package com.example.backend.service.concretes;
 
 import com.example.backend.entities.Student;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.integration.annotation.Transformer;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class CsvLineToStudentTransformer {
 
-    @Transformer(inputChannel = "csvLineChannel", outputChannel = "studentChannel")
-    public Student transformCsvLineToStudent(String[] csvLine) {
+    private final CsvImportTracker csvImportTracker;
+    private final CsvImportMetrics csvImportMetrics;
+
+    // @Transformer null donduremez (ReplyRequiredException); reddedilen satirin akistan sessizce
+    // cikabilmesi icin cevap zorunlu olmayan service activator kullanilir
+    @ServiceActivator(inputChannel = "csvLineChannel", outputChannel = "studentChannel", requiresReply = "false")
+    public Student transformCsvLineToStudent(String[] csvLine,
+                                             @Header(name = CsvImportTracker.IMPORT_ID_HEADER, required = false) String importId) {
+        long start = System.nanoTime();
+        Student student = toStudent(csvLine);
+        csvImportMetrics.recordTransform(System.nanoTime() - start, student != null);
+        if (student == null) {
+            // Reddedilen satir akistan cikar, pencereden yerini birak
+            csvImportTracker.onRejected(importId, 1);
+        }
+        return student;
+    }
+
+    private Student toStudent(String[] csvLine) {
         if (csvLine == null || csvLine.length < 3) {
             log.debug("CSV satiri gecersiz: {}", Arrays.toString(csvLine));
             return null;
@@ -21,7 +41,7 @@ public class CsvLineToStudentTransformer {
         try {
             Student student = new Student();
 
-            // İlk 3 sütunu al (name, surname, number)
+            // Okuyucu header'a gore projekte eder: sutun sirasi her zaman name, surname, number
             String name = csvLine[0] != null ? csvLine[0].trim() : null;
             String surname = csvLine[1] != null ? csvLine[1].trim() : null;
             String number = csvLine[2] != null ? csvLine[2].trim() : null;
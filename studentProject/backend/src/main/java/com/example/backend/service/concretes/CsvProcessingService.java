@@ -2,18 +2,26 @@ package com.example.backend.service.concretes;
 
 import com.example.backend.dataAccess.FileRepository;
 import com.example.backend.entities.File;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 @Service
 @RequiredArgsConstructor
@@ -22,12 +30,44 @@ public class CsvProcessingService {
 
     private final FileRepository fileRepository;
     private final CsvFileProcessor csvFileProcessor;
+    private final CsvCheckpointManager csvCheckpointManager;
+    private final CsvFileLeaseManager csvFileLeaseManager;
 
     @Value("${csv.watch.directory:./csv-files}")
     private String csvWatchDirectory;
 
+    @Value("${csv.processing.parallelism:4}")
+    private int parallelism;
+
+    @Value("${csv.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    @Value("${csv.tail.pattern:}")
+    private String tailPattern;
+
     private final ExecutorService csvProcessingExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
+    private final Set<String> filesInProgress = ConcurrentHashMap.newKeySet();
+
+    // Islenirken tekrar tetiklenen tail dosyalari; is bitince bir kez daha okunur
+    private final Set<String> tailReruns = ConcurrentHashMap.newKeySet();
+
+    private PathMatcher tailMatcher;
+
+    private Semaphore fileSlots;
+
+    // .csv, .csv.gz ve .csv.zst (buyuk/kucuk harf duyarsiz)
+    private static final String CSV_GLOB = "*.{[cC][sS][vV],[cC][sS][vV].[gG][zZ],[cC][sS][vV].[zZ][sS][tT]}";
+
+    @PostConstruct
+    public void init() {
+        fileSlots = new Semaphore(Math.max(1, parallelism));
+        if (tailPattern != null && !tailPattern.isBlank()) {
+            tailMatcher = FileSystems.getDefault().getPathMatcher("glob:" + tailPattern);
+            log.info("Tail modu acik, surekli buyuyen dosyalar: {}", tailPattern);
+        }
+    }
+
     public void shutdown() {
         if (csvProcessingExecutor != null && !csvProcessingExecutor.isShutdown()) {
             csvProcessingExecutor.shutdown();
@@ -46,87 +86,198 @@ public class CsvProcessingService {
                 return;
             }
 
-            java.io.File[] csvFiles = directory.toFile().listFiles((dir, name) ->
-                    name.toLowerCase().endsWith(".csv") &&
-                            !name.toLowerCase().endsWith(".done") &&
-                            !name.toLowerCase().endsWith(".fail"));
+            // Glob filtresi .done/.fail arsivi icin File nesnesi olusturmaz
+            List<java.io.File> csvFiles = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, CSV_GLOB)) {
+                for (Path path : stream) {
+                    if (isCsvFileName(path.getFileName().toString())) {
+                        csvFiles.add(path.toFile());
+                    }
+                }
+            }
 
-            if (csvFiles == null || csvFiles.length == 0) {
+            if (csvFiles.isEmpty()) {
                 log.info("Islenecek CSV dosyasi bulunamadi.");
                 return;
             }
 
-            processCsvFilesSequentially(csvFiles);
+            processCsvFilesInParallel(csvFiles);
 
         } catch (Exception e) {
             log.error("CSV dosyalari islenirken hata olustu: {}", e.getMessage(), e);
         }
     }
 
-    private void processCsvFilesSequentially(java.io.File[] csvFiles) {
-        log.info("{} CSV dosyasi multithread ile sirayla isleniyor...", csvFiles.length);
+    public static boolean isCsvFileName(String name) {
+        return CsvCompression.of(name) != null;
+    }
 
-        CompletableFuture<Void> previousTask = CompletableFuture.completedFuture(null);
+    // Tail modunda islenen dosya: yeniden adlandirilmaz, her tetiklemede sadece eklenen satirlar okunur
+    public boolean isTailFile(String fileName) {
+        return tailMatcher != null
+                && CsvCompression.of(fileName) == CsvCompression.NONE
+                && tailMatcher.matches(Paths.get(fileName));
+    }
 
-        for (java.io.File csvFile : csvFiles) {
-            final java.io.File currentFile = csvFile;
+    public Path getWatchDirectory() {
+        return Paths.get(csvWatchDirectory);
+    }
 
-            previousTask = previousTask.thenRunAsync(() -> {
-                try {
-                    log.info("CSV dosyasi islenmeye basliyor: {}", currentFile.getName());
-                    processCsvFile(currentFile);
-                    log.info("CSV dosyasi isleme tamamlandi: {}", currentFile.getName());
-                } catch (Exception e) {
-                    log.error("CSV dosyasi islenirken hata: {} - Dosya: {}", e.getMessage(), currentFile.getName(), e);
-                }
-            }, csvProcessingExecutor);
+    private void processCsvFilesInParallel(List<java.io.File> csvFiles) {
+        log.info("{} CSV dosyasi en fazla {} paralel is ile isleniyor...", csvFiles.size(), parallelism);
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (java.io.File csvFile : csvFiles) {
+            tasks.add(submitCsvFile(csvFile));
         }
 
-        try {
-            previousTask.get();
-            log.info("Tum CSV dosyalari isleme tamamlandi.");
-        } catch (Exception e) {
-            log.error("CSV dosyalari islenirken hata olustu: {}", e.getMessage(), e);
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        log.info("Tum CSV dosyalari isleme tamamlandi.");
+    }
+
+    // Tek bir dosyayi paralellik sinirina uyarak arka planda isler (dizin izleyici de kullanir)
+    public CompletableFuture<Void> submitCsvFile(java.io.File csvFile) {
+        // Onceki tetiklemeden hala islenen dosyayi ikinci kez alma
+        if (!filesInProgress.add(csvFile.getAbsolutePath())) {
+            if (isTailFile(csvFile.getName())) {
+                // Okuma bittikten sonra eklenen satirlar bir sonraki olayi beklemesin
+                tailReruns.add(csvFile.getAbsolutePath());
+            }
+            log.debug("Dosya zaten isleniyor, atlaniyor: {}", csvFile.getName());
+            return CompletableFuture.completedFuture(null);
         }
+
+        return CompletableFuture.runAsync(() -> {
+            try {
+                fileSlots.acquire();
+                try {
+                    // Kira bos slot varken alinir; boylece islenemeyecek dosyalar diger node'lara kalir
+                    if (!csvFileLeaseManager.claim(csvFile)) {
+                        log.debug("Dosya baska bir node tarafindan isleniyor, atlaniyor: {}", csvFile.getName());
+                        return;
+                    }
+                    try {
+                        // Sira beklerken baska bir tetikleme veya node dosyayi islemis olabilir
+                        if (csvFile.isFile()) {
+                            processCsvFile(csvFile);
+                        }
+                    } finally {
+                        csvFileLeaseManager.release(csvFile);
+                    }
+                } finally {
+                    fileSlots.release();
+                }
+            } catch (InterruptedException e) {
+                log.warn("CSV dosyasi isleme kesildi: {}", csvFile.getName());
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Bir dosyadaki hata diger dosyalari etkilemez
+                log.error("CSV dosyasi islenirken hata: {} - Dosya: {}", e.getMessage(), csvFile.getName(), e);
+            } finally {
+                filesInProgress.remove(csvFile.getAbsolutePath());
+                if (tailReruns.remove(csvFile.getAbsolutePath())) {
+                    submitCsvFile(csvFile);
+                }
+            }
+        }, csvProcessingExecutor);
     }
 
     private void processCsvFile(java.io.File csvFile) {
+        if (isTailFile(csvFile.getName())) {
+            processAppendedRows(csvFile);
+            return;
+        }
+
         log.info("Dosya islenmeye basliyor: {}", csvFile.getName());
+        long fileSize = csvFile.length();
+        boolean done = false;
 
         try {
-            CsvFileProcessor.CsvProcessingResult result = csvFileProcessor.processCsvFile(csvFile);
-
-            if (result.isSuccess()) {
-                log.info("Dosya basariyla islendi, uzanti degistiriliyor: {}", csvFile.getName());
+            Duplicate duplicate = findDuplicate(csvFile, fileSize);
+            if (duplicate != null) {
+                log.info("Dosya daha once islenen {} ile ayni icerikte, import atlaniyor: {}", duplicate.originalFileName(), csvFile.getName());
                 renameFileToDone(csvFile);
-                saveFileRecord(csvFile, true, result.getStudentCount(), result.getMessage());
+                done = true;
+                saveFileRecord(csvFile.getName(), fileSize, duplicate.contentHash(), true, 0,
+                        "duplicate of " + duplicate.originalFileName(), null);
             } else {
-                log.warn("Dosya islenemedi, fail olarak isaretleniyor: {} - Hata: {}", csvFile.getName(), result.getErrorMessage());
-                renameFileToFail(csvFile, result.getErrorMessage());
-                saveFileRecord(csvFile, false, 0, result.getErrorMessage());
+                CsvFileProcessor.CsvProcessingResult result = csvFileProcessor.processCsvFile(csvFile);
+
+                if (result.isSuccess()) {
+                    log.info("Dosya basariyla islendi, uzanti degistiriliyor: {}", csvFile.getName());
+                    renameFileToDone(csvFile);
+                    done = true;
+                    saveFileRecord(csvFile.getName(), fileSize, result.getContentHash(), true, result.getStudentCount(),
+                            result.getMessage(), result);
+                } else {
+                    log.warn("Dosya islenemedi, fail olarak isaretleniyor: {} - Hata: {}", csvFile.getName(), result.getErrorMessage());
+                    renameFileToFail(csvFile, result.getErrorMessage());
+                    saveFileRecord(csvFile.getName(), fileSize, result.getContentHash(), false, 0, result.getErrorMessage(), result);
+                }
             }
         } catch (Exception e) {
             log.error("Dosya islenirken exception olustu: {} - Dosya: {}", e.getMessage(), csvFile.getName(), e);
             renameFileToFail(csvFile, "Exception: " + e.getMessage());
-            saveFileRecord(csvFile, false, 0, "Exception: " + e.getMessage());
+            saveFileRecord(csvFile.getName(), fileSize, null, false, 0, "Exception: " + e.getMessage(), null);
+        }
+
+        // Dosya .done oldu; yarim kalma durumu icin tutulan ilerleme kaydi artik gereksiz. .fail dosyasinin
+        // kaydi kalir: dosya duzeltilmeden tekrar birakilirsa commit edilmis parcalar atlanir.
+        if (done) {
+            csvCheckpointManager.clear(csvFile);
         }
 
         log.info("Dosya isleme tamamlandi: {}", csvFile.getName());
+    }
+
+    // Tail dosyasi .done olmaz ve her tetiklemede files tablosuna kayit acilmaz; okunan konum
+    // file_checkpoints'te tutulur, metrikler csv.import.* altinda toplanir
+    private void processAppendedRows(java.io.File csvFile) {
+        try {
+            CsvFileProcessor.CsvProcessingResult result = csvFileProcessor.processAppended(csvFile);
+            if (!result.isSuccess()) {
+                log.warn("Tail dosyasina eklenen satirlar islenemedi: {} - Hata: {}", csvFile.getName(), result.getErrorMessage());
+            } else if (result.getRowCount() > 0) {
+                log.info("Tail dosyasindan {} yeni satir {} ms'de islendi: {}", result.getRowCount(),
+                        result.getDurationMs(), csvFile.getName());
+            }
+        } catch (Exception e) {
+            log.error("Tail dosyasi islenirken exception olustu: {} - Dosya: {}", e.getMessage(), csvFile.getName(), e);
+        }
+    }
 
-        // 10 saniye bekle
+    // Ayni boyutta basariyla islenmis bir dosya varsa icerik ozetini onceden hesaplayip karsilastirir.
+    // Boyutu eslesmeyen dosyalar iki kez okunmaz; ozetleri import sirasinda hesaplanir.
+    private Duplicate findDuplicate(java.io.File csvFile, long fileSize) {
+        if (!dedupEnabled) {
+            return null;
+        }
         try {
-            log.info("10 saniye bekleniyor...");
-            Thread.sleep(Duration.ofSeconds(10).toMillis());
-            log.info("Bekleme tamamlandi, sonraki dosyaya geciliyor...");
-        } catch (InterruptedException e) {
-            log.warn("Bekleme kesildi: {}", e.getMessage());
-            Thread.currentThread().interrupt();
+            if (!fileRepository.existsByStatusAndFileSize(File.FileStatus.DONE, fileSize)) {
+                return null;
+            }
+            String contentHash = CsvContentHash.of(csvFile.toPath());
+            return fileRepository.findFirstByContentHashAndStatusOrderByProcessedAtAsc(contentHash, File.FileStatus.DONE)
+                    .map(original -> new Duplicate(contentHash, original.getFullFileName()))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Dosya icerik ozeti onceden hesaplanamadi, normal import yapilacak: {} - {}", csvFile.getName(), e.getMessage());
+            return null;
         }
     }
 
+    private record Duplicate(String contentHash, String originalFileName) {
+    }
+
+    // Uzanti sadece dosya adinin sonundan ve buyuk/kucuk harf fark etmeden ayrilir
+    static String archiveName(String fileName, String status) {
+        CsvCompression compression = CsvCompression.of(fileName);
+        return compression != null ? compression.archiveName(fileName, status) : fileName + status;
+    }
+
     private void renameFileToDone(java.io.File csvFile) {
         try {
-            String newName = csvFile.getName().replace(".csv", ".done");
+            String newName = archiveName(csvFile.getName(), ".done");
             java.io.File doneFile = new java.io.File(csvFile.getParent(), newName);
 
             if (csvFile.getName().endsWith(".done")) {
@@ -151,7 +302,7 @@ public class CsvProcessingService {
 
     private void renameFileToFail(java.io.File csvFile, String errorMessage) {
         try {
-            String newName = csvFile.getName().replace(".csv", ".fail");
+            String newName = archiveName(csvFile.getName(), ".fail");
             java.io.File failFile = new java.io.File(csvFile.getParent(), newName);
 
             if (csvFile.renameTo(failFile)) {
@@ -165,20 +316,38 @@ public class CsvProcessingService {
         }
     }
 
-    private void saveFileRecord(java.io.File csvFile, boolean isSuccess, int studentCount, String description) {
+    // Yukleme endpoint'i uzerinden gelen dosya icin klasordeki dosyalarla ayni files kaydini yazar
+    public void recordUpload(String fullFileName, CsvFileProcessor.CsvProcessingResult result) {
+        saveFileRecord(fullFileName, result.getBytesRead(), result.getContentHash(), result.isSuccess(),
+                result.getStudentCount(), result.isSuccess() ? result.getMessage() : result.getErrorMessage(), result);
+    }
+
+    private void saveFileRecord(String fullFileName, long fileSize, String contentHash, boolean isSuccess,
+                                int studentCount, String description, CsvFileProcessor.CsvProcessingResult result) {
         try {
-            String fileName = csvFile.getName().replace(".csv", "");
-            String fullFileName = csvFile.getName();
+            CsvCompression compression = CsvCompression.of(fullFileName);
+            String fileName = compression != null ? compression.baseName(fullFileName) : fullFileName;
 
             File fileRecord = isSuccess ? 
                 new File(fileName, fullFileName, studentCount, description) :
                 new File(fileName, fullFileName, description);
+            fileRecord.setFileSize(fileSize);
+            fileRecord.setContentHash(contentHash);
+
+            // Import performansini zaman icinde izlemek icin dosya bazinda toplamlar
+            if (result != null) {
+                fileRecord.setDurationMs(result.getDurationMs());
+                fileRecord.setRowsAccepted(result.getStudentCount());
+                fileRecord.setRowsRejected(result.getRejectedCount());
+                fileRecord.setRowsUnchanged(result.getUnchangedCount());
+                fileRecord.setBytesRead(result.getBytesRead());
+            }
 
             fileRepository.save(fileRecord);
             log.info("Dosya kaydi veritabanina kaydedildi: {} - Durum: {}", fileName, isSuccess ? "DONE" : "FAIL");
 
         } catch (Exception e) {
-            log.error("Dosya kaydi veritabanina kaydedilirken hata: {} - Dosya: {}", e.getMessage(), csvFile.getName());
+            log.error("Dosya kaydi veritabanina kaydedilirken hata: {} - Dosya: {}", e.getMessage(), fullFileName);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// CSV dosyasinin HTTP uzerinden parca parca yuklenmesi. Her parca istek govdesinden okunurken
+// klasordeki dosyalarla ayni csvLineChannel -> studentChannel akisina gonderilir; dosya diske yazilmaz
+// ve zamanlayici beklenmez. Yukleme bitince files tablosuna ayni denetim kaydi yazilir.
+// Yuklemeler bellekte tutulur: uygulama yeniden baslarsa yarim yukleme bastan gonderilmelidir. Birden
+// fazla node varsa bir yuklemenin tum istekleri onu baslatan node'a yonlendirilmelidir (sticky).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CsvUploadService {
+
+    private final CsvFileProcessor csvFileProcessor;
+    private final CsvProcessingService csvProcessingService;
+
+    @Value("${csv.upload.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+
+    private final Map<String, CsvUploadSession> uploads = new ConcurrentHashMap<>();
+
+    public CsvUploadSession start(String fileName) {
+        if (fileName == null || fileName.isBlank() || fileName.contains("/") || fileName.contains("\\")
+                || CsvCompression.of(fileName) != CsvCompression.NONE) {
+            throw new IllegalArgumentException("Gecersiz dosya adi, sikistirilmamis .csv bekleniyor: " + fileName);
+        }
+        CsvUploadSession upload = csvFileProcessor.openUpload(fileName);
+        uploads.put(upload.getUploadId(), upload);
+        return upload;
+    }
+
+    public CsvUploadSession get(String uploadId) {
+        CsvUploadSession upload = uploads.get(uploadId);
+        if (upload == null) {
+            throw new ResourceNotFoundException("Yukleme bulunamadi: " + uploadId);
+        }
+        return upload;
+    }
+
+    // offset istemcinin parcayi dosyanin hangi byte'indan itibaren gonderdigidir ve sunucunun aldigi
+    // byte sayisina esit olmalidir. Esit degilse, yukleme bittiyse veya ayni anda baska bir parca
+    // isleniyorsa IllegalStateException; istemci get ile receivedBytes'i okuyup oradan devam eder.
+    public CsvUploadSession append(String uploadId, long offset, InputStream body, boolean last) throws IOException {
+        CsvUploadSession upload = get(uploadId);
+        if (!upload.tryLock()) {
+            throw new IllegalStateException("Yuklemeye baska bir parca yaziliyor");
+        }
+        try {
+            if (upload.getStatus() != CsvUploadSession.Status.RECEIVING) {
+                throw new IllegalStateException("Yukleme tamamlanmis: " + upload.getStatus());
+            }
+            if (offset != upload.getReceivedBytes()) {
+                throw new IllegalStateException("Beklenen konum " + upload.getReceivedBytes() + ", gelen " + offset);
+            }
+            CsvFileProcessor.CsvProcessingResult result = csvFileProcessor.receiveUploadChunk(upload, body, last);
+            if (result != null) {
+                csvProcessingService.recordUpload(upload.getFileName(), result);
+            }
+            return upload;
+        } finally {
+            upload.unlock();
+        }
+    }
+
+    // Uzun suredir parca gelmeyen yuklemeleri basarisiz kapatir, biten yuklemeleri bir sure sonra unutur
+    @Scheduled(fixedDelayString = "${csv.upload.cleanup-ms:60000}")
+    public void expireIdleUploads() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+        for (CsvUploadSession upload : uploads.values()) {
+            if (upload.getLastActivity() >= cutoff || !upload.tryLock()) {
+                continue;
+            }
+            try {
+                if (upload.getStatus() == CsvUploadSession.Status.RECEIVING) {
+                    log.warn("CSV yuklemesi {} dakikadir parca almadi, iptal ediliyor: {} ({})",
+                            idleTimeoutMinutes, upload.getFileName(), upload.getUploadId());
+                    csvProcessingService.recordUpload(upload.getFileName(), csvFileProcessor.abortUpload(upload,
+                            "Yukleme " + idleTimeoutMinutes + " dakika icinde tamamlanmadi"));
+                    // Durumu bir sure daha sorgulanabilsin
+                    upload.touch();
+                } else {
+                    uploads.remove(upload.getUploadId());
+                }
+            } finally {
+                upload.unlock();
+            }
+        }
+    }
+}
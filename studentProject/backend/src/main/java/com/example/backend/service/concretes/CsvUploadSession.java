@@ -0,0 +1,140 @@
+package com.example.backend.service.concretes;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Parca parca yuklenen tek bir CSV dosyasinin durumu. Dosya diske yazilmaz: her parca okundugu anda
+// akisa gonderilir, sadece satir sonu gelmemis son kayit (carry) bir sonraki parcaya kadar bellekte
+// tutulur. receivedBytes istemcinin bir sonraki parcayi gondermesi gereken konumdur; baglanti parca
+// ortasinda koparsa sunucunun o ana kadar aldigi byte'lar korunur ve yukleme oradan surdurulur.
+public class CsvUploadSession {
+
+    public enum Status {
+        RECEIVING, DONE, FAILED
+    }
+
+    private final String uploadId;
+    private final String fileName;
+    private final CsvImportTracker.ImportProgress progress;
+    private final long startNanos = System.nanoTime();
+    private final MessageDigest digest;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int[] projection;
+    private volatile long recordOffset;
+    private volatile byte[] carry = new byte[0];
+    private volatile Status status = Status.RECEIVING;
+    private volatile long lastActivity = System.currentTimeMillis();
+    private volatile CsvFileProcessor.CsvProcessingResult result;
+
+    CsvUploadSession(String fileName, CsvImportTracker.ImportProgress progress) {
+        this.uploadId = progress.getImportId();
+        this.fileName = fileName;
+        this.progress = progress;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    // Ayni yuklemeye ayni anda tek parca yazilir; baska bir parca isleniyorsa false
+    public boolean tryLock() {
+        return lock.tryLock();
+    }
+
+    public void unlock() {
+        lock.unlock();
+    }
+
+    void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    int[] getProjection() {
+        return projection;
+    }
+
+    void setProjection(int[] projection) {
+        this.projection = projection;
+    }
+
+    // Son tam kaydin bittigi konum; bir sonraki parcanin okuyucusu buradan baslar
+    long getRecordOffset() {
+        return recordOffset;
+    }
+
+    byte[] getCarry() {
+        return carry;
+    }
+
+    void advance(long recordOffset, byte[] carry) {
+        this.recordOffset = recordOffset;
+        this.carry = carry;
+    }
+
+    MessageDigest getDigest() {
+        return digest;
+    }
+
+    // Yukleme bitince dosyanin SHA-256 ozeti
+    String contentHash() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    CsvImportTracker.ImportProgress getProgress() {
+        return progress;
+    }
+
+    void complete(CsvFileProcessor.CsvProcessingResult result) {
+        this.result = result;
+        this.status = result.isSuccess() ? Status.DONE : Status.FAILED;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getReceivedBytes() {
+        return recordOffset + carry.length;
+    }
+
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    public int getRowsSent() {
+        return progress.getSent();
+    }
+
+    public int getRowsPersisted() {
+        return progress.getPersisted();
+    }
+
+    public int getRowsUnchanged() {
+        return progress.getUnchanged();
+    }
+
+    public int getRowsRejected() {
+        return progress.getRejected() + progress.getFailed();
+    }
+
+    // Yukleme bitmeden null
+    public CsvFileProcessor.CsvProcessingResult getResult() {
+        return result;
+    }
+}
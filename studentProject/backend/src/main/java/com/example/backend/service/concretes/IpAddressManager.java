@@ -14,11 +14,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.Random;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
@@ -26,23 +29,24 @@ import java.util.ArrayList;
 public class IpAddressManager implements IpAddressService {
     private final IpAddressRepository ipAddressRepository;
     private final StudentsRepository studentsRepository;
+    private final IpRangeIndex ipRangeIndex;
+    private final IpPoolAllocator ipPoolAllocator;
+
+    // Toplu atanmis sayisi sorgusunda IN listesinin en fazla uzunlugu
+    private static final int ASSIGNED_COUNT_CHUNK = 1000;
 
     @Override
     public List<IpAddressResponse> findAllActive() {
         log.info("Aktif IP adresleri getiriliyor...");
         List<IpAddress> ipAddresses = ipAddressRepository.findAllActiveOrderByCreatedAtDesc();
-        return ipAddresses.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(ipAddresses);
     }
 
     @Override
     public List<IpAddressResponse> findAll() {
         log.info("Tum IP adresleri (aktif ve pasif) getiriliyor...");
         List<IpAddress> ipAddresses = ipAddressRepository.findAllByOrderByCreatedAtDesc();
-        return ipAddresses.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(ipAddresses);
     }
 
     @Override
@@ -57,9 +61,7 @@ public class IpAddressManager implements IpAddressService {
     public List<IpAddressResponse> search(String searchTerm) {
         log.info("IP adresleri araniyor: {}", searchTerm);
         List<IpAddress> ipAddresses = ipAddressRepository.searchActiveIpAddresses(searchTerm);
-        return ipAddresses.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(ipAddresses);
     }
 
     @Override
@@ -89,12 +91,7 @@ public class IpAddressManager implements IpAddressService {
         }
         
         if (IpValidationUtil.isValidIpv4(ipAddress) || IpValidationUtil.isValidIpv6(ipAddress)) {
-            List<IpAddress> existingIpAddresses = ipAddressRepository.findAll();
-            List<String> existingIpStrings = existingIpAddresses.stream()
-                    .map(IpAddress::getIpAddress)
-                    .collect(Collectors.toList());
-            
-            if (IpValidationUtil.isIpInExistingRanges(ipAddress, existingIpStrings)) {
+            if (ipRangeIndex.isCovered(ipAddress)) {
                 throw new IllegalArgumentException("Bu IP adresi mevcut bir subnet veya aralık içinde bulunuyor: " + ipAddress);
             }
         }
@@ -106,6 +103,8 @@ public class IpAddressManager implements IpAddressService {
         ipAddressEntity.setCreatedAt(LocalDateTime.now());
 
         IpAddress savedIpAddress = ipAddressRepository.save(ipAddressEntity);
+        ipRangeIndex.add(savedIpAddress.getIpAddress());
+        ipPoolAllocator.addressAdded(savedIpAddress.getIpAddress());
         log.info("IP adresi basariyla olusturuldu: {}", savedIpAddress.getIpAddress());
 
         return mapToResponse(savedIpAddress);
@@ -134,6 +133,11 @@ public class IpAddressManager implements IpAddressService {
                 throw new IllegalArgumentException("IP adresi zaten mevcut: " + ipInput);
             }
 
+            ipRangeIndex.remove(ipAddress.getIpAddress());
+            ipRangeIndex.add(ipInput);
+            ipPoolAllocator.addressRemoved(ipAddress.getIpAddress());
+            ipPoolAllocator.poolChanged(ipAddress.getId());
+            ipPoolAllocator.addressAdded(ipInput);
             ipAddress.setIpAddress(ipInput);
         }
 
@@ -163,24 +167,26 @@ public class IpAddressManager implements IpAddressService {
         if (isSubnetOrRange(ipAddressString)) {
             log.info("Subnet/Range siliniyor: {}. Bu aralıktaki atanmış IP adresleri de silinecek.", ipAddressString);
             
-            List<IpAddress> allIpAddresses = ipAddressRepository.findAll();
-            List<IpAddress> ipsToDelete = allIpAddresses.stream()
-                    .filter(ip -> isIndividualIp(ip.getIpAddress()) && 
-                                 IpValidationUtil.isIpInRange(ip.getIpAddress(), ipAddressString))
-                    .collect(Collectors.toList());
+            IpParseUtil.IpRange range = IpParseUtil.toRange(ipAddressString);
+            List<IpAddress> ipsToDelete = range == null ? List.of() : ipAddressRepository.findSinglesWithin(
+                    range.version(), new BigDecimal(range.start()), new BigDecimal(range.end()));
             
             for (IpAddress ipToDelete : ipsToDelete) {
                 ipAddressRepository.delete(ipToDelete);
+                ipPoolAllocator.addressRemoved(ipToDelete.getIpAddress());
                 log.info("IP adresi silindi: {} (Ogrenci: {})", 
                         ipToDelete.getIpAddress(),
                         getStudentName(ipToDelete.getStudent()));
             }
             
             ipAddressRepository.delete(ipAddressToDelete);
+            ipRangeIndex.remove(ipAddressString);
+            ipPoolAllocator.poolChanged(ipAddressToDelete.getId());
             log.info("Subnet/Range silindi: {}", ipAddressString);
             log.info("Toplam {} IP adresi silindi", ipsToDelete.size());
         } else {
             ipAddressRepository.deleteById(id);
+            ipPoolAllocator.addressRemoved(ipAddressString);
             log.info("Tekil IP adresi silindi: {}", ipAddressString);
         }
     }
@@ -190,6 +196,11 @@ public class IpAddressManager implements IpAddressService {
         return ipAddressRepository.existsByIpAddress(ipAddress);
     }
 
+    @Override
+    public boolean isIpInExistingRange(String ipAddress) {
+        return ipRangeIndex.isCovered(ipAddress);
+    }
+
     @Override
     @Transactional
     public void assignIpAddressesToStudent(Integer studentId, List<Long> ipAddressIds) {
@@ -235,21 +246,19 @@ public class IpAddressManager implements IpAddressService {
     public List<IpAddressResponse> findUnassignedActive() {
         log.info("Atanmamış aktif IP adresleri getiriliyor");
         List<IpAddress> unassignedIpAddresses = ipAddressRepository.findByStudentIsNull();
-        return unassignedIpAddresses.stream()
+        return mapToResponses(unassignedIpAddresses.stream()
                 .filter(IpAddress::getIsActive)
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<IpAddressResponse> findUnassignedActiveIpv4() {
         log.info("Atanmamış aktif IPv4 adresleri getiriliyor");
         List<IpAddress> unassignedIpAddresses = ipAddressRepository.findByStudentIsNull();
-        return unassignedIpAddresses.stream()
+        return mapToResponses(unassignedIpAddresses.stream()
                 .filter(IpAddress::getIsActive)
                 .filter(ip -> isIpv4Format(ip.getIpAddress()))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -269,26 +278,42 @@ public class IpAddressManager implements IpAddressService {
             throw new IllegalArgumentException("Atanabilir IP adresi bulunamadi");
         }
         
-        List<IpAddress> availableIpAddressesForAssignment = new ArrayList<>();
-        
+        // Adaylar: atanmamis tekil IPv4 kayitlari ve IPv4 subnet/araliklarindaki kayitsiz adresler.
+        // Havuzlar acilmaz; bos adres sayisi ve secimi IpPoolAllocator'in bit dizilerinden gelir.
+        List<IpAddress> singleIpAddresses = new ArrayList<>();
+        List<IpAddress> poolIpAddresses = new ArrayList<>();
         for (IpAddress ipAddress : availableIpAddresses) {
             String ipInput = ipAddress.getIpAddress();
             
             if (IpValidationUtil.isValidIpv4(ipInput)) {
-                availableIpAddressesForAssignment.add(ipAddress);
-            } else if (IpValidationUtil.isValidIpv4Cidr(ipInput)) {
-                addCidrIpsToAvailableList(ipInput, availableIpAddressesForAssignment);
-            } else if (IpValidationUtil.isValidIpv4Range(ipInput)) {
-                addRangeIpsToAvailableList(ipInput, availableIpAddressesForAssignment);
+                singleIpAddresses.add(ipAddress);
+            } else if (IpValidationUtil.isValidIpv4Cidr(ipInput) || IpValidationUtil.isValidIpv4Range(ipInput)) {
+                poolIpAddresses.add(ipAddress);
             }
         }
         
-        if (availableIpAddressesForAssignment.isEmpty()) {
+        long poolCandidates = ipPoolAllocator.freeAddresses(poolIpAddresses);
+        long totalCandidates = singleIpAddresses.size() + poolCandidates;
+        if (totalCandidates == 0) {
             throw new IllegalArgumentException("Kullanilabilir IPv4 adresi bulunamadi");
         }
         
-        Random random = new Random();
-        IpAddress selectedIpAddress = availableIpAddressesForAssignment.get(random.nextInt(availableIpAddressesForAssignment.size()));
+        long pick = ThreadLocalRandom.current().nextLong(totalCandidates);
+        IpAddress selectedIpAddress = null;
+        if (pick >= singleIpAddresses.size()) {
+            String allocated = ipPoolAllocator.allocate(poolIpAddresses);
+            if (allocated != null) {
+                selectedIpAddress = new IpAddress(allocated, "Otomatik oluşturulan IPv4 adresi");
+                selectedIpAddress.setIsActive(true);
+                selectedIpAddress.setCreatedAt(LocalDateTime.now());
+                ipPoolAllocator.addressAdded(allocated);
+            } else if (singleIpAddresses.isEmpty()) {
+                throw new IllegalArgumentException("Kullanilabilir IPv4 adresi bulunamadi");
+            }
+        }
+        if (selectedIpAddress == null) {
+            selectedIpAddress = singleIpAddresses.get((int) (pick % singleIpAddresses.size()));
+        }
         
         selectedIpAddress.setStudent(student);
         IpAddress saved = ipAddressRepository.save(selectedIpAddress);
@@ -297,78 +322,6 @@ public class IpAddressManager implements IpAddressService {
         return mapToResponse(saved);
     }
 
-    private void addCidrIpsToAvailableList(String cidr, List<IpAddress> availableList) {
-        List<String> subnetIps = parseIpv4Cidr(cidr);
-        for (String ip : subnetIps) {
-            if (!ipAddressRepository.existsByIpAddress(ip)) {
-                IpAddress newIp = new IpAddress(ip, "Otomatik oluşturulan IPv4 adresi");
-                newIp.setIsActive(true);
-                newIp.setCreatedAt(LocalDateTime.now());
-                availableList.add(newIp);
-            }
-        }
-    }
-
-    private void addRangeIpsToAvailableList(String ipRange, List<IpAddress> availableList) {
-        List<String> rangeIps = parseIpv4Range(ipRange);
-        for (String ip : rangeIps) {
-            if (!ipAddressRepository.existsByIpAddress(ip)) {
-                IpAddress newIp = new IpAddress(ip, "Otomatik oluşturulan IPv4 adresi");
-                newIp.setIsActive(true);
-                newIp.setCreatedAt(LocalDateTime.now());
-                availableList.add(newIp);
-            }
-        }
-    }
-
-    private List<String> parseIpv4Cidr(String cidr) {
-        List<String> ips = new ArrayList<>();
-        
-        try {
-            String[] parts = cidr.split("/");
-            String networkIp = parts[0];
-            int mask = Integer.parseInt(parts[1]);
-            
-            if (mask < 0 || mask > 32) {
-                return ips;
-            }
-            
-            long networkLong = IpValidationUtil.ipToLong(networkIp);
-            int hostBits = 32 - mask;
-            long totalHosts = Math.min((1L << hostBits) - 2, 1000); // Network ve broadcast hariç, max 1000
-            
-            for (long i = 1; i <= totalHosts; i++) {
-                long ipLong = networkLong + i;
-                ips.add(IpValidationUtil.longToIp(ipLong));
-            }
-        } catch (Exception e) {
-            log.error("CIDR parse hatasi: {}", e.getMessage());
-        }
-        
-        return ips;
-    }
-
-    private List<String> parseIpv4Range(String ipRange) {
-        List<String> ips = new ArrayList<>();
-        
-        try {
-            String[] parts = ipRange.split("-");
-            String startIp = parts[0].trim();
-            String endIp = parts[1].trim();
-            
-            long startLong = IpValidationUtil.ipToLong(startIp);
-            long endLong = IpValidationUtil.ipToLong(endIp);
-            
-            for (long ip = startLong; ip <= endLong; ip++) {
-                ips.add(IpValidationUtil.longToIp(ip));
-            }
-        } catch (Exception e) {
-            log.error("IP range parse hatasi: {}", e.getMessage());
-        }
-        
-        return ips;
-    }
-
     private boolean isSubnetOrRange(String ipAddress) {
         return IpValidationUtil.isValidIpv4Cidr(ipAddress) || 
                IpValidationUtil.isValidIpv6Cidr(ipAddress) ||
@@ -391,41 +344,48 @@ public class IpAddressManager implements IpAddressService {
     }
 
     private IpAddressResponse mapToResponse(IpAddress ipAddress) {
-        boolean isAssigned = ipAddress.getStudent() != null;
-        int assignedCount = calculateAssignedCount(ipAddress);
-        
-        return new IpAddressResponse(
-                ipAddress.getId(),
-                ipAddress.getIpAddress(),
-                ipAddress.getDescription(),
-                ipAddress.getIsActive(),
-                ipAddress.getCreatedAt(),
-                ipAddress.getUpdatedAt(),
-                isAssigned,
-                assignedCount
-        );
+        return mapToResponses(List.of(ipAddress)).get(0);
     }
 
-    private int calculateAssignedCount(IpAddress ipAddress) {
-        boolean isAssigned = ipAddress.getStudent() != null;
-        if (isIndividualIp(ipAddress.getIpAddress())) {
-            return isAssigned ? 1 : 0;
+    // Subnet/araliklarin atanmis IP sayilari tum liste icin tek toplu sorguyla hesaplanir;
+    // sorgu sayisi liste uzunluguna veya subnet buyuklugune bagli degildir
+    private List<IpAddressResponse> mapToResponses(List<IpAddress> ipAddresses) {
+        Map<Long, Integer> assignedCounts = countAssignedInRanges(ipAddresses);
+
+        List<IpAddressResponse> responses = new ArrayList<>(ipAddresses.size());
+        for (IpAddress ipAddress : ipAddresses) {
+            boolean isAssigned = ipAddress.getStudent() != null;
+            int assignedCount = isIndividualIp(ipAddress.getIpAddress())
+                    ? (isAssigned ? 1 : 0)
+                    : assignedCounts.getOrDefault(ipAddress.getId(), 0);
+
+            responses.add(new IpAddressResponse(
+                    ipAddress.getId(),
+                    ipAddress.getIpAddress(),
+                    ipAddress.getDescription(),
+                    ipAddress.getIsActive(),
+                    ipAddress.getCreatedAt(),
+                    ipAddress.getUpdatedAt(),
+                    isAssigned,
+                    assignedCount
+            ));
         }
-        
-        if (isSubnetOrRange(ipAddress.getIpAddress())) {
-            List<String> rangeIps = new ArrayList<>();
-            if (IpValidationUtil.isValidIpv4Cidr(ipAddress.getIpAddress())) {
-                rangeIps = parseIpv4Cidr(ipAddress.getIpAddress());
-            } else if (IpValidationUtil.isValidIpv4Range(ipAddress.getIpAddress())) {
-                rangeIps = parseIpv4Range(ipAddress.getIpAddress());
+        return responses;
+    }
+
+    private Map<Long, Integer> countAssignedInRanges(List<IpAddress> ipAddresses) {
+        List<Long> rangeIds = ipAddresses.stream()
+                .filter(ip -> ip.getId() != null && isSubnetOrRange(ip.getIpAddress()))
+                .map(IpAddress::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int from = 0; from < rangeIds.size(); from += ASSIGNED_COUNT_CHUNK) {
+            List<Long> chunk = rangeIds.subList(from, Math.min(rangeIds.size(), from + ASSIGNED_COUNT_CHUNK));
+            for (Object[] row : ipAddressRepository.countAssignedInRanges(chunk)) {
+                counts.put((Long) row[0], ((Number) row[1]).intValue());
             }
-            
-            return (int) rangeIps.stream()
-                    .filter(ip -> ipAddressRepository.existsByIpAddressAndStudentIsNotNull(ip))
-                    .count();
         }
-        
-        return 0;
+        return counts;
     }
 }
-
@@ -0,0 +1,263 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.IpAddressRepository;
+import com.example.backend.entities.IpAddress;
+import com.example.backend.utility.IpParseUtil;
+import com.example.backend.utility.IpValidationUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ogrencilere rastgele IPv4 atamasi icin IPv4 subnet/aralik kayitlarinin (havuzlarin) dolu adreslerini
+// bit dizisinde tutar. Havuz ilk kullanildiginda icindeki tekil IP kayitlari tek sorguyla okunur; sonra
+// bos adres aday basina sorgu atmadan nextClearBit ile bulunur. Ayni havuzdan es zamanli iki atama
+// ayni biti alamaz. Tekil IP ekleme/silme IpAddressManager'dan commit sonrasi yansitilir; ip_address
+// uzerindeki unique kisit baska uygulama orneklerine karsi son guvencedir.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IpPoolAllocator {
+
+    private final IpAddressRepository ipAddressRepository;
+
+    // Bundan buyuk havuzlarin sadece ilk bu kadar adresi kullanilir (varsayilan /8)
+    @Value("${ip.allocator.max-pool-size:16777216}")
+    private int maxPoolSize;
+
+    private final Map<Long, Pool> pools = new ConcurrentHashMap<>();
+
+    // Verilen havuz kayitlarindaki toplam bos adres sayisi
+    public long freeAddresses(List<IpAddress> poolEntries) {
+        long free = 0;
+        for (IpAddress entry : poolEntries) {
+            Pool pool = pool(entry);
+            if (pool != null) {
+                free += pool.free();
+            }
+        }
+        return free;
+    }
+
+    // Havuzlardan bos adres sayisiyla orantili rastgele birini, icinden de rastgele bir bos adresi
+    // ayirir. Cagiran transaction geri alinirsa adres tekrar bos sayilir. Hic bos adres yoksa null.
+    public String allocate(List<IpAddress> poolEntries) {
+        List<Pool> candidates = new ArrayList<>();
+        long total = 0;
+        for (IpAddress entry : poolEntries) {
+            Pool pool = pool(entry);
+            if (pool != null && pool.free() > 0) {
+                candidates.add(pool);
+                total += pool.free();
+            }
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (total > 0) {
+            long pick = random.nextLong(total);
+            Pool chosen = candidates.get(candidates.size() - 1);
+            for (Pool pool : candidates) {
+                pick -= pool.free();
+                if (pick < 0) {
+                    chosen = pool;
+                    break;
+                }
+            }
+
+            int offset = chosen.take(random);
+            if (offset >= 0) {
+                Pool taken = chosen;
+                afterRollback(() -> taken.release(offset));
+                return IpValidationUtil.longToIp(chosen.first + offset);
+            }
+            // Sayim ile ayirma arasinda havuz doldu
+            candidates.remove(chosen);
+            total = 0;
+            for (Pool pool : candidates) {
+                total += pool.free();
+            }
+        }
+        return null;
+    }
+
+    // Tekil IP kaydi eklendi; onu iceren havuzlarda dolu sayilir
+    public void addressAdded(String ipAddress) {
+        afterCommit(() -> forEachContaining(ipAddress, Pool::markUsed));
+    }
+
+    // Tekil IP kaydi silindi; onu iceren havuzlarda tekrar bos sayilir
+    public void addressRemoved(String ipAddress) {
+        afterCommit(() -> forEachContaining(ipAddress, Pool::release));
+    }
+
+    // Havuz kaydi silindi veya degisti; bit dizisi birakilir, gerekirse tekrar yuklenir
+    public void poolChanged(Long poolId) {
+        if (poolId != null) {
+            afterCommit(() -> pools.remove(poolId));
+        }
+    }
+
+    private void forEachContaining(String ipAddress, OffsetAction action) {
+        if (!IpValidationUtil.isValidIpv4(ipAddress)) {
+            return;
+        }
+        long address = IpValidationUtil.ipToLong(ipAddress.trim());
+        for (Pool pool : pools.values()) {
+            if (address >= pool.first && address < pool.first + pool.size) {
+                action.apply(pool, (int) (address - pool.first));
+            }
+        }
+    }
+
+    // IPv4 CIDR/aralik kaydinin bit dizisi; kayit degistiyse (ayni id, farkli metin) yeniden yuklenir
+    private Pool pool(IpAddress entry) {
+        Pool pool = pools.get(entry.getId());
+        if (pool != null && pool.loaded && pool.input.equals(entry.getIpAddress())) {
+            return pool;
+        }
+        // Yukleme bitmeden havuzdan adres verilmez. Ayni havuzu iki thread ayri ayri yuklerse ikisi farkli bit dizisinden ayni adresi verebilir
+        synchronized (pools) {
+            pool = pools.get(entry.getId());
+            if (pool != null && pool.loaded && pool.input.equals(entry.getIpAddress())) {
+                return pool;
+            }
+            return load(entry);
+        }
+    }
+
+    private Pool load(IpAddress entry) {
+        String input = entry.getIpAddress();
+        IpParseUtil.IpInputType type = IpParseUtil.getInputType(input);
+        if (type != IpParseUtil.IpInputType.CIDR_IPV4 && type != IpParseUtil.IpInputType.IP_RANGE_IPV4) {
+            return null;
+        }
+        IpParseUtil.IpRange range = IpParseUtil.toRange(input);
+        if (range == null) {
+            return null;
+        }
+        long first = range.start().longValue();
+        long size = range.end().longValue() - first + 1;
+        boolean truncated = size > maxPoolSize;
+        if (truncated) {
+            log.warn("IP havuzu {} adres iceriyor, sadece ilk {} adresi atanacak: {}", size, maxPoolSize, input);
+            size = maxPoolSize;
+        }
+
+        // Yukleme sirasinda commit edilen eklemeler de bite islensin diye havuz once haritaya konur.
+        // Bu arada silinen bir adres okunan eski veride dolu gorunebilir; sadece bir sonraki
+        // yuklemeye kadar atanmaz.
+        Pool pool = new Pool(input, first, (int) size);
+        if (type == IpParseUtil.IpInputType.CIDR_IPV4) {
+            // Network ve broadcast adresleri atanmaz
+            pool.markUsed(0);
+            if (!truncated) {
+                pool.markUsed((int) size - 1);
+            }
+        }
+        pools.put(entry.getId(), pool);
+        try {
+            for (IpAddress single : ipAddressRepository.findSinglesWithin(4,
+                    new BigDecimal(first), new BigDecimal(first + size - 1))) {
+                if (IpValidationUtil.isValidIpv4(single.getIpAddress())) {
+                    pool.markUsed((int) (IpValidationUtil.ipToLong(single.getIpAddress().trim()) - first));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Dolu adresleri bilinmeyen havuz birakilirsa atanmis adresler tekrar verilir
+            pools.remove(entry.getId(), pool);
+            throw e;
+        }
+        pool.loaded = true;
+        log.debug("IP havuzu yuklendi: {} ({} bos adres)", input, pool.free());
+        return pool;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private interface OffsetAction {
+        void apply(Pool pool, int offset);
+    }
+
+    static final class Pool {
+        private final String input;
+        private final long first;
+        private final int size;
+        private final BitSet used;
+        private int usedCount;
+        private volatile boolean loaded;
+
+        Pool(String input, long first, int size) {
+            this.input = Objects.requireNonNull(input);
+            this.first = first;
+            this.size = size;
+            this.used = new BitSet(size);
+        }
+
+        synchronized int free() {
+            return size - usedCount;
+        }
+
+        // Rastgele bir noktadan baslayip ilk bos biti alir; havuz doluysa -1
+        synchronized int take(ThreadLocalRandom random) {
+            if (usedCount >= size) {
+                return -1;
+            }
+            int offset = used.nextClearBit(random.nextInt(size));
+            if (offset >= size) {
+                offset = used.nextClearBit(0);
+            }
+            used.set(offset);
+            usedCount++;
+            return offset;
+        }
+
+        synchronized void markUsed(int offset) {
+            if (offset >= 0 && offset < size && !used.get(offset)) {
+                used.set(offset);
+                usedCount++;
+            }
+        }
+
+        synchronized void release(int offset) {
+            if (offset >= 0 && offset < size && used.get(offset)) {
+                used.clear(offset);
+                usedCount--;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.IpAddressRepository;
+import com.example.backend.entities.IpAddress;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Sayisal aralik kolonlari (ip_version, range_start, range_end) eklenmeden once yazilmis IP kayitlarini
+// acilista doldurur. Yeni kayitlar entity'nin @PrePersist/@PreUpdate'i ile dolar; dolu kayit olmadiginda
+// tek bos sorgudur. Gecersiz metinli kayitlar null kalir ve id sirasiyla gecildigi icin tekrar okunmaz.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IpRangeBackfill {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final IpAddressRepository ipAddressRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long lastId = 0;
+        int updated = 0;
+        try {
+            List<IpAddress> page;
+            while (!(page = ipAddressRepository.findByRangeStartIsNullAndIdGreaterThanOrderByIdAsc(
+                    lastId, PageRequest.of(0, PAGE_SIZE))).isEmpty()) {
+                for (IpAddress ipAddress : page) {
+                    // Alan degismeden merge @PreUpdate'i tetiklemez
+                    ipAddress.refreshRange();
+                    if (ipAddress.getRangeStart() != null) {
+                        updated++;
+                    }
+                }
+                ipAddressRepository.saveAll(page);
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } catch (Exception e) {
+            log.warn("IP kayitlarinin sayisal araliklari doldurulamadi ({} kayit dolduruldu): {}", updated, e.getMessage());
+            return;
+        }
+        if (updated > 0) {
+            log.info("{} IP kaydinin sayisal araligi dolduruldu", updated);
+        }
+    }
+}
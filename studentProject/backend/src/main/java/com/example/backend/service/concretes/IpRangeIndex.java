@@ -0,0 +1,293 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.IpAddressRepository;
+import com.example.backend.entities.IpAddress;
+import com.example.backend.utility.IpParseUtil;
+import com.example.backend.utility.IpValidationUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Kayitli tum IPv4/IPv6 subnet ve araliklarini bellekte tutar; "bu IP mevcut bir aralikta mi" sorusu
+// tum tabloyu okuyup her kaydi yeniden parse etmek yerine logaritmik zamanda cevaplanir.
+// Ilk sorguda veritabanindan bir kez yuklenir. IpAddressManager'daki ekleme, guncelleme ve silmeler
+// transaction commit edildikten sonra yansitilir; geri alinan yazma indeksi degistirmez.
+// Indeks bu uygulama ornegine aittir: baska bir ornegin yazmalari yeniden baslatmaya kadar gorunmez,
+// bu yuzden isCovered olumsuz cevabi veritabanindan dogrular.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IpRangeIndex {
+
+    private final IpAddressRepository ipAddressRepository;
+
+    @Value("${ip.range-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object lifecycle = new Object();
+
+    private RangeSet<Long> ipv4;
+    private RangeSet<BigInteger> ipv6;
+    private List<Mutation> journal;
+
+    // ipAddress tekil bir IPv4/IPv6 adresi olmali; kayitli bir subnet veya aralik kapsiyorsa true.
+    // Indeks sadece bu ornegin yazmalarini gorur: olumlu cevap bellekten verilir, olumsuz cevap baska
+    // bir ornekte eklenmis aralik olabilecegi icin tek indeksli sorguyla veritabanindan dogrulanir.
+    public boolean isCovered(String ipAddress) {
+        if (!enabled) {
+            return isCoveredInDatabase(ipAddress);
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            if (IpValidationUtil.isValidIpv4(ipAddress)) {
+                if (ipv4.covers(IpValidationUtil.ipToLong(ipAddress.trim()))) {
+                    return true;
+                }
+            } else if (IpValidationUtil.isValidIpv6(ipAddress)) {
+                BigInteger key = IpValidationUtil.ipv6ToBigInteger(ipAddress);
+                if (key == null) {
+                    return false;
+                }
+                if (ipv6.covers(key)) {
+                    return true;
+                }
+            } else {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (isCoveredInDatabase(ipAddress)) {
+            log.debug("IP aralik indeksinde olmayan bir aralik veritabaninda var: {}", ipAddress);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isCoveredInDatabase(String ipAddress) {
+        IpParseUtil.IpRange range = IpParseUtil.toRange(ipAddress);
+        return range != null && ipAddressRepository.existsRangeContaining(range.version(),
+                new BigDecimal(range.start()));
+    }
+
+    // Yeni kaydedilen giris; tekil IP ise yok sayilir
+    public void add(String ipInput) {
+        afterCommit(new Mutation(ipInput, false));
+    }
+
+    // Silinen veya degistirilen giris
+    public void remove(String ipInput) {
+        afterCommit(new Mutation(ipInput, true));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ipv4 != null ? ipv4.size() + ipv6.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Mutation mutation) {
+        if (!enabled || mutation.ipInput == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(mutation);
+                }
+            });
+        } else {
+            apply(mutation);
+        }
+    }
+
+    private void apply(Mutation mutation) {
+        lock.writeLock().lock();
+        try {
+            if (ipv4 != null) {
+                mutation.applyTo(ipv4, ipv6);
+            }
+            if (journal != null) {
+                journal.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Yukleme sirasinda commit edilen yazmalar journal'a alinip yuklemenin ustune uygulanir.
+    // Yuklenen veride zaten olan bir ekleme tekrar uygulanirsa etkisizdir.
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (ipv4 != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        synchronized (lifecycle) {
+            lock.writeLock().lock();
+            try {
+                if (ipv4 != null) {
+                    return;
+                }
+                journal = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long start = System.currentTimeMillis();
+            RangeSet<Long> loadedIpv4 = new RangeSet<>();
+            RangeSet<BigInteger> loadedIpv6 = new RangeSet<>();
+            try {
+                for (IpAddress ipAddress : ipAddressRepository.findAll()) {
+                    new Mutation(ipAddress.getIpAddress(), false).applyTo(loadedIpv4, loadedIpv6);
+                }
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    journal = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (Mutation mutation : journal) {
+                    mutation.applyTo(loadedIpv4, loadedIpv6);
+                }
+                journal = null;
+                ipv4 = loadedIpv4;
+                ipv6 = loadedIpv6;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("IP aralik indeksi {} IPv4, {} IPv6 aralikla {} ms'de yuklendi",
+                    loadedIpv4.size(), loadedIpv6.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private record Mutation(String ipInput, boolean removal) {
+        void applyTo(RangeSet<Long> ipv4, RangeSet<BigInteger> ipv6) {
+            if (!IpParseUtil.isRangeInput(ipInput)) {
+                return;
+            }
+            String input = ipInput.trim();
+            IpParseUtil.IpRange range = IpParseUtil.toRange(input);
+            if (range == null) {
+                return;
+            }
+            if (range.version() == 4) {
+                apply(ipv4, input, range.start().longValue(), range.end().longValue());
+            } else {
+                apply(ipv6, input, range.start(), range.end());
+            }
+        }
+
+        private <K extends Comparable<K>> void apply(RangeSet<K> ranges, String input, K start, K end) {
+            if (removal) {
+                ranges.remove(input, start);
+            } else {
+                ranges.add(input, start, end);
+            }
+        }
+    }
+
+    // Araliklar baslangica gore sirali tutulur; ayrica ortusen araliklarin birlesimi ayrik
+    // parcalar halinde saklanir. Sorgu birlesimde tek floorEntry'dir. Silmede yalnizca silinen
+    // araligin dustugu parca, icindeki kalan araliklardan yeniden olusturulur.
+    static final class RangeSet<K extends Comparable<K>> {
+        private final TreeMap<K, List<Range<K>>> byStart = new TreeMap<>();
+        private final TreeMap<K, K> union = new TreeMap<>();
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean covers(K key) {
+            Map.Entry<K, K> segment = union.floorEntry(key);
+            return segment != null && segment.getValue().compareTo(key) >= 0;
+        }
+
+        void add(String input, K start, K end) {
+            List<Range<K>> sameStart = byStart.computeIfAbsent(start, k -> new ArrayList<>(1));
+            for (Range<K> range : sameStart) {
+                if (range.input.equals(input)) {
+                    return;
+                }
+            }
+            sameStart.add(new Range<>(input, end));
+            size++;
+            merge(start, end);
+        }
+
+        void remove(String input, K start) {
+            List<Range<K>> sameStart = byStart.get(start);
+            if (sameStart == null || !sameStart.removeIf(range -> range.input.equals(input))) {
+                return;
+            }
+            size--;
+            if (sameStart.isEmpty()) {
+                byStart.remove(start);
+            }
+
+            Map.Entry<K, K> segment = union.floorEntry(start);
+            union.remove(segment.getKey());
+            for (Map.Entry<K, List<Range<K>>> entry
+                    : byStart.subMap(segment.getKey(), true, segment.getValue(), true).entrySet()) {
+                for (Range<K> range : entry.getValue()) {
+                    merge(entry.getKey(), range.end);
+                }
+            }
+        }
+
+        private void merge(K start, K end) {
+            Map.Entry<K, K> before = union.floorEntry(start);
+            if (before != null && before.getValue().compareTo(start) >= 0) {
+                if (before.getValue().compareTo(end) >= 0) {
+                    return;
+                }
+                start = before.getKey();
+            }
+            NavigableMap<K, K> overlapping = union.subMap(start, true, end, true);
+            for (Iterator<K> it = overlapping.values().iterator(); it.hasNext(); ) {
+                K segmentEnd = it.next();
+                if (segmentEnd.compareTo(end) > 0) {
+                    end = segmentEnd;
+                }
+                it.remove();
+            }
+            union.put(start, end);
+        }
+    }
+
+    private record Range<K>(String input, K end) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.service.abstracts.CsvRecordReader;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// opencsv tabanli okuyucu; satirin tum sutunlari opencsv tarafindan olusturulur
+public class OpenCsvRecordReader implements CsvRecordReader {
+
+    private final CSVReader reader;
+    private int[] projection;
+
+    public OpenCsvRecordReader(File csvFile) throws IOException {
+        this(new FileReader(csvFile));
+    }
+
+    public OpenCsvRecordReader(Reader source) {
+        this.reader = new CSVReader(source);
+    }
+
+    @Override
+    public String[] readNext() throws IOException {
+        String[] line;
+        try {
+            line = reader.readNext();
+        } catch (CsvValidationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        if (line == null || projection == null) {
+            return line;
+        }
+
+        String[] projected = new String[projection.length];
+        for (int i = 0; i < projection.length; i++) {
+            projected[i] = projection[i] < line.length ? line[projection[i]] : null;
+        }
+        return projected;
+    }
+
+    @Override
+    public void setProjection(int[] columns) {
+        this.projection = columns;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
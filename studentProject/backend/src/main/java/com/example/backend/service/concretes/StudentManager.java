@@ -1,13 +1,24 @@
 package com.example.backend.service.concretes;
 
 import com.example.backend.dataAccess.StudentsRepository;
+import com.example.backend.dataAccess.StudentsRepositoryCustom;
 import com.example.backend.entities.Student;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.service.abstracts.StudentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +26,8 @@ import java.util.List;
 public class StudentManager implements StudentService {
 
     private final StudentsRepository studentsRepository;
+    private final StudentNumberIndex studentNumberIndex;
+    private final CsvIngestionThrottle csvIngestionThrottle;
 
     @Override
     public List<Student> findAll() {
@@ -30,6 +43,14 @@ public class StudentManager implements StudentService {
     @Override
     public Student save(Student student) {
         try {
+            // Import sirasinda indeks numaranin olmadigini biliyorsa sorgu atlanir
+            if (studentNumberIndex.isAbsent(student.getNumber())) {
+                Student inserted = insertKnownAbsent(student);
+                if (inserted != null) {
+                    return inserted;
+                }
+            }
+
             List<Student> existingStudents = studentsRepository.findByNumber(student.getNumber());
             
             if (existingStudents.isEmpty()) {
@@ -39,12 +60,23 @@ public class StudentManager implements StudentService {
                         student.getName(), student.getSurname(), student.getNumber());
             } else {
                 Student existingStudent = existingStudents.get(0);
-                if (!existingStudent.getVerified()) {
+                // Kayit zaten elde: ozet yerine ad/soyad dogrudan karsilastirilir
+                if (!existingStudent.getVerified() && Objects.equals(existingStudent.getName(), student.getName())
+                        && Objects.equals(existingStudent.getSurname(), student.getSurname())) {
+                    log.debug("Ogrenci degismemis, guncelleme yapilmiyor: {} {} ({})",
+                            existingStudent.getName(), existingStudent.getSurname(), existingStudent.getNumber());
+                    return existingStudent;
+                } else if (!existingStudent.getVerified()) {
                     existingStudent.setName(student.getName());
                     existingStudent.setSurname(student.getSurname());
+                    existingStudent.refreshFingerprint();
                     log.info("Mevcut ogrenci guncelleniyor: {} {} ({})", 
                             existingStudent.getName(), existingStudent.getSurname(), existingStudent.getNumber());
-                    return studentsRepository.save(existingStudent);
+                    Student saved = studentsRepository.save(existingStudent);
+                    // Indeks eski ad/soyadin ozetini tutarsa eski adli satir degismemis sayilip atlanir
+                    studentNumberIndex.put(saved.getId(), saved.getNumber(), Boolean.TRUE.equals(saved.getVerified()),
+                            saved.getFingerprint());
+                    return saved;
                 } else {
                     log.info("Ogrenci zaten onaylanmis, guncelleme yapilmiyor: {} {} ({})", 
                             existingStudent.getName(), existingStudent.getSurname(), existingStudent.getNumber());
@@ -52,7 +84,10 @@ public class StudentManager implements StudentService {
                 }
             }
             
-            return studentsRepository.save(student);
+            Student saved = studentsRepository.save(student);
+            studentNumberIndex.put(saved.getId(), saved.getNumber(), Boolean.TRUE.equals(saved.getVerified()),
+                    saved.getFingerprint());
+            return saved;
         } catch (Exception e) {
             log.error("Ogrenci kaydedilirken hata: {} {} - Hata: {}", 
                      student.getName(), student.getSurname(), e.getMessage());
@@ -60,25 +95,145 @@ public class StudentManager implements StudentService {
         }
     }
 
+    // Indeks bilmedigi bir kayitla cakisirsa (ornegin baska bir yazma henuz yansimadiysa) null doner
+    private Student insertKnownAbsent(Student student) {
+        student.setVerified(false);
+        student.setView(false);
+        try {
+            Student saved = studentsRepository.save(student);
+            studentNumberIndex.put(saved.getId(), saved.getNumber(), false, saved.getFingerprint());
+            log.info("Yeni ogrenci kaydediliyor: {} {} ({})",
+                    student.getName(), student.getSurname(), student.getNumber());
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Indekste olmayan numara veritabaninda var, sorguyla devam ediliyor: {}", student.getNumber());
+            student.setId(0);
+            return null;
+        }
+    }
+
+    // Bir batch CSV import'unun commit birimidir (csv.batch.size satir): ya tamami yazilir ya hicbiri
+    @Override
+    @Transactional
+    public StudentsRepositoryCustom.WriteCounts saveBatch(List<Student> students) {
+        // Ayni number batch icinde birden fazla geciyorsa sirali kayittaki gibi son satir kazanir;
+        // ON CONFLICT ayni satiri tek ifadede iki kez guncelleyemez.
+        // Indekse gore onaylanmis veya ad/soyadi ayni numaralar zaten guncellenmeyecegi icin
+        // veritabanina gonderilmez.
+        Map<String, Student> byNumber = new LinkedHashMap<>();
+        int skipped = 0;
+        int unchanged = 0;
+        for (Student student : students) {
+            if (studentNumberIndex.isVerified(student.getNumber())) {
+                skipped++;
+                continue;
+            }
+            student.refreshFingerprint();
+            byNumber.remove(student.getNumber());
+            if (studentNumberIndex.isUnchanged(student.getNumber(), student.getFingerprint())) {
+                unchanged++;
+                continue;
+            }
+            byNumber.put(student.getNumber(), student);
+        }
+
+        if (byNumber.isEmpty()) {
+            log.debug("Batch'teki ogrenciler yazilmadi: {} onayli, {} degismemis", skipped, unchanged);
+            return new StudentsRepositoryCustom.WriteCounts(0, unchanged);
+        }
+
+        try {
+            // Yeni ozetler isUnchanged filtresini sikilastirir; commit'ten once indekse girerse commit
+            // basarisiz olup batch tekrar denendiginde satirlar yazilmadan degismemis sayilir
+            List<IndexedRow> written = new ArrayList<>(byNumber.size());
+            StudentsRepositoryCustom.WriteCounts counts = studentsRepository.upsertUnverified(
+                    new ArrayList<>(byNumber.values()),
+                    (id, number, verified, fingerprint) -> written.add(new IndexedRow(id, number, verified, fingerprint)));
+            afterCommit(() -> {
+                for (IndexedRow row : written) {
+                    studentNumberIndex.put(row.id(), row.number(), row.verified(), row.fingerprint());
+                }
+            });
+            log.debug("{} ogrenci toplu kaydedildi, {} satir etkilendi, {} degismemis, {} onayli ogrenci atlandi",
+                    byNumber.size(), counts.written(), unchanged + counts.unchanged(), skipped);
+            return new StudentsRepositoryCustom.WriteCounts(counts.written(), unchanged + counts.unchanged());
+        } catch (Exception e) {
+            log.error("Ogrenci batch'i kaydedilirken hata: {} kayit - Hata: {}", students.size(), e.getMessage());
+            throw new RuntimeException("Ogrenci batch'i kaydedilemedi: " + e.getMessage(), e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record IndexedRow(int id, String number, boolean verified, long fingerprint) {
+    }
+
+    @Override
+    public StudentsRepositoryCustom.WriteCounts bulkLoad(StudentsRepositoryCustom.StudentSource source) throws IOException {
+        // Birlestirme id dondurmez ve satirlari tek tek yansitamaz: indeks yazmadan once birakilir,
+        // birlestirme kendi transaction'inda commit edildikten sonra kullanan import varsa yeniden yuklenir
+        studentNumberIndex.invalidate();
+        try {
+            // COPY bir baglantiyi yukleme boyunca tutar; batch yazicilarla ayni yazici limitinden yer alir
+            csvIngestionThrottle.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            studentNumberIndex.reload();
+            throw new InterruptedIOException("Toplu yukleme yazici sirasi beklenirken kesildi");
+        }
+        try {
+            StudentsRepositoryCustom.WriteCounts counts = studentsRepository.bulkMergeUnverified(source);
+            log.info("COPY ile toplu yukleme tamamlandi, {} satir etkilendi, {} satir degismemis",
+                    counts.written(), counts.unchanged());
+            return counts;
+        } finally {
+            csvIngestionThrottle.release();
+            studentNumberIndex.reload();
+        }
+    }
+
     @Override
     public Student update(int id, Student studentDetails) {
         Student updateStudent = studentsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Öğrenci bulunamadı: " + id));
         
+        String previousNumber = updateStudent.getNumber();
         updateStudent.setName(studentDetails.getName());
         updateStudent.setSurname(studentDetails.getSurname());
         updateStudent.setNumber(studentDetails.getNumber());
         updateStudent.setVerified(studentDetails.getVerified());
         updateStudent.setView(studentDetails.getView());
-        
-        return studentsRepository.save(updateStudent);
+
+        // Eski numaranin ve kaldirilan onayin indekse yansimasi kayittan once yapilir
+        if (!Objects.equals(previousNumber, updateStudent.getNumber())) {
+            studentNumberIndex.remove(previousNumber);
+        }
+        if (!Boolean.TRUE.equals(updateStudent.getVerified())) {
+            studentNumberIndex.put(id, updateStudent.getNumber(), false);
+        }
+
+        Student saved = studentsRepository.save(updateStudent);
+        studentNumberIndex.put(saved.getId(), saved.getNumber(), Boolean.TRUE.equals(saved.getVerified()),
+                saved.getFingerprint());
+        return saved;
     }
 
     @Override
     public void deleteById(int id) {
-        if (!studentsRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Öğrenci bulunamadı: " + id);
-        }
+        Student student = studentsRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Öğrenci bulunamadı: " + id));
+        studentNumberIndex.remove(student.getNumber());
         studentsRepository.deleteById(id);
     }
 
@@ -113,8 +268,10 @@ public class StudentManager implements StudentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Öğrenci bulunamadı: " + id));
         
         student.setVerified(true);
-        
-        return studentsRepository.save(student);
+
+        Student saved = studentsRepository.save(student);
+        studentNumberIndex.put(saved.getId(), saved.getNumber(), true);
+        return saved;
     }
 
     @Override
@@ -0,0 +1,394 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.StudentsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Import sirasinda number -> (id, verified, ad/soyad ozeti) eslemesini bellekte tutar; satir basina
+// findByNumber sorgusu yerine kullanilir. Ilk import basladiginda veritabanindan bir kez yuklenir, son import
+// bitince birakilir. Aradaki tum ogrenci yazmalari StudentManager uzerinden buraya yansitilir.
+// Sayisal numaralar long anahtarli acik adresli tabloda, digerleri (harf, bastaki sifir) HashMap'te durur.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentNumberIndex {
+
+    private final StudentsRepository studentsRepository;
+    private final CsvIngestionThrottle csvIngestionThrottle;
+
+    @Value("${csv.student-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object lifecycle = new Object();
+
+    private Table table;
+    private int users;
+    private List<Mutation> journal;
+
+    // Import baslarken cagrilir; indeks yuklu degilse yukler
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lifecycle) {
+            if (users++ > 0) {
+                return;
+            }
+            load();
+        }
+    }
+
+    // Import bitince cagrilir; indeksi kullanan kalmadiysa bellegi birakir
+    public void release() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lifecycle) {
+            if (--users > 0) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                table = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Toplu yukleme gibi tek tek yansitilamayan yazmalardan once indeksi birakir. Yuklu olmayan indeks
+    // hicbir satiri elemez; ayni anda calisan importlar yazma bitip reload cagrilana kadar sorgularla devam eder.
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            if (table != null) {
+                log.info("Ogrenci numara indeksi toplu yazma icin birakildi, yazma bitene kadar satirlar indekssiz islenecek");
+            }
+            table = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // invalidate sonrasi, yazma commit edildikten sonra cagrilir: indeksi kullanan import varsa yeniden yukler
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lifecycle) {
+            if (users > 0 && !isLoaded()) {
+                load();
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return table != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indeks yukluyse ve numara onaylanmis bir ogrenciye aitse true
+    public boolean isVerified(String number) {
+        lock.readLock().lock();
+        try {
+            long value = table != null && number != null ? table.get(number) : Table.ABSENT;
+            return value != Table.ABSENT && (value & 1) == 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indeks yukluyse ve numara ad/soyad ozeti ayni olan onaylanmamis bir ogrenciye aitse true;
+    // bu satirin yeniden yazilmasi hicbir seyi degistirmez. Ozeti bilinmeyen (0) kayit icin false.
+    public boolean isUnchanged(String number, long fingerprint) {
+        lock.readLock().lock();
+        try {
+            if (table == null || number == null || fingerprint == 0) {
+                return false;
+            }
+            long value = table.get(number);
+            return value != Table.ABSENT && (value & 1) == 0 && table.fingerprint(number) == fingerprint;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indeks yukluyse ve numara veritabaninda yoksa true
+    public boolean isAbsent(String number) {
+        lock.readLock().lock();
+        try {
+            return table != null && number != null && table.get(number) == Table.ABSENT;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Yazma sirasi: filtreyi gevseten degisiklik (silme, onay kaldirma) veritabanindan once,
+    // filtreyi sikilastiran degisiklik (ekleme, onaylama) commit'ten sonra yansitilir. Boylece eski
+    // indeks en fazla gereksiz bir upsert'e yol acar; upsert'in verified kontrolu son guvencedir.
+    // Ozeti bilinmeyen yazma: sonraki ayni satir yine veritabanina gonderilir
+    public void put(int id, String number, boolean verified) {
+        put(id, number, verified, 0);
+    }
+
+    public void put(int id, String number, boolean verified, long fingerprint) {
+        apply(new Mutation(number, id, verified, fingerprint, false));
+    }
+
+    public void remove(String number) {
+        apply(new Mutation(number, 0, false, 0, true));
+    }
+
+    private void apply(Mutation mutation) {
+        if (mutation.number == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (table != null) {
+                mutation.applyTo(table);
+            }
+            if (journal != null) {
+                journal.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Yukleme uzun surebilir; bu sirada gelen yazmalar journal'a alinip yuklemenin ustune uygulanir
+    private void load() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Table loaded = new Table(1024);
+        boolean permit = false;
+        try {
+            // Tam tarama bir baglantiyi uzun sure tutar; batch yazicilarla ayni yazici limitinden yer alir
+            csvIngestionThrottle.acquire();
+            permit = true;
+            studentsRepository.forEachStudentNumber((id, number, verified, fingerprint) -> {
+                if (number != null) {
+                    loaded.put(number, Table.pack(id, verified), fingerprint);
+                }
+            });
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Ogrenci numara indeksi yuklenemedi, satirlar indekssiz islenecek: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        } finally {
+            if (permit) {
+                csvIngestionThrottle.release();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Mutation mutation : journal) {
+                mutation.applyTo(loaded);
+            }
+            journal = null;
+            table = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Ogrenci numara indeksi {} kayitla {} ms'de yuklendi", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    // Bastaki sifir veya rakam disi karakter iceren numaralar long'a kayipsiz cevrilemez: -1
+    static long numericKey(String number) {
+        int length = number.length();
+        if (length == 0 || length > Table.MAX_NUMERIC_LENGTH || (length > 1 && number.charAt(0) == '0')) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < length; i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+
+    private record Mutation(String number, int id, boolean verified, long fingerprint, boolean removal) {
+        void applyTo(Table table) {
+            if (removal) {
+                table.remove(number);
+            } else {
+                table.put(number, Table.pack(id, verified), fingerprint);
+            }
+        }
+    }
+
+    // Dogrusal yoklamali long -> long tablo; deger (id << 1 | verified), 0 bos slot demektir. Deger long
+    // oldugu icin 2^30'dan buyuk id'ler de tasmadan saklanir.
+    // Ad/soyad ozeti ayni slotta paralel long dizide durur (0: bilinmiyor).
+    static final class Table {
+        static final long ABSENT = 0;
+        private static final int MAX_NUMERIC_LENGTH = 18;
+
+        private long[] keys;
+        private long[] values;
+        private long[] fingerprints;
+        private int mask;
+        private int numericSize;
+        private final Map<String, Long> others = new HashMap<>();
+        private final Map<String, Long> otherFingerprints = new HashMap<>();
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            fingerprints = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        static long pack(int id, boolean verified) {
+            return (long) id << 1 | (verified ? 1 : 0);
+        }
+
+        int size() {
+            return numericSize + others.size();
+        }
+
+        long get(String number) {
+            long key = numericKey(number);
+            if (key < 0) {
+                return others.getOrDefault(number, ABSENT);
+            }
+            for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+                if (values[slot] == ABSENT) {
+                    return ABSENT;
+                }
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+        }
+
+        long fingerprint(String number) {
+            long key = numericKey(number);
+            if (key < 0) {
+                return otherFingerprints.getOrDefault(number, 0L);
+            }
+            for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+                if (values[slot] == ABSENT) {
+                    return 0;
+                }
+                if (keys[slot] == key) {
+                    return fingerprints[slot];
+                }
+            }
+        }
+
+        void put(String number, long value, long fingerprint) {
+            long key = numericKey(number);
+            if (key < 0) {
+                others.put(number, value);
+                if (fingerprint != 0) {
+                    otherFingerprints.put(number, fingerprint);
+                } else {
+                    otherFingerprints.remove(number);
+                }
+                return;
+            }
+            if ((numericSize + 1) * 4L > keys.length * 3L) {
+                resize();
+            }
+            int slot = slot(key);
+            while (values[slot] != ABSENT && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == ABSENT) {
+                numericSize++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            fingerprints[slot] = fingerprint;
+        }
+
+        void remove(String number) {
+            long key = numericKey(number);
+            if (key < 0) {
+                others.remove(number);
+                otherFingerprints.remove(number);
+                return;
+            }
+            int slot = slot(key);
+            while (values[slot] != ABSENT && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == ABSENT) {
+                return;
+            }
+            numericSize--;
+
+            // Geri kaydirmali silme: sonraki yoklama zincirinde bosluk birakma
+            int gap = slot;
+            for (int next = (gap + 1) & mask; values[next] != ABSENT; next = (next + 1) & mask) {
+                int home = slot(keys[next]);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    fingerprints[gap] = fingerprints[next];
+                    gap = next;
+                }
+            }
+            values[gap] = ABSENT;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            long[] oldFingerprints = fingerprints;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            fingerprints = new long[oldFingerprints.length * 2];
+            mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != ABSENT) {
+                    int slot = slot(oldKeys[i]);
+                    while (values[slot] != ABSENT) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                    fingerprints[slot] = oldFingerprints[i];
+                }
+            }
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.service.abstracts.CsvRecordReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Kanal uzerinden ham byte'lari okuyan UTF-8 CSV okuyucu.
+// Satir once byte seviyesinde taranip sutun sinirlari bulunur; String sadece
+// projeksiyonda istenen sutunlar icin olusturulur, digerleri atlanir.
+// Tirnak kurallari opencsv varsayilanlariyla aynidir: "" ve tirnak icinde \" / \\ kacislari,
+// tirnak icindeki satir sonlari \n olarak korunur. Sutunlar String.trim gibi kirpilir.
+public class Utf8CsvRecordReader implements CsvRecordReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private static final int NEED_MORE = -1;
+    private static final int END_OF_INPUT = -2;
+
+    private final ReadableByteChannel channel;
+    private byte[] buffer;
+    private int recordStart;
+    private int limit;
+    private long bufferOffset;
+    private boolean eof;
+    private boolean bomChecked;
+    private boolean completeRecordsOnly;
+    private int[] projection;
+    private int lastProjectedColumn = Integer.MAX_VALUE;
+
+    private int fieldCount;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldQuoted = new boolean[16];
+    private byte[] scratch = new byte[256];
+
+    public Utf8CsvRecordReader(Path csvFile) throws IOException {
+        this(FileChannel.open(csvFile, StandardOpenOption.READ), DEFAULT_BUFFER_SIZE);
+    }
+
+    public Utf8CsvRecordReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public Utf8CsvRecordReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = new byte[Math.max(64, bufferSize)];
+    }
+
+    @Override
+    public String[] readNext() throws IOException {
+        if (!bomChecked) {
+            skipBom();
+        }
+
+        while (true) {
+            int next = scanRecord();
+            if (next == END_OF_INPUT) {
+                return null;
+            }
+            if (next == NEED_MORE) {
+                fill();
+                continue;
+            }
+
+            String[] record = materialize();
+            recordStart = next;
+            return record;
+        }
+    }
+
+    @Override
+    public void setProjection(int[] columns) {
+        this.projection = columns;
+        this.lastProjectedColumn = Integer.MAX_VALUE;
+        if (columns != null) {
+            this.lastProjectedColumn = -1;
+            for (int column : columns) {
+                lastProjectedColumn = Math.max(lastProjectedColumn, column);
+            }
+        }
+    }
+
+    // Okunan son kaydin bittigi mutlak byte konumu
+    public long getPosition() {
+        return bufferOffset + recordStart;
+    }
+
+    // Acikken dosya sonundaki satir sonu gelmemis kayit dondurulmez; hala yazilan dosyanin
+    // yarim satiri okunmaz, getPosition o kaydin basinda kalir
+    public void setCompleteRecordsOnly(boolean completeRecordsOnly) {
+        this.completeRecordsOnly = completeRecordsOnly;
+    }
+
+    // Kanal dosyanin verilen konumundan baslayan devami ise (or. parca parca yuklenen dosya) okumadan
+    // once cagrilir; getPosition mutlak konum dondurur, dosya basinda degilse BOM aranmaz
+    public void resumeAt(long offset) {
+        bufferOffset = offset;
+        bomChecked = bomChecked || offset > 0;
+    }
+
+    // Okunmus ama kayda donusmemis byte'lar: completeRecordsOnly ile satir sonu gelmemis son kayit
+    public byte[] remaining() {
+        return Arrays.copyOfRange(buffer, recordStart, limit);
+    }
+
+    public boolean isSeekable() {
+        return channel instanceof SeekableByteChannel;
+    }
+
+    // Okumayi verilen mutlak byte konumundaki kayittan surdurur; konum bir kayit baslangici olmali
+    public void seek(long offset) throws IOException {
+        if (!(channel instanceof SeekableByteChannel seekable)) {
+            throw new IOException("Kanal konumlandirilamiyor");
+        }
+        seekable.position(offset);
+        bufferOffset = offset;
+        recordStart = 0;
+        limit = 0;
+        eof = false;
+        bomChecked = bomChecked || offset > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void skipBom() throws IOException {
+        while (limit - recordStart < 3 && !eof) {
+            fill();
+        }
+        if (limit - recordStart >= 3
+                && buffer[recordStart] == (byte) 0xEF
+                && buffer[recordStart + 1] == (byte) 0xBB
+                && buffer[recordStart + 2] == (byte) 0xBF) {
+            recordStart += 3;
+        }
+        bomChecked = true;
+    }
+
+    // Kaydin sutun sinirlarini bulur; kayit tamamsa bir sonraki kaydin baslangicini dondurur
+    private int scanRecord() throws IOException {
+        fieldCount = 0;
+        int fieldStart = recordStart;
+        boolean inQuotes = false;
+        boolean quoted = false;
+        byte[] buf = buffer;
+
+        for (int i = recordStart; i < limit; i++) {
+            byte b = buf[i];
+
+            if (inQuotes) {
+                if (b == '"') {
+                    inQuotes = false;
+                } else if (b == '\\') {
+                    if (i + 1 >= limit) {
+                        if (!eof) {
+                            return NEED_MORE;
+                        }
+                    } else if (buf[i + 1] == '"' || buf[i + 1] == '\\') {
+                        i++;
+                    }
+                }
+                continue;
+            }
+
+            if (b == ',') {
+                addField(fieldStart, i, quoted);
+                fieldStart = i + 1;
+                quoted = false;
+            } else if (b == '\n') {
+                addField(fieldStart, i, quoted);
+                return i + 1;
+            } else if (b == '\r') {
+                if (i + 1 >= limit && !eof) {
+                    return NEED_MORE;
+                }
+                if (i + 1 >= limit && completeRecordsOnly) {
+                    // \r\n'in \n'i henuz yazilmamis olabilir
+                    return END_OF_INPUT;
+                }
+                addField(fieldStart, i, quoted);
+                return i + 1 < limit && buf[i + 1] == '\n' ? i + 2 : i + 1;
+            } else if (b == '"') {
+                inQuotes = true;
+                quoted = true;
+            }
+        }
+
+        if (!eof) {
+            return NEED_MORE;
+        }
+        if (recordStart >= limit || completeRecordsOnly) {
+            return END_OF_INPUT;
+        }
+        if (inQuotes) {
+            throw new IOException("Kapanmamis tirnak: " + getPosition() + ". byte'ta baslayan kayit");
+        }
+        addField(fieldStart, limit, quoted);
+        return limit;
+    }
+
+    private void addField(int start, int end, boolean quoted) {
+        if (fieldCount > lastProjectedColumn) {
+            // Projeksiyondan sonraki sutunlarin sadece sayisi tutulur
+            fieldCount++;
+            return;
+        }
+        if (fieldCount == fieldStarts.length) {
+            int size = fieldCount * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, size);
+            fieldEnds = Arrays.copyOf(fieldEnds, size);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, size);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldQuoted[fieldCount] = quoted;
+        fieldCount++;
+    }
+
+    private String[] materialize() {
+        if (projection == null) {
+            String[] record = new String[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                record[i] = decodeField(i);
+            }
+            return record;
+        }
+
+        String[] record = new String[projection.length];
+        for (int i = 0; i < projection.length; i++) {
+            int column = projection[i];
+            record[i] = column < fieldCount ? decodeField(column) : null;
+        }
+        return record;
+    }
+
+    private String decodeField(int index) {
+        if (fieldQuoted[index]) {
+            return decodeQuoted(fieldStarts[index], fieldEnds[index]);
+        }
+        return trimmedString(buffer, fieldStarts[index], fieldEnds[index]);
+    }
+
+    private String decodeQuoted(int start, int end) {
+        if (scratch.length < end - start) {
+            scratch = new byte[Math.max(end - start, scratch.length * 2)];
+        }
+
+        byte[] buf = buffer;
+        int length = 0;
+        boolean inQuotes = false;
+        for (int i = start; i < end; i++) {
+            byte b = buf[i];
+            if (inQuotes) {
+                if (b == '"') {
+                    if (i + 1 < end && buf[i + 1] == '"') {
+                        scratch[length++] = '"';
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else if (b == '\\' && i + 1 < end && (buf[i + 1] == '"' || buf[i + 1] == '\\')) {
+                    scratch[length++] = buf[++i];
+                } else if (b == '\r') {
+                    scratch[length++] = '\n';
+                    if (i + 1 < end && buf[i + 1] == '\n') {
+                        i++;
+                    }
+                } else {
+                    scratch[length++] = b;
+                }
+            } else if (b == '"') {
+                inQuotes = true;
+            } else {
+                scratch[length++] = b;
+            }
+        }
+        return trimmedString(scratch, 0, length);
+    }
+
+    private static String trimmedString(byte[] bytes, int start, int end) {
+        while (start < end && (bytes[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        return start == end ? "" : new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private void fill() throws IOException {
+        if (recordStart > 0) {
+            System.arraycopy(buffer, recordStart, buffer, 0, limit - recordStart);
+            bufferOffset += recordStart;
+            limit -= recordStart;
+            recordStart = 0;
+        }
+        if (limit == buffer.length) {
+            // Tampondan uzun kayit: tamponu buyut
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.backend.utility;
+
+import java.math.BigInteger;
+
+// IPv4/IPv6 metnini tek geciste, ara String veya regex olusturmadan sayiya ceviren ayristirici.
+// IpValidationUtil ve IpParseUtil'in tum format kontrolleri ve donusumleri buradan gecer.
+// Metodlar [from, to) araligini okur; bosluk kirpma cagirana aittir.
+public final class IpAddressParser {
+
+    // Gecersiz IPv4 sonucu; gecerli adresler 0..2^32-1 arasindadir
+    public static final long INVALID = -1;
+
+    private IpAddressParser() {
+    }
+
+    // Dort nokta ayrimli 0-255 arasi onluk sayi; her oktet 1-3 rakam (bastaki sifir kabul edilir)
+    public static long parseIpv4(CharSequence text, int from, int to) {
+        if (from >= to) {
+            return INVALID;
+        }
+        long address = 0;
+        int octets = 0;
+        int i = from;
+        while (true) {
+            int value = 0;
+            int digits = 0;
+            while (i < to && digits < 4) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 3 || value > 255) {
+                return INVALID;
+            }
+            address = address << 8 | value;
+            if (++octets == 4) {
+                return i == to ? address : INVALID;
+            }
+            if (i >= to || text.charAt(i) != '.') {
+                return INVALID;
+            }
+            i++;
+        }
+    }
+
+    public static long parseIpv4(CharSequence text) {
+        return text == null ? INVALID : parseIpv4(text, 0, text.length());
+    }
+
+    // 8 gruplu, en fazla bir "::" ile kisaltilmis IPv6. Gecerliyse true ve out != null ise
+    // out[0] ust 64 bit, out[1] alt 64 bit olur. requireFull: "::" kisaltmasina izin verme.
+    public static boolean parseIpv6(CharSequence text, int from, int to, long[] out, boolean requireFull) {
+        if (to - from < 2) {
+            return false;
+        }
+        // Grup degerleri 16 bit; "::" oncesi ve sonrasi ayri toplanir
+        long headHi = 0;
+        long headLo = 0;
+        long tailHi = 0;
+        long tailLo = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+
+        int i = from;
+        if (text.charAt(i) == ':') {
+            if (text.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+            if (i == to) {
+                return fill(out, 0, 0, requireFull);
+            }
+        }
+
+        while (true) {
+            int value = 0;
+            int digits = 0;
+            while (i < to) {
+                int hex = hexValue(text.charAt(i));
+                if (hex < 0) {
+                    break;
+                }
+                if (++digits > 4) {
+                    return false;
+                }
+                value = value << 4 | hex;
+                i++;
+            }
+            if (digits == 0) {
+                return false;
+            }
+            if (compressed) {
+                tailHi = tailHi << 16 | tailLo >>> 48;
+                tailLo = tailLo << 16 | value;
+                tailGroups++;
+            } else {
+                headHi = headHi << 16 | headLo >>> 48;
+                headLo = headLo << 16 | value;
+                headGroups++;
+            }
+            if (headGroups + tailGroups > 8) {
+                return false;
+            }
+            if (i == to) {
+                break;
+            }
+            if (text.charAt(i) != ':') {
+                return false;
+            }
+            i++;
+            if (i < to && text.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+                if (i == to) {
+                    break;
+                }
+            } else if (i == to) {
+                return false;
+            }
+        }
+
+        if (!compressed) {
+            return headGroups == 8 && fill(out, headHi, headLo, false);
+        }
+        if (requireFull || headGroups + tailGroups > 7) {
+            return false;
+        }
+        // Bas gruplar "::" ile atlanan sifir gruplar kadar sola kayar, son gruplar en sagda kalir
+        int shift = 16 * (8 - headGroups);
+        long hi;
+        long lo;
+        if (shift >= 64) {
+            hi = shift == 128 ? 0 : headLo << (shift - 64);
+            lo = 0;
+        } else {
+            hi = headHi << shift | (shift == 0 ? 0 : headLo >>> (64 - shift));
+            lo = headLo << shift;
+        }
+        return fill(out, hi | tailHi, lo | tailLo, false);
+    }
+
+    public static boolean parseIpv6(CharSequence text, long[] out) {
+        return text != null && parseIpv6(text, 0, text.length(), out, false);
+    }
+
+    // 0..max arasi onluk sayi (en fazla 3 rakam); gecersizse -1
+    public static int parsePrefix(CharSequence text, int from, int to, int max) {
+        if (from >= to || to - from > 3) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= max ? value : -1;
+    }
+
+    // String.trim ile ayni karakterler; bas ve son indeksi ayri ayri doner
+    public static int trimStart(CharSequence text) {
+        int i = 0;
+        while (i < text.length() && text.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    public static int trimEnd(CharSequence text, int from) {
+        int i = text.length();
+        while (i > from && text.charAt(i - 1) <= ' ') {
+            i--;
+        }
+        return i;
+    }
+
+    public static int indexOf(CharSequence text, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static String formatIpv4(long address) {
+        StringBuilder builder = new StringBuilder(15);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            builder.append((address >>> shift) & 0xFF);
+            if (shift > 0) {
+                builder.append('.');
+            }
+        }
+        return builder.toString();
+    }
+
+    // Ust/alt 64 bitten isaretsiz 128 bit deger
+    public static BigInteger toBigInteger(long hi, long lo) {
+        byte[] bytes = new byte[17];
+        for (int i = 0; i < 8; i++) {
+            bytes[1 + i] = (byte) (hi >>> (56 - 8 * i));
+            bytes[9 + i] = (byte) (lo >>> (56 - 8 * i));
+        }
+        return new BigInteger(bytes);
+    }
+
+    private static boolean fill(long[] out, long hi, long lo, boolean requireFull) {
+        if (requireFull) {
+            return false;
+        }
+        if (out != null) {
+            out[0] = hi;
+            out[1] = lo;
+        }
+        return true;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
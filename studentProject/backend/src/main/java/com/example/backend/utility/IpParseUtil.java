@@ -1,5 +1,6 @@
 package com.example.backend.utility;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -89,6 +90,66 @@ public class IpParseUtil {
     }
 
 
+    // Girisin kapsadigi adreslerin sayisal araligi; tekil IP icin start == end.
+    // IPv4 0..2^32-1, IPv6 0..2^128-1 arasindadir; version 4 veya 6
+    public record IpRange(int version, BigInteger start, BigInteger end) {
+    }
+
+    // Gecersiz giriste null
+    public static IpRange toRange(String input) {
+        IpInputType type = getInputType(input);
+        if (type == IpInputType.INVALID) {
+            return null;
+        }
+
+        int from = IpAddressParser.trimStart(input);
+        int to = IpAddressParser.trimEnd(input, from);
+        switch (type) {
+            case SINGLE_IPV4: {
+                BigInteger address = BigInteger.valueOf(IpAddressParser.parseIpv4(input, from, to));
+                return new IpRange(4, address, address);
+            }
+            case SINGLE_IPV6: {
+                BigInteger address = ipv6(input, from, to);
+                return new IpRange(6, address, address);
+            }
+            case CIDR_IPV4:
+            case CIDR_IPV6: {
+                int slash = input.indexOf('/', from);
+                int bits = type == IpInputType.CIDR_IPV4 ? 32 : 128;
+                BigInteger address = type == IpInputType.CIDR_IPV4
+                        ? BigInteger.valueOf(IpAddressParser.parseIpv4(input, from, slash))
+                        : ipv6(input, from, slash);
+                int prefix = IpAddressParser.parsePrefix(input, slash + 1, to, bits);
+                BigInteger hostMask = BigInteger.ONE.shiftLeft(bits - prefix).subtract(BigInteger.ONE);
+                BigInteger network = address.andNot(hostMask);
+                return new IpRange(bits == 32 ? 4 : 6, network, network.or(hostMask));
+            }
+            default: {
+                int dash = input.indexOf('-', from);
+                boolean ipv4 = type == IpInputType.IP_RANGE_IPV4;
+                BigInteger first = ipv4 ? BigInteger.valueOf(IpAddressParser.parseIpv4(input, from, dash))
+                        : ipv6(input, from, dash);
+                BigInteger last = ipv4 ? BigInteger.valueOf(IpAddressParser.parseIpv4(input, dash + 1, to))
+                        : ipv6(input, dash + 1, to);
+                return new IpRange(ipv4 ? 4 : 6, first.min(last), first.max(last));
+            }
+        }
+    }
+
+    // Format getInputType ile dogrulanmis olmalidir
+    private static BigInteger ipv6(String input, int from, int to) {
+        long[] halves = new long[2];
+        IpAddressParser.parseIpv6(input, from, to, halves, false);
+        return IpAddressParser.toBigInteger(halves[0], halves[1]);
+    }
+
+    // Subnet veya aralik mi (tekil IP degil)
+    public static boolean isRangeInput(String input) {
+        IpInputType type = getInputType(input);
+        return type != IpInputType.INVALID && type != IpInputType.SINGLE_IPV4 && type != IpInputType.SINGLE_IPV6;
+    }
+
     // IP giriş tipini tanımlayan enum
 
     public enum IpInputType {
@@ -1,27 +1,10 @@
 package com.example.backend.utility;
 
-import java.util.regex.Pattern;
+import java.math.BigInteger;
 import java.util.List;
 
 public class IpValidationUtil {
 
-    // Regex patterns - static final olarak tanımlanmış
-    private static final Pattern IPV4_PATTERN = Pattern.compile(
-            "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
-    );
-
-    private static final Pattern IPV4_CIDR_PATTERN = Pattern.compile(
-            "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)/([0-9]|[1-2][0-9]|3[0-2])$"
-    );
-    
-    private static final Pattern IPV4_RANGE_PATTERN = Pattern.compile(
-            "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)-((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
-    );
-
-    private static final Pattern IPV6_RANGE_PATTERN = Pattern.compile(
-            "^([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}-([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}$"
-    );
-
     // Network ve broadcast adresleri için sabitler
     private static final String[] RESERVED_IPV4_ADDRESSES = {
         "0.0.0.0", "127.0.0.0", "169.254.0.0", "224.0.0.0", "240.0.0.0", "255.255.255.255"
@@ -37,114 +20,74 @@ public class IpValidationUtil {
         "250.", "251.", "252.", "253.", "254.", "255."
     };
 
-    // Temel IP doğrulama metodları
+    // Temel IP doğrulama metodları. Format kontrolleri regex/split yerine IpAddressParser ile tek geciste yapilir
     public static boolean isValidIpv4(String ip) {
-        return ip != null && !ip.trim().isEmpty() && IPV4_PATTERN.matcher(ip.trim()).matches();
+        if (ip == null) {
+            return false;
+        }
+        int from = IpAddressParser.trimStart(ip);
+        return IpAddressParser.parseIpv4(ip, from, IpAddressParser.trimEnd(ip, from)) != IpAddressParser.INVALID;
     }
 
     public static boolean isValidIpv4Cidr(String cidr) {
-        return cidr != null && !cidr.trim().isEmpty() && IPV4_CIDR_PATTERN.matcher(cidr.trim()).matches();
+        return cidr != null && ipv4CidrPrefix(cidr) >= 0;
     }
 
     public static boolean isValidIpv4Range(String ipRange) {
-        return ipRange != null && !ipRange.trim().isEmpty() && IPV4_RANGE_PATTERN.matcher(ipRange.trim()).matches();
-    }
-
-    public static boolean isValidIpv6Range(String ipRange) {
-        return ipRange != null && !ipRange.trim().isEmpty() && IPV6_RANGE_PATTERN.matcher(ipRange.trim()).matches();
-    }
-
-    public static boolean isValidIpv6Cidr(String cidr) {
-        if (cidr == null || cidr.trim().isEmpty() || !cidr.contains("/")) {
-            return false;
-        }
-
-        String[] parts = cidr.split("/");
-        if (parts.length != 2) {
-            return false;
-        }
-
-        try {
-            int mask = Integer.parseInt(parts[1]);
-            return mask >= 0 && mask <= 128 && isValidIpv6(parts[0]);
-        } catch (NumberFormatException e) {
+        if (ipRange == null) {
             return false;
         }
+        int from = IpAddressParser.trimStart(ipRange);
+        int to = IpAddressParser.trimEnd(ipRange, from);
+        int dash = IpAddressParser.indexOf(ipRange, '-', from, to);
+        return dash > 0
+                && IpAddressParser.parseIpv4(ipRange, from, dash) != IpAddressParser.INVALID
+                && IpAddressParser.parseIpv4(ipRange, dash + 1, to) != IpAddressParser.INVALID;
     }
 
-    public static boolean isValidIpv6(String ip) {
-        if (ip == null || ip.trim().isEmpty()) {
-            return false;
-        }
-
-        String trimmedIp = ip.trim();
-
-        // Özel IPv6 adresleri
-        if (trimmedIp.equals("::1") || trimmedIp.equals("::")) {
-            return true;
-        }
-
-        if (!trimmedIp.contains(":")) {
+    // Iki taraf da kisaltilmamis 8 gruplu yazilmalidir
+    public static boolean isValidIpv6Range(String ipRange) {
+        if (ipRange == null) {
             return false;
         }
-
-        // Çift iki nokta üst üste (::) kontrolü
-        if (trimmedIp.contains("::")) {
-            return isValidCompressedIpv6(trimmedIp);
-        } else {
-            return isValidFullIpv6(trimmedIp);
-        }
+        int from = IpAddressParser.trimStart(ipRange);
+        int to = IpAddressParser.trimEnd(ipRange, from);
+        int dash = IpAddressParser.indexOf(ipRange, '-', from, to);
+        return dash > 0
+                && IpAddressParser.parseIpv6(ipRange, from, dash, null, true)
+                && IpAddressParser.parseIpv6(ipRange, dash + 1, to, null, true);
     }
 
-    private static boolean isValidCompressedIpv6(String ip) {
-        // Sadece bir tane :: olmalı
-        if (ip.indexOf("::") != ip.lastIndexOf("::")) {
-            return false;
-        }
-
-        if (ip.equals("::")) {
-            return true;
-        }
-
-        String[] parts = ip.split("::");
-        if (parts.length != 2) {
+    public static boolean isValidIpv6Cidr(String cidr) {
+        if (cidr == null) {
             return false;
         }
-
-        return isValidHexGroups(parts[0]) && isValidHexGroups(parts[1]);
+        int from = IpAddressParser.trimStart(cidr);
+        int to = IpAddressParser.trimEnd(cidr, from);
+        int slash = IpAddressParser.indexOf(cidr, '/', from, to);
+        return slash > 0
+                && IpAddressParser.parsePrefix(cidr, slash + 1, to, 128) >= 0
+                && IpAddressParser.parseIpv6(cidr, from, slash, null, false);
     }
 
-    private static boolean isValidFullIpv6(String ip) {
-        String[] groups = ip.split(":");
-        if (groups.length != 8) {
+    public static boolean isValidIpv6(String ip) {
+        if (ip == null) {
             return false;
         }
-
-        for (String group : groups) {
-            if (!isValidHexGroup(group)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private static boolean isValidHexGroup(String group) {
-        return group != null && !group.isEmpty() && group.length() <= 4 && 
-               group.matches("[0-9a-fA-F]{1,4}");
+        int from = IpAddressParser.trimStart(ip);
+        return IpAddressParser.parseIpv6(ip, from, IpAddressParser.trimEnd(ip, from), null, false);
     }
 
-    private static boolean isValidHexGroups(String groups) {
-        if (groups == null || groups.isEmpty()) {
-            return true;
-        }
-
-        String[] groupArray = groups.split(":");
-        for (String group : groupArray) {
-            if (!isValidHexGroup(group)) {
-                return false;
-            }
+    // Gecerli IPv4 CIDR ise prefix uzunlugu, degilse -1. Prefix bastaki sifir olmadan 0-32 yazilmalidir
+    private static int ipv4CidrPrefix(String cidr) {
+        int from = IpAddressParser.trimStart(cidr);
+        int to = IpAddressParser.trimEnd(cidr, from);
+        int slash = IpAddressParser.indexOf(cidr, '/', from, to);
+        if (slash < 0 || IpAddressParser.parseIpv4(cidr, from, slash) == IpAddressParser.INVALID
+                || to - slash > 3 || (to - slash == 3 && cidr.charAt(slash + 1) == '0')) {
+            return -1;
         }
-        return true;
+        return IpAddressParser.parsePrefix(cidr, slash + 1, to, 32);
     }
 
     // Ana IP doğrulama metodu
@@ -166,58 +109,36 @@ public class IpValidationUtil {
 
     // Subnet doğrulama metodları
     private static boolean isValidIpv4Subnet(String cidr) {
-        try {
-            String[] parts = cidr.split("/");
-            String ip = parts[0];
-            int mask = Integer.parseInt(parts[1]);
-
-            return mask >= 0 && mask <= 32 && isValidIpv4(ip) && isIpv4NetworkAddress(ip, mask);
-        } catch (Exception e) {
+        int mask = ipv4CidrPrefix(cidr);
+        if (mask < 0) {
             return false;
         }
+        int from = IpAddressParser.trimStart(cidr);
+        long ipLong = IpAddressParser.parseIpv4(cidr, from, cidr.indexOf('/', from));
+        return isIpv4NetworkAddress(ipLong, mask);
     }
 
     private static boolean isValidIpv6Subnet(String cidr) {
-        try {
-            String[] parts = cidr.split("/");
-            String ip = parts[0];
-            int mask = Integer.parseInt(parts[1]);
-
-            return mask >= 0 && mask <= 128 && isValidIpv6(ip);
-        } catch (Exception e) {
-            return false;
-        }
+        return isValidIpv6Cidr(cidr);
     }
 
     // Range doğrulama metodları
     private static boolean isValidIpv4RangeLogic(String ipRange) {
-        try {
-            String[] parts = ipRange.split("-");
-            String startIp = parts[0];
-            String endIp = parts[1];
-
-            return isValidIpv4(startIp) && isValidIpv4(endIp) && 
-                   ipToLong(startIp) <= ipToLong(endIp);
-        } catch (Exception e) {
+        if (!isValidIpv4Range(ipRange)) {
             return false;
         }
+        int from = IpAddressParser.trimStart(ipRange);
+        int to = IpAddressParser.trimEnd(ipRange, from);
+        int dash = ipRange.indexOf('-', from);
+        return IpAddressParser.parseIpv4(ipRange, from, dash) <= IpAddressParser.parseIpv4(ipRange, dash + 1, to);
     }
 
     private static boolean isValidIpv6RangeLogic(String ipRange) {
-        try {
-            String[] parts = ipRange.split("-");
-            String startIp = parts[0];
-            String endIp = parts[1];
-
-            return isValidIpv6(startIp) && isValidIpv6(endIp);
-        } catch (Exception e) {
-            return false;
-        }
+        return isValidIpv6Range(ipRange);
     }
 
     // Network adresi kontrolü
-    private static boolean isIpv4NetworkAddress(String ip, int mask) {
-        long ipLong = ipToLong(ip);
+    private static boolean isIpv4NetworkAddress(long ipLong, int mask) {
         long networkMask = (0xFFFFFFFFL << (32 - mask)) & 0xFFFFFFFFL;
         return (ipLong & networkMask) == ipLong;
     }
@@ -252,15 +173,8 @@ public class IpValidationUtil {
         
         // 172.16-31.x.x
         if (ip.startsWith("172.")) {
-            String[] parts = ip.split("\\.");
-            if (parts.length == 4) {
-                try {
-                    int secondOctet = Integer.parseInt(parts[1]);
-                    return secondOctet >= 16 && secondOctet <= 31 && parts[3].equals("0");
-                } catch (NumberFormatException e) {
-                    return false;
-                }
-            }
+            long secondOctet = (ipToLong(ip.trim()) >>> 16) & 0xFF;
+            return secondOctet >= 16 && secondOctet <= 31 && ip.endsWith(".0");
         }
         
         // 192.168.x.x
@@ -295,15 +209,8 @@ public class IpValidationUtil {
         
         // 172.16-31.x.255
         if (ip.startsWith("172.")) {
-            String[] parts = ip.split("\\.");
-            if (parts.length == 4) {
-                try {
-                    int secondOctet = Integer.parseInt(parts[1]);
-                    return secondOctet >= 16 && secondOctet <= 31 && parts[3].equals("255");
-                } catch (NumberFormatException e) {
-                    return false;
-                }
-            }
+            long secondOctet = (ipToLong(ip.trim()) >>> 16) & 0xFF;
+            return secondOctet >= 16 && secondOctet <= 31 && ip.endsWith(".255");
         }
         
         // 192.168.x.255
@@ -406,103 +313,36 @@ public class IpValidationUtil {
             return false;
         }
 
-        if (isValidIpv4Cidr(rangeOrSubnet)) {
-            return isIpInCidrRange(ipAddress, rangeOrSubnet);
-        }
-        if (isValidIpv4Range(rangeOrSubnet)) {
-            return isIpInIpRange(ipAddress, rangeOrSubnet);
-        }
-        if (isValidIpv6Cidr(rangeOrSubnet)) {
-            return isIpInIpv6CidrRange(ipAddress, rangeOrSubnet);
-        }
-        if (isValidIpv6Range(rangeOrSubnet)) {
-            return isIpInIpv6Range(ipAddress, rangeOrSubnet);
-        }
-        
-        return false;
-    }
-
-    private static boolean isIpInCidrRange(String ipAddress, String cidr) {
-        try {
-            String[] parts = cidr.split("/");
-            if (parts.length != 2) return false;
-
-            String networkAddress = parts[0];
-            int prefixLength = Integer.parseInt(parts[1]);
-
-            long networkLong = ipToLong(networkAddress);
-            long ipLong = ipToLong(ipAddress);
-            long subnetMask = (0xFFFFFFFFL << (32 - prefixLength)) & 0xFFFFFFFFL;
-
-            return (networkLong & subnetMask) == (ipLong & subnetMask);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private static boolean isIpInIpRange(String ipAddress, String ipRange) {
-        try {
-            String[] parts = ipRange.split("-");
-            if (parts.length != 2) return false;
-
-            String startIp = parts[0].trim();
-            String endIp = parts[1].trim();
-
-            long ipLong = ipToLong(ipAddress);
-            long startLong = ipToLong(startIp);
-            long endLong = ipToLong(endIp);
-
-            return ipLong >= startLong && ipLong <= endLong;
-        } catch (Exception e) {
+        // Adres ve aralik sayiya cevrilip karsilastirilir; IPv6 icin de kisaltilmis yazim fark etmez
+        if (!IpParseUtil.isRangeInput(rangeOrSubnet)) {
             return false;
         }
+        IpParseUtil.IpRange address = IpParseUtil.toRange(ipAddress);
+        IpParseUtil.IpRange range = IpParseUtil.toRange(rangeOrSubnet);
+        return address != null && range != null && address.version() == range.version()
+                && address.start().compareTo(range.start()) >= 0 && address.start().compareTo(range.end()) <= 0;
     }
 
-    private static boolean isIpInIpv6CidrRange(String ipAddress, String cidr) {
-        try {
-            String[] parts = cidr.split("/");
-            if (parts.length != 2) return false;
-
-            String networkAddress = parts[0];
-            return ipAddress.toLowerCase().startsWith(networkAddress.toLowerCase());
-        } catch (Exception e) {
-            return false;
-        }
+    // IP dönüştürme metodları. Gecerli bir IPv4 adresi degilse 0
+    public static long ipToLong(String ipAddress) {
+        long address = IpAddressParser.parseIpv4(ipAddress);
+        return address != IpAddressParser.INVALID ? address : 0;
     }
 
-    private static boolean isIpInIpv6Range(String ipAddress, String ipRange) {
-        try {
-            String[] parts = ipRange.split("-");
-            if (parts.length != 2) return false;
-
-            String startIp = parts[0].trim();
-            String endIp = parts[1].trim();
-
-            String lowerIp = ipAddress.toLowerCase();
-            return lowerIp.equals(startIp.toLowerCase()) || lowerIp.equals(endIp.toLowerCase());
-        } catch (Exception e) {
-            return false;
+    // 128 bitlik isaretsiz deger; gecerli bir IPv6 adresi degilse null
+    public static BigInteger ipv6ToBigInteger(String ipAddress) {
+        if (ipAddress == null) {
+            return null;
         }
-    }
-
-    // IP dönüştürme metodları
-    public static long ipToLong(String ipAddress) {
-        String[] parts = ipAddress.split("\\.");
-        if (parts.length != 4) return 0;
-
-        long result = 0;
-        for (int i = 0; i < 4; i++) {
-            result = result << 8 | Integer.parseInt(parts[i]);
+        long[] halves = new long[2];
+        int from = IpAddressParser.trimStart(ipAddress);
+        if (!IpAddressParser.parseIpv6(ipAddress, from, IpAddressParser.trimEnd(ipAddress, from), halves, false)) {
+            return null;
         }
-        return result;
+        return IpAddressParser.toBigInteger(halves[0], halves[1]);
     }
 
     public static String longToIp(long ip) {
-        return String.format("%d.%d.%d.%d",
-                (ip >> 24) & 0xFF,
-                (ip >> 16) & 0xFF,
-                (ip >> 8) & 0xFF,
-                ip & 0xFF
-        );
+        return IpAddressParser.formatIpv4(ip);
     }
 }
@@ -0,0 +1,115 @@
+package com.example.backend.controller;
+
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.service.concretes.CsvUploadService;
+import com.example.backend.service.concretes.CsvUploadSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Servis hatalari HTTP durumlarina cevrilir: konum uyusmazligi 409, kopan parca 400, ikisi de
+// istemcinin devam edecegi receivedBytes ile birlikte doner
+class CsvUploadControllerTest {
+
+    private final CsvUploadService service = mock(CsvUploadService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new CsvUploadController(service)).build();
+
+    @Test
+    void startRejectsInvalidName() throws Exception {
+        when(service.start("a.csv.gz")).thenThrow(new IllegalArgumentException("gecersiz"));
+        mvc.perform(post("/api/v3/files/uploads").param("fileName", "a.csv.gz"))
+                .andExpect(status().isBadRequest());
+
+        CsvUploadSession upload = session(CsvUploadSession.Status.RECEIVING, 0);
+        when(service.start("a.csv")).thenReturn(upload);
+        mvc.perform(post("/api/v3/files/uploads").param("fileName", "a.csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadId").value("u1"))
+                .andExpect(jsonPath("$.status").value("RECEIVING"))
+                .andExpect(jsonPath("$.receivedBytes").value(0));
+    }
+
+    @Test
+    void appendPassesBodyOffsetAndLast() throws Exception {
+        CsvUploadSession upload = session(CsvUploadSession.Status.DONE, 31);
+        doAnswer(invocation -> {
+            byte[] bytes = invocation.<InputStream>getArgument(2).readAllBytes();
+            return bytes.length == 11 ? upload : null;
+        }).when(service).append(eq("u1"), eq(20L), any(), eq(true));
+
+        mvc.perform(put("/api/v3/files/uploads/u1").param("offset", "20").param("last", "true")
+                        .content("Ali,Veli,1\n".getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.receivedBytes").value(31));
+    }
+
+    @Test
+    void offsetMismatchReturnsConflictWithCurrentState() throws Exception {
+        CsvUploadSession upload = session(CsvUploadSession.Status.RECEIVING, 20);
+        when(service.append(eq("u1"), eq(0L), any(), anyBoolean()))
+                .thenThrow(new IllegalStateException("Beklenen konum 20, gelen 0"));
+        when(service.get("u1")).thenReturn(upload);
+
+        mvc.perform(put("/api/v3/files/uploads/u1").param("offset", "0").content(new byte[]{'x'}))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.receivedBytes").value(20));
+        verify(service).append(eq("u1"), eq(0L), any(), eq(false));
+    }
+
+    // Kopan parcadan sonra istemci GET ile de kaldigi konumu ogrenebilir
+    @Test
+    void brokenChunkReturnsBadRequestWithResumeOffset() throws Exception {
+        CsvUploadSession upload = session(CsvUploadSession.Status.RECEIVING, 16);
+        when(service.append(anyString(), anyLong(), any(), anyBoolean())).thenThrow(new IOException("koptu"));
+        when(service.get("u1")).thenReturn(upload);
+
+        mvc.perform(put("/api/v3/files/uploads/u1").param("offset", "0").content(new byte[]{'x'}))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.receivedBytes").value(16));
+        mvc.perform(get("/api/v3/files/uploads/u1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(16));
+    }
+
+    @Test
+    void unknownUploadIsNotFound() throws Exception {
+        when(service.append(eq("yok"), anyLong(), any(), anyBoolean()))
+                .thenThrow(new ResourceNotFoundException("Yukleme bulunamadi: yok"));
+        when(service.get("yok")).thenThrow(new ResourceNotFoundException("Yukleme bulunamadi: yok"));
+
+        mvc.perform(put("/api/v3/files/uploads/yok").param("offset", "0").content(new byte[0]))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(""));
+        mvc.perform(get("/api/v3/files/uploads/yok"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static CsvUploadSession session(CsvUploadSession.Status status, long receivedBytes) {
+        CsvUploadSession upload = mock(CsvUploadSession.class);
+        when(upload.getUploadId()).thenReturn("u1");
+        when(upload.getFileName()).thenReturn("a.csv");
+        when(upload.getStatus()).thenReturn(status);
+        when(upload.getReceivedBytes()).thenReturn(receivedBytes);
+        return upload;
+    }
+}
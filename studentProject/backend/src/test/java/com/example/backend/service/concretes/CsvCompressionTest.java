@@ -0,0 +1,91 @@
+package com.example.backend.service.concretes;
+
+import io.airlift.compress.zstd.ZstdOutputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+// Dosya turu sadece adin sonundaki uzantidan belirlenir; sikistirilmis icerik akis halinde aynen cozulur
+class CsvCompressionTest {
+
+    @Test
+    void detectsTypeFromSuffix() {
+        assertSame(CsvCompression.NONE, CsvCompression.of("ogrenciler.csv"));
+        assertSame(CsvCompression.NONE, CsvCompression.of("OGRENCILER.CSV"));
+        assertSame(CsvCompression.GZIP, CsvCompression.of("ogrenciler.csv.gz"));
+        assertSame(CsvCompression.GZIP, CsvCompression.of("ogrenciler.CSV.GZ"));
+        assertSame(CsvCompression.ZSTD, CsvCompression.of("ogrenciler.csv.zst"));
+        assertSame(CsvCompression.NONE, CsvCompression.of("eski.csv.yedek.csv"));
+        assertNull(CsvCompression.of("ogrenciler.done"));
+        assertNull(CsvCompression.of("ogrenciler.csv.gz.done"));
+        assertNull(CsvCompression.of("ogrenciler.csv.fail"));
+        assertNull(CsvCompression.of("ogrenciler.gz"));
+        assertNull(CsvCompression.of("ogrenciler.csv.bz2"));
+    }
+
+    @Test
+    void baseNameStripsOnlyTrailingSuffix() {
+        assertEquals("ogrenciler", CsvCompression.NONE.baseName("ogrenciler.csv"));
+        assertEquals("OGRENCILER", CsvCompression.NONE.baseName("OGRENCILER.CSV"));
+        assertEquals("eski.csv.yedek", CsvCompression.NONE.baseName("eski.csv.yedek.csv"));
+        assertEquals("ogrenciler", CsvCompression.GZIP.baseName("ogrenciler.csv.gz"));
+        assertEquals("ogrenciler", CsvCompression.ZSTD.baseName("ogrenciler.CSV.ZST"));
+    }
+
+    // Sikistirilmis dosya .done/.fail olurken uzantisi korunur; x.done.gz gibi bir ad olusmaz
+    @Test
+    void archiveNameKeepsCompressionSuffix() {
+        assertEquals("ogrenciler.done", CsvProcessingService.archiveName("ogrenciler.csv", ".done"));
+        assertEquals("OGRENCILER.fail", CsvProcessingService.archiveName("OGRENCILER.CSV", ".fail"));
+        assertEquals("eski.csv.yedek.done", CsvProcessingService.archiveName("eski.csv.yedek.csv", ".done"));
+        assertEquals("ogrenciler.csv.gz.done", CsvProcessingService.archiveName("ogrenciler.csv.gz", ".done"));
+        assertEquals("ogrenciler.csv.zst.fail", CsvProcessingService.archiveName("ogrenciler.csv.zst", ".fail"));
+        assertNull(CsvCompression.of(CsvProcessingService.archiveName("ogrenciler.csv.gz", ".done")));
+    }
+
+    @Test
+    void decompressesStreams() throws IOException {
+        byte[] csv = sampleCsv();
+        assertArrayEquals(csv, readAll(CsvCompression.NONE.decompress(new ByteArrayInputStream(csv))));
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(csv);
+        }
+        assertArrayEquals(csv, readAll(CsvCompression.GZIP.decompress(new ByteArrayInputStream(gzip.toByteArray()))));
+
+        ByteArrayOutputStream zstd = new ByteArrayOutputStream();
+        try (OutputStream out = new ZstdOutputStream(zstd)) {
+            out.write(csv);
+        }
+        assertArrayEquals(csv, readAll(CsvCompression.ZSTD.decompress(new ByteArrayInputStream(zstd.toByteArray()))));
+    }
+
+    // Tampondan buyuk, rastgele (iyi sikismayan) ve Turkce karakterli icerik
+    private static byte[] sampleCsv() {
+        Random random = new Random(11);
+        StringBuilder csv = new StringBuilder("name,surname,number\n");
+        for (int row = 0; row < 20_000; row++) {
+            csv.append("Şükrü").append(random.nextInt()).append(",Öztürk,").append(random.nextLong()).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.service.concretes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Okuma sirasinda hesaplanan ozet, dosyanin ayri okunan SHA-256 ozetiyle ayni olmali; dosya tam
+// okunmadiysa veya okuma sirasinda atlandiysa ozet verilmemeli
+class CsvContentHashTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void matchesSha256OfFile() throws Exception {
+        byte[] content = randomBytes(3 * (1 << 20) + 17);
+        Path file = write("a.csv", content);
+
+        assertEquals(sha256(content), CsvContentHash.of(file));
+        assertEquals(sha256(new byte[0]), CsvContentHash.of(write("bos.csv", new byte[0])));
+    }
+
+    @Test
+    void sameContentSameHashRegardlessOfName() throws Exception {
+        byte[] content = randomBytes(1000);
+        assertEquals(CsvContentHash.of(write("a.csv", content)), CsvContentHash.of(write("b.csv.gz", content)));
+
+        content[999] ^= 1;
+        assertNotEquals(CsvContentHash.of(write("a.csv", randomBytes(1000))), CsvContentHash.of(write("c.csv", content)));
+    }
+
+    // Okuyucunun kucuk ve degisken parcalarla okumasi, hedef tamponun ortasina yazmasi ozeti degistirmez
+    @Test
+    void digestChannelHashesWhatTheReaderReads() throws Exception {
+        byte[] content = randomBytes(100_000);
+        Path file = write("a.csv", content);
+        Random random = new Random(2);
+        try (CsvContentHash.DigestChannel channel =
+                     new CsvContentHash.DigestChannel(FileChannel.open(file, StandardOpenOption.READ))) {
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            while (true) {
+                buffer.clear();
+                buffer.position(random.nextInt(100));
+                buffer.limit(buffer.position() + 1 + random.nextInt(3000));
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            assertEquals(sha256(content), channel.hex());
+        }
+    }
+
+    @Test
+    void noHashBeforeEndOfFile() throws Exception {
+        Path file = write("a.csv", randomBytes(10_000));
+        try (CsvContentHash.DigestChannel channel =
+                     new CsvContentHash.DigestChannel(FileChannel.open(file, StandardOpenOption.READ))) {
+            channel.read(ByteBuffer.allocate(5_000));
+            assertNull(channel.hex());
+        }
+    }
+
+    // Kaldigi yerden devam eden okuma (checkpoint) dosyanin bir kismini atlar
+    @Test
+    void noHashAfterSkippingBytes() throws Exception {
+        byte[] content = randomBytes(10_000);
+        Path file = write("a.csv", content);
+        try (CsvContentHash.DigestChannel channel =
+                     new CsvContentHash.DigestChannel(FileChannel.open(file, StandardOpenOption.READ))) {
+            channel.position(4_000);
+            readToEnd(channel);
+            assertNull(channel.hex());
+        }
+
+        // Okunan yere konumlanmak (or. sifira) ozeti bozmaz
+        try (CsvContentHash.DigestChannel channel =
+                     new CsvContentHash.DigestChannel(FileChannel.open(file, StandardOpenOption.READ))) {
+            channel.position(0);
+            readToEnd(channel);
+            assertEquals(sha256(content), channel.hex());
+        }
+    }
+
+    private static void readToEnd(CsvContentHash.DigestChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        while (channel.read(buffer) >= 0) {
+            buffer.clear();
+        }
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(dir.resolve(name), content);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
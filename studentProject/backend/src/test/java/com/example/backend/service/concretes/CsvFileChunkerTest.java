@@ -0,0 +1,168 @@
+package com.example.backend.service.concretes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Parcalar kayit sinirlarinda baslamali: parcalarin ayri ayri okunmasi tum dosyanin tek okuyucuyla
+// okunmasiyla ayni kayitlari ayni sirayla vermeli
+class CsvFileChunkerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotedNewlinesAreNotBoundaries() throws IOException {
+        StringBuilder csv = new StringBuilder("name,surname,number\n");
+        for (int row = 0; row < 200; row++) {
+            csv.append("\"Ali\n\nRiza ").append(row).append("\",\"Veli\n\",").append(1000 + row).append('\n');
+        }
+        for (int chunks = 2; chunks <= 40; chunks++) {
+            assertSameRecords(csv.toString(), chunks);
+        }
+    }
+
+    @Test
+    void crlfLineEndings() throws IOException {
+        StringBuilder csv = new StringBuilder("name,surname,number\r\n");
+        for (int row = 0; row < 200; row++) {
+            csv.append("Ali,\"Ve\r\nli\",").append(2000 + row).append("\r\n");
+        }
+        for (int chunks = 2; chunks <= 40; chunks++) {
+            assertSameRecords(csv.toString(), chunks);
+        }
+    }
+
+    @Test
+    void escapedQuotes() throws IOException {
+        StringBuilder csv = new StringBuilder("name,surname,number\n");
+        for (int row = 0; row < 200; row++) {
+            csv.append("\"Ali \"\"\n\"\"\",\"Ayse \\\"\n\\\\\",").append(3000 + row).append('\n');
+            csv.append("\"\\\\\",\"x\\y\n\",").append(4000 + row).append('\n');
+        }
+        for (int chunks = 2; chunks <= 40; chunks++) {
+            assertSameRecords(csv.toString(), chunks);
+        }
+    }
+
+    // Tek bir tirnakli sutun birden fazla araligi kaplar; aradaki araliklarda sinir yoktur
+    @Test
+    void fieldSpanningSeveralRanges() throws IOException {
+        String csv = "name,surname,number\nAli,Veli,1\n\"" + "uzun\n".repeat(500) + "\",Kaya,2\nCan,Demir,3\n";
+        for (int chunks = 2; chunks <= 64; chunks++) {
+            assertSameRecords(csv, chunks);
+        }
+    }
+
+    @Test
+    void moreChunksThanRecords() throws IOException {
+        assertSameRecords("name,surname,number\nAli,Veli,1\n", 16);
+        assertSameRecords("name,surname,number\nAli,Veli,1", 64);
+        assertSameRecords("a\nb\n", 4);
+    }
+
+    @Test
+    void emptyAndSingleChunk() throws IOException {
+        assertEquals(List.of(0L, 0L), flatten(split("", 8)));
+        assertEquals(List.of(0L, 5L), flatten(split("a\nb\nc", 1)));
+    }
+
+    @Test
+    void randomFiles() throws IOException {
+        Random random = new Random(7);
+        for (int file = 0; file < 100; file++) {
+            StringBuilder csv = new StringBuilder("name,surname,number\n");
+            int rows = 1 + random.nextInt(200);
+            for (int row = 0; row < rows; row++) {
+                csv.append(randomField(random)).append(',')
+                        .append(randomField(random)).append(',')
+                        .append(row)
+                        .append(random.nextInt(4) == 0 ? "\r\n" : "\n");
+            }
+            assertSameRecords(csv.toString(), 2 + random.nextInt(30));
+        }
+    }
+
+    private static String randomField(Random random) {
+        String alphabet = "abc019 şü,\"\n\r\\";
+        int length = random.nextInt(10);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        String text = value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r' || c == '\\')) {
+            return text;
+        }
+        return "\"" + text.replace("\\", "\\\\").replace("\"", random.nextBoolean() ? "\"\"" : "\\\"") + "\"";
+    }
+
+    private void assertSameRecords(String csv, int chunkCount) throws IOException {
+        Path file = write(csv);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<long[]> chunks = CsvFileChunker.split(channel, chunkCount);
+            long size = channel.size();
+
+            assertTrue(chunks.size() <= Math.max(1, chunkCount), csv);
+            assertEquals(0, chunks.get(0)[0], csv);
+            assertEquals(size, chunks.get(chunks.size() - 1)[1], csv);
+            for (int i = 0; i < chunks.size(); i++) {
+                assertTrue(chunks.get(i)[0] < chunks.get(i)[1] || size == 0, csv);
+                if (i > 0) {
+                    assertEquals(chunks.get(i - 1)[1], chunks.get(i)[0], csv);
+                }
+            }
+
+            List<String> expected = records(channel, 0, size);
+            List<String> actual = new ArrayList<>();
+            for (long[] chunk : chunks) {
+                actual.addAll(records(channel, chunk[0], chunk[1]));
+            }
+            assertEquals(expected, actual, () -> chunkCount + " parca: " + csv);
+        }
+    }
+
+    private static List<String> records(FileChannel channel, long start, long end) throws IOException {
+        List<String> records = new ArrayList<>();
+        Utf8CsvRecordReader reader = new Utf8CsvRecordReader(new CsvFileChunker.FileRangeChannel(channel, start, end), 7);
+        reader.resumeAt(start);
+        String[] record;
+        while ((record = reader.readNext()) != null) {
+            records.add(String.join("|", record));
+        }
+        return records;
+    }
+
+    private List<long[]> split(String csv, int chunkCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(write(csv), StandardOpenOption.READ)) {
+            return CsvFileChunker.split(channel, chunkCount);
+        }
+    }
+
+    private Path write(String csv) throws IOException {
+        Path file = Files.createTempFile(dir, "chunk", ".csv");
+        Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<Long> flatten(List<long[]> chunks) {
+        List<Long> values = new ArrayList<>();
+        for (long[] chunk : chunks) {
+            values.add(chunk[0]);
+            values.add(chunk[1]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.backend.service.concretes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Akistaki satir penceresi: pencere doluyken okuyucu bekler, sonuclanan her satir yer acar
+class CsvImportTrackerTest {
+
+    private final CsvImportTracker tracker = new CsvImportTracker();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(tracker, "maxInFlight", 4);
+        ReflectionTestUtils.setField(tracker, "batchSize", 1);
+    }
+
+    @Test
+    void windowGrowsWithStreams() {
+        CsvImportTracker.ImportProgress single = tracker.start("a.csv");
+        CsvImportTracker.ImportProgress parallel = tracker.start("b.csv", 8);
+        ReflectionTestUtils.setField(tracker, "batchSize", 500);
+        CsvImportTracker.ImportProgress batched = tracker.start("c.csv", 2);
+
+        assertEquals(4, window(single));
+        assertEquals(16, window(parallel));
+        assertEquals(2000, window(batched));
+    }
+
+    @Test
+    void acquireBlocksUntilRowsSettle() throws InterruptedException {
+        CsvImportTracker.ImportProgress progress = tracker.start("a.csv");
+        for (int i = 0; i < 4; i++) {
+            progress.acquire();
+        }
+        assertEquals(4, progress.getInFlight());
+        assertEquals(4, tracker.getInFlightRows());
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread reader = Thread.ofVirtual().start(() -> {
+            try {
+                progress.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+
+        tracker.onPersisted(progress.getImportId(), 1);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        reader.join();
+        assertEquals(5, progress.getSent());
+        assertEquals(4, progress.getInFlight());
+    }
+
+    @Test
+    void awaitSettledWaitsForAllRows() throws InterruptedException {
+        CsvImportTracker.ImportProgress progress = tracker.start("a.csv");
+        progress.acquire();
+        progress.acquire();
+        progress.acquire();
+        assertFalse(progress.awaitSettled(0));
+
+        tracker.onPersisted(progress.getImportId(), 1, null, 1);
+        tracker.onRejected(progress.getImportId(), 1);
+        assertFalse(progress.awaitSettled(0));
+        tracker.onFailed(progress.getImportId(), 1, new IllegalStateException("yazilamadi"));
+
+        assertTrue(progress.awaitSettled(0));
+        assertEquals(0, progress.getInFlight());
+        assertEquals(3, progress.getSent());
+        assertEquals(1, progress.getPersisted());
+        assertEquals(1, progress.getUnchanged());
+        assertEquals(1, progress.getRejected());
+        assertEquals(1, progress.getFailed());
+        assertEquals(1, progress.getChunks());
+        assertTrue(progress.hasErrors());
+        assertEquals("yazilamadi", progress.getFirstError().getMessage());
+    }
+
+    @Test
+    void firstErrorAndAbortReasonAreKept() {
+        CsvImportTracker.ImportProgress progress = tracker.start("a.csv");
+        tracker.onFailed(progress.getImportId(), 0, new IllegalStateException("ilk"));
+        tracker.onFailed(progress.getImportId(), 0, new IllegalStateException("ikinci"));
+        progress.abort("parca 1");
+        progress.abort("parca 2");
+
+        assertEquals("ilk", progress.getFirstError().getMessage());
+        assertEquals("parca 1", progress.getAbortReason());
+    }
+
+    // Bitmis veya bilinmeyen dosyanin gec gelen sonuclari sayaclari degistirmez
+    @Test
+    void finishedAndUnknownImportsAreIgnored() throws InterruptedException {
+        CsvImportTracker.ImportProgress progress = tracker.start("a.csv");
+        progress.acquire();
+        assertEquals(1, tracker.getActiveImports());
+        tracker.finish(progress);
+        assertEquals(0, tracker.getActiveImports());
+
+        tracker.onPersisted(progress.getImportId(), 1);
+        tracker.onRejected("bilinmeyen", 1);
+        tracker.onFailed(null, 1, null);
+
+        assertEquals(0, progress.getPersisted());
+        assertEquals(1, progress.getInFlight());
+        assertEquals(0, tracker.getInFlightRows());
+    }
+
+    @Test
+    void importsAreTrackedSeparately() throws InterruptedException {
+        CsvImportTracker.ImportProgress first = tracker.start("a.csv");
+        CsvImportTracker.ImportProgress second = tracker.start("a.csv");
+        first.acquire();
+        second.acquire();
+        second.acquire();
+
+        tracker.onPersisted(second.getImportId(), 2);
+
+        assertEquals(1, first.getInFlight());
+        assertEquals(0, second.getInFlight());
+        assertEquals(1, tracker.getInFlightRows());
+        assertSame("a.csv", first.getFileName());
+    }
+
+    // Sira numaralari 1024'luk bloklar halinde sayilir; ardisik sinir sadece bastan itibaren tamamen
+    // yazilmis bloklar kadar ilerler, batch'lerin hangi sirayla commit edildigi fark etmez
+    @Test
+    void contiguousPersistedAdvancesByFullBlocksFromStart() {
+        CsvImportTracker.ImportProgress progress = tracker.start("a.csv");
+        String importId = progress.getImportId();
+
+        tracker.onPersisted(importId, 0, seqs(1025, 2048));
+        assertEquals(0, progress.getContiguousPersisted());
+        tracker.onPersisted(importId, 0, seqs(1, 1023));
+        assertEquals(0, progress.getContiguousPersisted());
+        tracker.onPersisted(importId, 0, seqs(1024, 1024));
+        assertEquals(2048, progress.getContiguousPersisted());
+
+        tracker.onPersisted(importId, 0, seqs(3073, 4096));
+        tracker.onPersisted(importId, 0, seqs(2049, 3000));
+        assertEquals(2048, progress.getContiguousPersisted());
+        tracker.onPersisted(importId, 0, seqs(3001, 3072));
+        assertEquals(4096, progress.getContiguousPersisted());
+        assertEquals(4096, progress.getContiguousPersisted());
+    }
+
+    @Test
+    void contiguousPersistedWithShuffledBatchesFromManyThreads() {
+        CsvImportTracker.ImportProgress progress = tracker.start("a.csv");
+        int rows = 50 * 1024 + 100;
+        List<long[]> batches = new ArrayList<>();
+        for (int start = 1; start <= rows; start += 37) {
+            batches.add(seqs(start, Math.min(rows, start + 36)));
+        }
+        long[] missing = batches.remove(700);
+        Collections.shuffle(batches, new Random(5));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (long[] batch : batches) {
+                executor.submit(() -> tracker.onPersisted(progress.getImportId(), 0, batch));
+            }
+        }
+        long blockOfMissing = (missing[0] - 1) / 1024;
+        assertEquals(blockOfMissing * 1024, progress.getContiguousPersisted());
+
+        tracker.onPersisted(progress.getImportId(), 0, missing);
+        assertEquals(50 * 1024, progress.getContiguousPersisted());
+    }
+
+    private static long[] seqs(long from, long to) {
+        return LongStream.rangeClosed(from, to).toArray();
+    }
+
+    private static int window(CsvImportTracker.ImportProgress progress) {
+        return (int) ReflectionTestUtils.getField(progress, "window");
+    }
+}
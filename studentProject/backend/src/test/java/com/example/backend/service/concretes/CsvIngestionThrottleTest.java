@@ -0,0 +1,164 @@
+package com.example.backend.service.concretes;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Yazici limiti ve batch boyutu havuz doluluguna ve batch yazma suresine gore ayarlanir
+class CsvIngestionThrottleTest {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(2_000);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void acquireWaitsForFreeWriter() throws InterruptedException {
+        CsvIngestionThrottle throttle = throttle(mock(DataSource.class), true);
+        throttle.acquire();
+        throttle.acquire();
+        assertEquals(2, throttle.getActiveWriters());
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try {
+                throttle.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+
+        throttle.release(FAST);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        writer.join();
+        assertEquals(2, throttle.getActiveWriters());
+    }
+
+    @Test
+    void slowWritesShrinkBatchAndCalmWritesGrowIt() {
+        CsvIngestionThrottle throttle = throttle(mock(DataSource.class), true);
+        assertEquals(500, throttle.getBatchSize());
+
+        write(throttle, SLOW);
+        throttle.adjust();
+        assertEquals(250, throttle.getBatchSize());
+        assertTrue(throttle.isThrottled());
+
+        for (int i = 0; i < 5; i++) {
+            write(throttle, SLOW);
+            throttle.adjust();
+        }
+        assertEquals(50, throttle.getBatchSize());
+
+        write(throttle, FAST);
+        throttle.adjust();
+        assertEquals(100, throttle.getBatchSize());
+        for (int i = 0; i < 20; i++) {
+            throttle.adjust();
+        }
+        assertEquals(500, throttle.getBatchSize());
+        assertFalse(throttle.isThrottled());
+    }
+
+    // COPY ve indeks taramasi yer tutar ama suresi batch yazma suresine katilmaz
+    @Test
+    void untimedReleaseDoesNotCountAsWriteLatency() throws InterruptedException {
+        CsvIngestionThrottle throttle = throttle(mock(DataSource.class), true);
+        throttle.acquire();
+        Thread.sleep(20);
+        throttle.release();
+        assertEquals(0, throttle.getActiveWriters());
+
+        ReflectionTestUtils.setField(throttle, "targetWriteLatencyMs", 1L);
+        throttle.adjust();
+        assertEquals(500, throttle.getBatchSize());
+    }
+
+    @Test
+    void poolWaitersHalveWritersWithinReservedShare() throws SQLException {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        when(hikari.getMaximumPoolSize()).thenReturn(10);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+
+        CsvIngestionThrottle throttle = throttle(dataSource, true);
+        ReflectionTestUtils.setField(throttle, "writerLimit", 16);
+
+        // Havuz 10, yuzde 30 API'ye ayrilmis: import en fazla 7 baglanti kullanir
+        throttle.adjust();
+        assertEquals(7, throttle.getWriterLimit());
+
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+        throttle.adjust();
+        assertEquals(3, throttle.getWriterLimit());
+        throttle.adjust();
+        assertEquals(1, throttle.getWriterLimit());
+        throttle.adjust();
+        assertEquals(1, throttle.getWriterLimit());
+        assertTrue(throttle.isThrottled());
+
+        // API 8 baglanti kullaniyorsa import'a 2 kalir
+        when(pool.getThreadsAwaitingConnection()).thenReturn(0);
+        when(pool.getActiveConnections()).thenReturn(8);
+        for (int i = 0; i < 10; i++) {
+            throttle.adjust();
+        }
+        assertEquals(2, throttle.getWriterLimit());
+
+        when(pool.getActiveConnections()).thenReturn(0);
+        for (int i = 0; i < 10; i++) {
+            throttle.adjust();
+        }
+        assertEquals(7, throttle.getWriterLimit());
+        assertFalse(throttle.isThrottled());
+    }
+
+    @Test
+    void disabledThrottleNeverBlocks() throws InterruptedException {
+        CsvIngestionThrottle throttle = throttle(mock(DataSource.class), false);
+        for (int i = 0; i < 10; i++) {
+            throttle.acquire();
+        }
+        write(throttle, SLOW);
+        throttle.adjust();
+        assertEquals(0, throttle.getActiveWriters());
+        assertEquals(500, throttle.getBatchSize());
+        assertFalse(throttle.isThrottled());
+    }
+
+    private static void write(CsvIngestionThrottle throttle, long nanos) {
+        try {
+            throttle.acquire();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        throttle.release(nanos);
+    }
+
+    private static CsvIngestionThrottle throttle(DataSource dataSource, boolean enabled) {
+        CsvIngestionThrottle throttle = new CsvIngestionThrottle(dataSource, mock(CsvImportMetrics.class));
+        ReflectionTestUtils.setField(throttle, "enabled", enabled);
+        ReflectionTestUtils.setField(throttle, "maxBatchSize", 500);
+        ReflectionTestUtils.setField(throttle, "minBatchSize", 50);
+        ReflectionTestUtils.setField(throttle, "reservedPoolShare", 0.3);
+        ReflectionTestUtils.setField(throttle, "targetWriteLatencyMs", 500L);
+        ReflectionTestUtils.setField(throttle, "parallelism", 2);
+        throttle.init();
+        return throttle;
+    }
+}
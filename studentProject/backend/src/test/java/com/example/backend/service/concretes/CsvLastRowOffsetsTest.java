@@ -0,0 +1,107 @@
+package com.example.backend.service.concretes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Parcalar birlestirilince sadece birden fazla parcada gecen numaralarin dosyadaki son satiri donmeli
+class CsvLastRowOffsetsTest {
+
+    @Test
+    void keepsLastOffsetWithinChunk() {
+        CsvLastRowOffsets rows = new CsvLastRowOffsets(4);
+        rows.record(new String[]{"Ali", "Veli", "1001"}, 10);
+        rows.record(new String[]{"Ali", "Veli", " 1001 "}, 20);
+        rows.record(new String[]{"Ayse", "Kaya", "01001"}, 30);
+        rows.record(new String[]{"Can", "Demir", "A-7"}, 40);
+
+        assertEquals(20, rows.get("1001"));
+        assertEquals(30, rows.get("01001"));
+        assertEquals(40, rows.get("A-7"));
+        assertEquals(-1, rows.get("1002"));
+        assertEquals(3, rows.size());
+    }
+
+    // Reddedilecek satir yazilmaz; numaranin son yazilan satiri o degildir
+    @Test
+    void ignoresRejectedRows() {
+        CsvLastRowOffsets rows = new CsvLastRowOffsets();
+        rows.record(new String[]{"Ali", "Veli", "1001"}, 10);
+        rows.record(new String[]{"", "Veli", "1001"}, 20);
+        rows.record(new String[]{"Ali", " ", "1001"}, 30);
+        rows.record(new String[]{"Ali", "Veli"}, 40);
+        rows.record(new String[]{"Ali", "Veli", null}, 50);
+
+        assertEquals(10, rows.get("1001"));
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    void mergeReturnsLastRowOfCrossChunkNumbers() {
+        CsvLastRowOffsets first = new CsvLastRowOffsets();
+        first.put("1", 0);
+        first.put("2", 10);
+        first.put("x", 20);
+        CsvLastRowOffsets second = new CsvLastRowOffsets();
+        second.put("2", 100);
+        second.put("3", 110);
+        second.put("2", 120);
+        CsvLastRowOffsets third = new CsvLastRowOffsets();
+        third.put("x", 200);
+        third.put("1", 210);
+        third.put("4", 220);
+
+        long[] replay = second.mergeInto(third, new long[0]);
+        replay = first.mergeInto(third, replay);
+
+        // 1 -> ucuncu parca, 2 -> ikinci parcanin son satiri, x -> ucuncu parca; 3 ve 4 tek parcada
+        assertArrayEquals(new long[]{120, 200, 210}, replay);
+    }
+
+    @Test
+    void mergeMatchesNaiveLastOccurrence() {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            int chunkCount = 2 + random.nextInt(6);
+            List<CsvLastRowOffsets> chunks = new ArrayList<>();
+            Map<String, Long> last = new HashMap<>();
+            Map<String, Integer> firstChunk = new HashMap<>();
+            TreeSet<Long> expected = new TreeSet<>();
+            Map<String, Boolean> crossChunk = new HashMap<>();
+            long offset = 0;
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                CsvLastRowOffsets rows = new CsvLastRowOffsets(2);
+                int count = random.nextInt(300);
+                for (int i = 0; i < count; i++) {
+                    String number = random.nextInt(5) == 0 ? "0" + random.nextInt(50) : String.valueOf(random.nextInt(400));
+                    rows.put(number, offset);
+                    last.put(number, offset);
+                    Integer owner = firstChunk.putIfAbsent(number, chunk);
+                    if (owner != null && owner != chunk) {
+                        crossChunk.put(number, true);
+                    }
+                    offset += 1 + random.nextInt(40);
+                }
+                chunks.add(rows);
+            }
+            for (Map.Entry<String, Boolean> entry : crossChunk.entrySet()) {
+                expected.add(last.get(entry.getKey()));
+            }
+
+            CsvLastRowOffsets later = chunks.get(chunkCount - 1);
+            long[] replay = new long[0];
+            for (int i = chunkCount - 2; i >= 0; i--) {
+                replay = chunks.get(i).mergeInto(later, replay);
+            }
+            assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), replay);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.service.abstracts.CsvRecordReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// csv.parser=opencsv ile csv.parser=bytes okuyucularinin ayni dosyayi name, surname, number
+// projeksiyonuyla okuma suresi. Testlerle calismaz; main ile calistirilir, JMH secenekleri arguman
+// olarak verilebilir (or. -p rows=10000 -wi 1 -i 3). JMH ayri JVM actigi icin exec:java degil exec:exec:
+//   mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+//       -Dexec.args="-cp %classpath com.example.backend.service.concretes.CsvRecordReaderBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvRecordReaderBenchmark {
+
+    @Param({"opencsv", "bytes"})
+    public String parser;
+
+    @Param({"100000"})
+    public int rows;
+
+    // Gercek dosyalardaki gibi fazladan sutunlar, tirnakli sutunlar ve Turkce karakterler
+    @Param({"8"})
+    public int columns;
+
+    private Path csvFile;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        csvFile = Files.createTempFile("csv-reader-benchmark", ".csv");
+        Random random = new Random(1);
+        String[] names = {"Ali", "Ayşe", "Şükrü", "Çağla", "Ömer", "Gül", "İsmail", "\"Can, Jr.\""};
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+            writer.write("id,name,email,surname,city,number,note,created");
+            for (int column = 8; column < columns; column++) {
+                writer.write(",extra" + column);
+            }
+            writer.write('\n');
+            for (int row = 0; row < rows; row++) {
+                writer.write(row + "," + names[random.nextInt(names.length)] + ",user" + row + "@example.com,"
+                        + names[random.nextInt(names.length)] + "oğlu,İstanbul," + (20000000 + row)
+                        + ",\"not, \"\"tirnakli\"\"\"," + "2024-01-01");
+                for (int column = 8; column < columns; column++) {
+                    writer.write(",x");
+                }
+                writer.write('\n');
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public void readAll(Blackhole blackhole) throws IOException {
+        try (CsvRecordReader reader = open()) {
+            reader.readNext();
+            reader.setProjection(new int[]{1, 3, 5});
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                blackhole.consume(line);
+            }
+        }
+    }
+
+    // CsvFileProcessor'daki secimle ayni okuyucular
+    private CsvRecordReader open() throws IOException {
+        if ("bytes".equals(parser)) {
+            return new Utf8CsvRecordReader(csvFile);
+        }
+        return new OpenCsvRecordReader(new InputStreamReader(new FileInputStream(csvFile.toFile()), StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args))
+                .include(CsvRecordReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
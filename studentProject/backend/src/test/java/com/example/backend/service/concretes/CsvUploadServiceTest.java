@@ -0,0 +1,189 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Parca sadece sunucunun aldigi konumdan kabul edilir; kopan parcadan sonra istemci receivedBytes'tan
+// devam eder, son parca veya zaman asimi yuklemeyi kapatir ve files kaydini yazar
+class CsvUploadServiceTest {
+
+    private final CsvImportTracker tracker = new CsvImportTracker();
+    private final CsvFileProcessor processor = mock(CsvFileProcessor.class);
+    private final CsvProcessingService processingService = mock(CsvProcessingService.class);
+    private final CsvUploadService service = new CsvUploadService(processor, processingService);
+
+    @BeforeEach
+    void configure() throws IOException {
+        ReflectionTestUtils.setField(tracker, "maxInFlight", 4);
+        ReflectionTestUtils.setField(tracker, "batchSize", 1);
+        ReflectionTestUtils.setField(service, "idleTimeoutMinutes", 30L);
+        when(processor.openUpload(anyString()))
+                .thenAnswer(invocation -> new CsvUploadSession(invocation.getArgument(0), tracker.start(invocation.getArgument(0))));
+        // Parcanin tum byte'lari alinir; son parcada yukleme basariyla biter
+        when(processor.receiveUploadChunk(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            CsvUploadSession upload = invocation.getArgument(0);
+            byte[] bytes = invocation.<InputStream>getArgument(1).readAllBytes();
+            upload.advance(upload.getReceivedBytes() + bytes.length, new byte[0]);
+            if (!invocation.<Boolean>getArgument(2)) {
+                return null;
+            }
+            return complete(upload, true, "tamam");
+        });
+        when(processor.abortUpload(any(), anyString()))
+                .thenAnswer(invocation -> complete(invocation.getArgument(0), false, invocation.getArgument(1)));
+    }
+
+    @Test
+    void rejectsInvalidFileNames() {
+        for (String name : new String[]{null, " ", "../a.csv", "a\\b.csv", "a.csv.gz", "a.csv.zst", "a.txt"}) {
+            assertThrows(IllegalArgumentException.class, () -> service.start(name), String.valueOf(name));
+        }
+        verify(processor, never()).openUpload(anyString());
+        assertThrows(ResourceNotFoundException.class, () -> service.get("bilinmeyen"));
+    }
+
+    @Test
+    void chunkAtWrongOffsetIsRefused() throws IOException {
+        CsvUploadSession upload = service.start("a.csv");
+        service.append(upload.getUploadId(), 0, body("name,surname,number\n"), false);
+        assertEquals(20, upload.getReceivedBytes());
+
+        assertThrows(IllegalStateException.class, () -> service.append(upload.getUploadId(), 0, body("x"), false));
+        assertThrows(IllegalStateException.class, () -> service.append(upload.getUploadId(), 25, body("x"), false));
+        assertEquals(20, upload.getReceivedBytes());
+        verify(processor, times(1)).receiveUploadChunk(any(), any(), anyBoolean());
+    }
+
+    // Baglanti parca ortasinda koparsa alinan kisim yuklemede kalir, istemci oradan devam eder
+    @Test
+    void resumesFromReceivedBytesAfterBrokenChunk() throws IOException {
+        CsvUploadSession upload = service.start("a.csv");
+        doAnswer(invocation -> {
+            CsvUploadSession session = invocation.getArgument(0);
+            session.advance(12, "Ali,".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("baglanti koptu");
+        }).doAnswer(invocation -> {
+            CsvUploadSession session = invocation.getArgument(0);
+            invocation.<InputStream>getArgument(1).readAllBytes();
+            return complete(session, true, "tamam");
+        }).when(processor).receiveUploadChunk(any(), any(), anyBoolean());
+
+        assertThrows(IOException.class, () -> service.append(upload.getUploadId(), 0, body("..."), false));
+        assertEquals(CsvUploadSession.Status.RECEIVING, upload.getStatus());
+        assertEquals(16, service.get(upload.getUploadId()).getReceivedBytes());
+        assertTrue(upload.tryLock());
+        upload.unlock();
+
+        assertSame(upload, service.append(upload.getUploadId(), 16, body("Veli,1\n"), true));
+        assertEquals(CsvUploadSession.Status.DONE, upload.getStatus());
+        verify(processingService).recordUpload(eq("a.csv"), any());
+    }
+
+    @Test
+    void lastChunkFinishesAndFurtherChunksAreRefused() throws IOException {
+        CsvUploadSession upload = service.start("a.csv");
+        service.append(upload.getUploadId(), 0, body("name,surname,number\n"), false);
+        verify(processingService, never()).recordUpload(anyString(), any());
+        assertNull(upload.getResult());
+
+        service.append(upload.getUploadId(), 20, body("Ali,Veli,1\n"), true);
+        assertEquals(CsvUploadSession.Status.DONE, upload.getStatus());
+        assertEquals("tamam", upload.getResult().getMessage());
+        verify(processingService).recordUpload("a.csv", upload.getResult());
+
+        assertThrows(IllegalStateException.class, () -> service.append(upload.getUploadId(), 31, body("x"), true));
+        verify(processor, times(2)).receiveUploadChunk(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void concurrentChunkIsRefused() throws Exception {
+        CsvUploadSession upload = service.start("a.csv");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread writer = Thread.ofVirtual().start(() -> {
+            upload.tryLock();
+            locked.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                upload.unlock();
+            }
+        });
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IllegalStateException.class, () -> service.append(upload.getUploadId(), 0, body("x"), false));
+        done.countDown();
+        writer.join();
+        verify(processor, never()).receiveUploadChunk(any(), any(), anyBoolean());
+    }
+
+    // Suresi dolan yukleme once FAIL olarak kapanir ve sorgulanabilir kalir, sonraki turda unutulur
+    @Test
+    void idleUploadIsAbortedThenForgotten() throws IOException {
+        CsvUploadSession idle = service.start("a.csv");
+        CsvUploadSession active = service.start("b.csv");
+        service.append(idle.getUploadId(), 0, body("name,surname,number\n"), false);
+        ReflectionTestUtils.setField(idle, "lastActivity", 0L);
+
+        service.expireIdleUploads();
+        assertEquals(CsvUploadSession.Status.FAILED, idle.getStatus());
+        assertEquals("Yukleme 30 dakika icinde tamamlanmadi", idle.getResult().getErrorMessage());
+        assertEquals("Yukleme 30 dakika icinde tamamlanmadi", idle.getProgress().getAbortReason());
+        verify(processingService).recordUpload("a.csv", idle.getResult());
+        assertSame(idle, service.get(idle.getUploadId()));
+        assertThrows(IllegalStateException.class, () -> service.append(idle.getUploadId(), 20, body("x"), true));
+
+        ReflectionTestUtils.setField(idle, "lastActivity", 0L);
+        service.expireIdleUploads();
+        assertThrows(ResourceNotFoundException.class, () -> service.get(idle.getUploadId()));
+        assertEquals(CsvUploadSession.Status.RECEIVING, service.get(active.getUploadId()).getStatus());
+        verify(processor, times(1)).abortUpload(any(), anyString());
+    }
+
+    private CsvFileProcessor.CsvProcessingResult complete(CsvUploadSession upload, boolean success, String message) {
+        if (!success) {
+            upload.getProgress().abort(message);
+        }
+        CsvFileProcessor.CsvProcessingResult result = new CsvFileProcessor.CsvProcessingResult();
+        result.setSuccess(success);
+        if (success) {
+            result.setMessage(message);
+        } else {
+            result.setErrorMessage(message);
+        }
+        upload.complete(result);
+        tracker.finish(upload.getProgress());
+        return result;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.IpAddressRepository;
+import com.example.backend.entities.IpAddress;
+import com.example.backend.utility.IpValidationUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Havuzdan verilen adres dolu sayilir ve ayni adres iki kez verilmez; geri alinan atama adresi
+// birakir, yuklenemeyen havuzdan adres verilmez
+class IpPoolAllocatorTest {
+
+    private final IpAddressRepository repository = mock(IpAddressRepository.class);
+    private final IpPoolAllocator allocator = new IpPoolAllocator(repository);
+
+    IpPoolAllocatorTest() {
+        ReflectionTestUtils.setField(allocator, "maxPoolSize", 16_777_216);
+    }
+
+    @Test
+    void poolTakesEveryFreeBitOnce() {
+        IpPoolAllocator.Pool pool = new IpPoolAllocator.Pool("10.0.0.0-10.0.0.9", 0, 10);
+        pool.markUsed(3);
+        pool.markUsed(3);
+        pool.markUsed(-1);
+        pool.markUsed(10);
+        assertEquals(9, pool.free());
+
+        Set<Integer> taken = new HashSet<>();
+        for (int i = 0; i < 9; i++) {
+            int offset = pool.take(ThreadLocalRandom.current());
+            assertTrue(offset >= 0 && offset < 10 && offset != 3, "offset " + offset);
+            assertTrue(taken.add(offset));
+        }
+        assertEquals(0, pool.free());
+        assertEquals(-1, pool.take(ThreadLocalRandom.current()));
+
+        pool.release(7);
+        pool.release(7);
+        pool.release(42);
+        assertEquals(1, pool.free());
+        assertEquals(7, pool.take(ThreadLocalRandom.current()));
+    }
+
+    // /29: network, broadcast ve kayitli tekil IP disindaki 5 adres
+    @Test
+    void allocatesOnlyFreeHostAddresses() {
+        IpAddress subnet = entry(1L, "10.0.0.0/29");
+        when(repository.findSinglesWithin(eq(4), any(), any())).thenReturn(List.of(entry(2L, "10.0.0.3")));
+
+        assertEquals(5, allocator.freeAddresses(List.of(subnet)));
+        Set<String> allocated = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            allocated.add(allocator.allocate(List.of(subnet)));
+        }
+        assertEquals(Set.of("10.0.0.1", "10.0.0.2", "10.0.0.4", "10.0.0.5", "10.0.0.6"), allocated);
+        assertNull(allocator.allocate(List.of(subnet)));
+        verify(repository).findSinglesWithin(4, new BigDecimal(IpValidationUtil.ipToLong("10.0.0.0")),
+                new BigDecimal(IpValidationUtil.ipToLong("10.0.0.7")));
+
+        // Silinen tekil IP commit sonrasi tekrar bos sayilir
+        allocator.addressRemoved("10.0.0.3");
+        assertEquals("10.0.0.3", allocator.allocate(List.of(subnet)));
+        allocator.addressAdded("10.0.0.99");
+        assertEquals(0, allocator.freeAddresses(List.of(subnet)));
+    }
+
+    @Test
+    void rolledBackAllocationReleasesAddress() {
+        IpAddress range = entry(1L, "10.0.0.10-10.0.0.13");
+        when(repository.findSinglesWithin(eq(4), any(), any())).thenReturn(List.of());
+        assertEquals(4, allocator.freeAddresses(List.of(range)));
+
+        String rolledBack = inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> allocator.allocate(List.of(range)));
+        assertEquals(4, allocator.freeAddresses(List.of(range)));
+        String committed = inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> allocator.allocate(List.of(range)));
+        assertEquals(3, allocator.freeAddresses(List.of(range)));
+        assertTrue(rolledBack.startsWith("10.0.0.1") && committed.startsWith("10.0.0.1"));
+    }
+
+    // Sinirdan buyuk havuzun sadece ilk adresleri kullanilir; son adres broadcast sayilmaz
+    @Test
+    void largePoolIsTruncatedToCap() {
+        ReflectionTestUtils.setField(allocator, "maxPoolSize", 16);
+        IpAddress subnet = entry(1L, "10.0.0.0/8");
+        when(repository.findSinglesWithin(eq(4), any(), any())).thenReturn(List.of(entry(2L, "10.0.0.15")));
+
+        assertEquals(14, allocator.freeAddresses(List.of(subnet)));
+        verify(repository).findSinglesWithin(4, new BigDecimal(IpValidationUtil.ipToLong("10.0.0.0")),
+                new BigDecimal(IpValidationUtil.ipToLong("10.0.0.15")));
+        Set<String> allocated = new HashSet<>();
+        for (int i = 0; i < 14; i++) {
+            allocated.add(allocator.allocate(List.of(subnet)));
+        }
+        assertEquals(14, allocated.size());
+        assertFalse(allocated.contains("10.0.0.0"));
+        assertFalse(allocated.contains("10.0.0.15"));
+        assertNull(allocator.allocate(List.of(subnet)));
+    }
+
+    // Ayni havuzu ilk kez kullanan thread'ler tek yukleme gorur ve ayni adresi almaz
+    @Test
+    void concurrentAllocationsNeverShareAnAddress() throws InterruptedException {
+        List<IpAddress> pools = List.of(entry(1L, "10.0.0.0/24"), entry(2L, "10.0.1.0-10.0.1.99"));
+        when(repository.findSinglesWithin(eq(4), any(), any())).thenReturn(List.of(entry(3L, "10.0.0.50")));
+        int free = 253 + 100;
+
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        List<String> duplicates = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < free + 20; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    String ip = allocator.allocate(pools);
+                    if (ip != null && !allocated.add(ip)) {
+                        synchronized (duplicates) {
+                            duplicates.add(ip);
+                        }
+                    }
+                    return ip;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(List.of(), duplicates);
+        assertEquals(free, allocated.size());
+        assertFalse(allocated.contains("10.0.0.50"));
+        assertEquals(0, allocator.freeAddresses(pools));
+        verify(repository, times(2)).findSinglesWithin(eq(4), any(), any());
+    }
+
+    // Dolu adresleri okunamayan havuz birakilir; sonraki cagri tekrar yukler ve dolu adresi vermez
+    @Test
+    void failedLoadIsRetriedAndNeverServesUnknownPool() {
+        IpAddress range = entry(1L, "10.0.0.1-10.0.0.2");
+        when(repository.findSinglesWithin(anyInt(), any(), any()))
+                .thenThrow(new IllegalStateException("baglanti yok"))
+                .thenReturn(List.of(entry(2L, "10.0.0.1")));
+
+        assertThrows(IllegalStateException.class, () -> allocator.allocate(List.of(range)));
+        assertEquals("10.0.0.2", allocator.allocate(List.of(range)));
+        assertNull(allocator.allocate(List.of(range)));
+        verify(repository, times(2)).findSinglesWithin(anyInt(), any(), any());
+    }
+
+    private static String inTransaction(int status, Supplier<String> action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            String result = action.get();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(status);
+            }
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static IpAddress entry(Long id, String input) {
+        IpAddress ipAddress = new IpAddress();
+        ipAddress.setId(id);
+        ipAddress.setIpAddress(input);
+        return ipAddress;
+    }
+}
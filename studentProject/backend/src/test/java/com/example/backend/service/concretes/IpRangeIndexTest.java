@@ -0,0 +1,133 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.IpAddressRepository;
+import com.example.backend.entities.IpAddress;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Ortusen araliklar birlesimde tek parcaya birlesir, silinen aralik sadece kendi parcasini boler;
+// bellekte olmayan aralik baska bir node'da eklenmis olabilir ve veritabanindan dogrulanir
+class IpRangeIndexTest {
+
+    @Test
+    void overlappingAndNestedRangesMerge() {
+        IpRangeIndex.RangeSet<Long> ranges = new IpRangeIndex.RangeSet<>();
+        ranges.add("a", 10L, 20L);
+        ranges.add("b", 15L, 30L);
+        ranges.add("c", 12L, 14L);
+        ranges.add("d", 40L, 50L);
+        ranges.add("a", 10L, 20L);
+
+        assertEquals(4, ranges.size());
+        assertTrue(ranges.covers(10L));
+        assertTrue(ranges.covers(30L));
+        assertFalse(ranges.covers(31L));
+        assertFalse(ranges.covers(9L));
+        assertTrue(ranges.covers(40L));
+
+        // Iki parcayi kapsayan aralik hepsini birlestirir
+        ranges.add("e", 25L, 45L);
+        assertTrue(ranges.covers(35L));
+        assertEquals(1, union(ranges).size());
+    }
+
+    @Test
+    void removeSplitsOnlyItsSegment() {
+        IpRangeIndex.RangeSet<Long> ranges = new IpRangeIndex.RangeSet<>();
+        ranges.add("a", 10L, 20L);
+        ranges.add("b", 18L, 30L);
+        ranges.add("c", 30L, 40L);
+        ranges.add("d", 100L, 110L);
+        ranges.add("e", 10L, 12L);
+
+        ranges.remove("b", 18L);
+        assertTrue(ranges.covers(20L));
+        assertFalse(ranges.covers(25L));
+        assertTrue(ranges.covers(30L));
+        assertTrue(ranges.covers(105L));
+
+        // Ayni baslangicli diger aralik kalir; bilinmeyen giris yok sayilir
+        ranges.remove("a", 10L);
+        ranges.remove("x", 10L);
+        assertTrue(ranges.covers(11L));
+        assertFalse(ranges.covers(13L));
+        assertEquals(3, ranges.size());
+    }
+
+    @Test
+    void matchesBruteForceAcrossRandomAddsAndRemoves() {
+        Random random = new Random(4);
+        IpRangeIndex.RangeSet<Long> ranges = new IpRangeIndex.RangeSet<>();
+        List<long[]> expected = new ArrayList<>();
+        for (int op = 0; op < 5_000; op++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                long[] range = expected.remove(random.nextInt(expected.size()));
+                ranges.remove(input(range), range[0]);
+            } else {
+                long start = random.nextInt(200);
+                long[] range = {start, start + random.nextInt(15), op};
+                expected.add(range);
+                ranges.add(input(range), range[0], range[1]);
+            }
+            assertEquals(expected.size(), ranges.size());
+            for (long key = 0; key < 220; key++) {
+                boolean covered = false;
+                for (long[] range : expected) {
+                    covered |= range[0] <= key && key <= range[1];
+                }
+                assertEquals(covered, ranges.covers(key), "islem " + op + ", anahtar " + key);
+            }
+        }
+    }
+
+    @Test
+    void negativeAnswerIsConfirmedInDatabase() {
+        IpAddressRepository repository = mock(IpAddressRepository.class);
+        when(repository.findAll()).thenReturn(List.of(ip("10.0.0.0/24"), ip("10.0.0.7"), ip("2001:db8::/64")));
+        IpRangeIndex index = new IpRangeIndex(repository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        assertTrue(index.isCovered("10.0.0.200"));
+        assertTrue(index.isCovered("2001:db8::1"));
+        verify(repository, never()).existsRangeContaining(anyInt(), any());
+
+        // Baska bir node'un ekledigi 192.168.1.0/24
+        when(repository.existsRangeContaining(4, new BigDecimal(3232235786L))).thenReturn(true);
+        assertTrue(index.isCovered("192.168.1.10"));
+        assertFalse(index.isCovered("10.0.1.1"));
+        assertFalse(index.isCovered("2001:db9::1"));
+        assertFalse(index.isCovered("gecersiz"));
+        assertEquals(2, index.size());
+    }
+
+    private static IpAddress ip(String input) {
+        IpAddress ipAddress = new IpAddress();
+        ipAddress.setIpAddress(input);
+        return ipAddress;
+    }
+
+    private static String input(long[] range) {
+        return range[0] + "-" + range[1] + "#" + range[2];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TreeMap<Long, Long> union(IpRangeIndex.RangeSet<Long> ranges) {
+        return (TreeMap<Long, Long>) ReflectionTestUtils.getField(ranges, "union");
+    }
+}
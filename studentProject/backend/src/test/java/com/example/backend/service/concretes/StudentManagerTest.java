@@ -0,0 +1,95 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.StudentsRepository;
+import com.example.backend.dataAccess.StudentsRepositoryCustom;
+import com.example.backend.entities.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Degismemis ogrenci atlanir, ama "degismemis" byte olarak ayni ad/soyad demektir: ayni gorunen NFC
+// ve NFD yazimlar farkli kayittir ve guncellenir
+class StudentManagerTest {
+
+    private static final String NFC = Normalizer.normalize("Şükrü", Normalizer.Form.NFC);
+    private static final String NFD = Normalizer.normalize("Şükrü", Normalizer.Form.NFD);
+
+    private final StudentsRepository repository = mock(StudentsRepository.class);
+    private final StudentNumberIndex index = new StudentNumberIndex(repository, mock(CsvIngestionThrottle.class));
+    private final StudentManager manager = new StudentManager(repository, index, mock(CsvIngestionThrottle.class));
+
+    @BeforeEach
+    void configure() {
+        when(repository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void fingerprintIsOverExactBytes() {
+        assertNotEquals(NFC, NFD);
+        assertNotEquals(Student.fingerprintOf(NFC, "Öztürk"), Student.fingerprintOf(NFD, "Öztürk"));
+        assertNotEquals(Student.fingerprintOf("ab", "c"), Student.fingerprintOf("a", "bc"));
+        assertEquals(Student.fingerprintOf(NFC, "Öztürk"), Student.fingerprintOf(new String(NFC), "Öztürk"));
+        assertNotEquals(0, Student.fingerprintOf(null, null));
+    }
+
+    @Test
+    void saveComparesNameAndSurnameDirectly() {
+        Student existing = student(7, NFC, "Öztürk");
+        when(repository.findByNumber("1001")).thenReturn(List.of(existing));
+
+        assertSame(existing, manager.save(student(0, NFC, "Öztürk")));
+        verify(repository, never()).save(any(Student.class));
+
+        manager.save(student(0, NFD, "Öztürk"));
+        verify(repository).save(existing);
+        assertEquals(NFD, existing.getName());
+        assertEquals(Student.fingerprintOf(NFD, "Öztürk"), existing.getFingerprint());
+    }
+
+    // Indeks NFC yazimin ozetini tutar: ayni satir yazilmaz, NFD yazim upsert'e gider
+    @Test
+    void batchSkipsOnlyByteIdenticalRows() {
+        doAnswer(invocation -> {
+            StudentsRepositoryCustom.StudentNumberCallback callback = invocation.getArgument(0);
+            callback.accept(7, "1001", false, Student.fingerprintOf(NFC, "Öztürk"));
+            return null;
+        }).when(repository).forEachStudentNumber(any());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.acquire();
+        when(repository.upsertUnverified(anyList(), any())).thenReturn(new StudentsRepositoryCustom.WriteCounts(1, 0));
+
+        assertEquals(new StudentsRepositoryCustom.WriteCounts(0, 1), manager.saveBatch(List.of(student(0, NFC, "Öztürk"))));
+        verify(repository, never()).upsertUnverified(anyList(), any());
+
+        Student changed = student(0, NFD, "Öztürk");
+        assertEquals(new StudentsRepositoryCustom.WriteCounts(1, 0), manager.saveBatch(List.of(changed)));
+        verify(repository).upsertUnverified(eq(List.of(changed)), any());
+    }
+
+    private static Student student(int id, String name, String surname) {
+        Student student = new Student();
+        student.setId(id);
+        student.setName(name);
+        student.setSurname(surname);
+        student.setNumber("1001");
+        student.setVerified(false);
+        student.setView(false);
+        student.refreshFingerprint();
+        return student;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.dataAccess.StudentsRepository;
+import com.example.backend.dataAccess.StudentsRepositoryCustom;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Numara tablosu HashMap ile ayni sonuclari vermeli: yoklama zinciri tablonun sonundan basa
+// sarsa, tablo buyusa veya numara long anahtara cevrilemese (bastaki sifir, harf) bile
+class StudentNumberIndexTest {
+
+    @Test
+    void numericAndOtherKeys() {
+        StudentNumberIndex.Table table = new StudentNumberIndex.Table(8);
+        table.put("1001", StudentNumberIndex.Table.pack(1, false), 11);
+        table.put("01001", StudentNumberIndex.Table.pack(2, true), 22);
+        table.put("0", StudentNumberIndex.Table.pack(3, false), 33);
+        table.put("A-1001", StudentNumberIndex.Table.pack(4, false), 0);
+        table.put("1234567890123456789", StudentNumberIndex.Table.pack(5, false), 55);
+
+        assertEquals(StudentNumberIndex.Table.pack(1, false), table.get("1001"));
+        assertEquals(StudentNumberIndex.Table.pack(2, true), table.get("01001"));
+        assertEquals(StudentNumberIndex.Table.pack(3, false), table.get("0"));
+        assertEquals(StudentNumberIndex.Table.pack(4, false), table.get("A-1001"));
+        assertEquals(StudentNumberIndex.Table.pack(5, false), table.get("1234567890123456789"));
+        assertEquals(22, table.fingerprint("01001"));
+        assertEquals(0, table.fingerprint("A-1001"));
+        assertEquals(StudentNumberIndex.Table.ABSENT, table.get("00"));
+        assertEquals(StudentNumberIndex.Table.ABSENT, table.get("1002"));
+        assertEquals(5, table.size());
+
+        table.remove("01001");
+        table.remove("A-1001");
+        assertEquals(StudentNumberIndex.Table.ABSENT, table.get("01001"));
+        assertEquals(StudentNumberIndex.Table.pack(1, false), table.get("1001"));
+        assertEquals(0, table.fingerprint("A-1001"));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void numericKeyOnlyForLosslessNumbers() {
+        assertEquals(0, StudentNumberIndex.numericKey("0"));
+        assertEquals(123, StudentNumberIndex.numericKey("123"));
+        assertEquals(999_999_999_999_999_999L, StudentNumberIndex.numericKey("999999999999999999"));
+        assertEquals(-1, StudentNumberIndex.numericKey(""));
+        assertEquals(-1, StudentNumberIndex.numericKey("0123"));
+        assertEquals(-1, StudentNumberIndex.numericKey("12a"));
+        assertEquals(-1, StudentNumberIndex.numericKey("-12"));
+        assertEquals(-1, StudentNumberIndex.numericKey(" 12"));
+        assertEquals(-1, StudentNumberIndex.numericKey("1000000000000000000"));
+    }
+
+    // 2^30'dan buyuk id'ler (id << 1) int'e sigmaz
+    @Test
+    void largeIdsDoNotOverflow() {
+        StudentNumberIndex.Table table = new StudentNumberIndex.Table(4);
+        table.put("1", StudentNumberIndex.Table.pack(Integer.MAX_VALUE, false), 0);
+        table.put("2", StudentNumberIndex.Table.pack((1 << 30) + 1, true), 0);
+
+        assertEquals(Integer.MAX_VALUE, table.get("1") >>> 1);
+        assertEquals(0, table.get("1") & 1);
+        assertEquals((1 << 30) + 1, table.get("2") >>> 1);
+        assertEquals(1, table.get("2") & 1);
+
+        StudentNumberIndex index = loadedIndex();
+        index.put(Integer.MAX_VALUE, "3", true);
+        index.put((1 << 30) + 5, "4", false, 99);
+        assertTrue(index.isVerified("3"));
+        assertFalse(index.isAbsent("3"));
+        assertTrue(index.isUnchanged("4", 99));
+        assertFalse(index.isVerified("4"));
+    }
+
+    @Test
+    void growsFromSmallCapacity() {
+        StudentNumberIndex.Table table = new StudentNumberIndex.Table(2);
+        for (int i = 1; i <= 20_000; i++) {
+            table.put(String.valueOf(i * 7L), StudentNumberIndex.Table.pack(i, i % 3 == 0), i);
+        }
+        assertEquals(20_000, table.size());
+        for (int i = 1; i <= 20_000; i++) {
+            assertEquals(StudentNumberIndex.Table.pack(i, i % 3 == 0), table.get(String.valueOf(i * 7L)));
+            assertEquals(i, table.fingerprint(String.valueOf(i * 7L)));
+        }
+        assertEquals(StudentNumberIndex.Table.ABSENT, table.get("8"));
+    }
+
+    // Dolu tablo (yuzde 75'e kadar) ve kucuk anahtar uzayi: uzun yoklama zincirleri, sondan basa sarma
+    // ve geri kaydirmali silme surekli calisir
+    @Test
+    void matchesHashMapAcrossWrapAroundAndRemovals() {
+        Random random = new Random(9);
+        StudentNumberIndex.Table table = new StudentNumberIndex.Table(64);
+        Map<String, Long> expected = new HashMap<>();
+        boolean wrapped = false;
+        for (int op = 0; op < 200_000; op++) {
+            String number = random.nextInt(10) == 0 ? "0" + random.nextInt(20) : String.valueOf(random.nextInt(60));
+            if (random.nextInt(3) == 0) {
+                table.remove(number);
+                expected.remove(number);
+            } else {
+                long value = StudentNumberIndex.Table.pack(1 + random.nextInt(1000), random.nextBoolean());
+                table.put(number, value, value);
+                expected.put(number, value);
+            }
+            if (op % 97 == 0) {
+                wrapped |= wrapsAround(table);
+                for (int n = 0; n < 60; n++) {
+                    assertEquals(expected.getOrDefault(String.valueOf(n), StudentNumberIndex.Table.ABSENT),
+                            table.get(String.valueOf(n)), "islem " + op + ", numara " + n);
+                }
+                assertEquals(expected.size(), table.size());
+            }
+        }
+        for (Map.Entry<String, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), table.get(entry.getKey()));
+            assertEquals(entry.getValue(), table.fingerprint(entry.getKey()));
+        }
+        assertTrue(wrapped, "yoklama zinciri hic tablonun sonundan basa sarmadi");
+    }
+
+    // Toplu yazma indeksi birakir; yazma bitince kullanan import varsa veritabanindan yeniden yuklenir
+    @Test
+    void reloadAfterBulkWriteOnlyWhileInUse() throws InterruptedException {
+        StudentsRepository repository = mock(StudentsRepository.class);
+        doAnswer(invocation -> {
+            StudentsRepositoryCustom.StudentNumberCallback callback = invocation.getArgument(0);
+            callback.accept(1, "1001", false, 5);
+            return null;
+        }).when(repository).forEachStudentNumber(any());
+        CsvIngestionThrottle throttle = mock(CsvIngestionThrottle.class);
+        StudentNumberIndex index = new StudentNumberIndex(repository, throttle);
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        index.acquire();
+        assertTrue(index.isUnchanged("1001", 5));
+        index.invalidate();
+        assertFalse(index.isLoaded());
+        assertFalse(index.isUnchanged("1001", 5));
+        index.reload();
+        assertTrue(index.isLoaded());
+        assertTrue(index.isUnchanged("1001", 5));
+        verify(repository, times(2)).forEachStudentNumber(any());
+        // Her tam tarama yazici limitinden bir yer alip birakir
+        verify(throttle, times(2)).acquire();
+        verify(throttle, times(2)).release();
+
+        index.release();
+        index.invalidate();
+        index.reload();
+        assertFalse(index.isLoaded());
+        verify(repository, times(2)).forEachStudentNumber(any());
+    }
+
+    private static StudentNumberIndex loadedIndex() {
+        StudentNumberIndex index = new StudentNumberIndex(mock(StudentsRepository.class), mock(CsvIngestionThrottle.class));
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.acquire();
+        return index;
+    }
+
+    // Ev slotu kendisinden sonra gelen bir kayit varsa zincir tablonun sonundan basa sarmistir
+    private static boolean wrapsAround(StudentNumberIndex.Table table) {
+        long[] keys = (long[]) ReflectionTestUtils.getField(table, "keys");
+        long[] values = (long[]) ReflectionTestUtils.getField(table, "values");
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != StudentNumberIndex.Table.ABSENT) {
+                int home = ReflectionTestUtils.invokeMethod(table, "slot", keys[slot]);
+                if (home > slot) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.backend.service.concretes;
+
+import com.example.backend.entities.Student;
+import com.example.backend.service.abstracts.CsvRecordReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+// csv.parser=bytes okuyucusu opencsv okuyucusuyla ayni Student'lari uretmeli
+class Utf8CsvRecordReaderTest {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final CsvLineToStudentTransformer transformer =
+            new CsvLineToStudentTransformer(mock(CsvImportTracker.class), mock(CsvImportMetrics.class));
+
+    @Test
+    void quotedFields() throws IOException {
+        assertSameStudents("name,surname,number\n"
+                + "\"Ali\",\"Veli\",\"1001\"\n"
+                + "\"  Ayse \",Kaya,\" 1002 \"\n"
+                + "\"Can, Jr.\",\"Demir\",1003\n"
+                + "\"\",Bos,1004\n");
+    }
+
+    @Test
+    void multiLineFields() throws IOException {
+        assertSameStudents("name,surname,number\n"
+                + "\"Ali\nRiza\",Veli,2001\n"
+                + "\"Ayse\r\nNur\",Kaya,2002\r\n"
+                + "Can,\"Demir\n\n\",2003\n");
+    }
+
+    @Test
+    void escapedQuotes() throws IOException {
+        assertSameStudents("name,surname,number\n"
+                + "\"Ali \"\"Deli\"\"\",Veli,3001\n"
+                + "\"Ayse \\\"Nur\\\"\",Kaya,3002\n"
+                + "\"Ters \\\\ cizgi\",Demir,3003\n"
+                + "\"\"\"\",Tirnak,3004\n");
+    }
+
+    @Test
+    void bomPrefixedFile() throws IOException {
+        assertSameStudents(concat(BOM, bytes("name,surname,number\nAli,Veli,4001\nAyse,Kaya,4002")));
+        assertSameStudents(concat(BOM, bytes("number,name,surname\r\n4003,Can,Demir\r\n")));
+    }
+
+    @Test
+    void nonAsciiText() throws IOException {
+        assertSameStudents("name,surname,number\n"
+                + "Şükrü,Öztürk,5001\n"
+                + "\"İğdır\",\"Çağlayan\",5002\n"
+                + "Zoë,Müller-Łukasz,5003\n"
+                + "名前,姓,5004\n"
+                + "\"😀 emoji\",Ünlü,5005\n");
+    }
+
+    @Test
+    void reorderedAndExtraColumns() throws IOException {
+        assertSameStudents("email,number,x,surname,name\n"
+                + "a@b.c,6001,,Veli,Ali\n"
+                + "d@e.f,6002,\"q,q\",\"Kaya\",Ayse\n"
+                + "short,6003\n"
+                + "\n"
+                + "g@h.i,6004,y,Demir,Can,fazla\n");
+    }
+
+    @Test
+    void randomWellFormedFiles() throws IOException {
+        Random random = new Random(42);
+        for (int file = 0; file < 200; file++) {
+            StringBuilder csv = new StringBuilder("name,surname,number\n");
+            int rows = 1 + random.nextInt(50);
+            for (int row = 0; row < rows; row++) {
+                csv.append(randomField(random)).append(',')
+                        .append(randomField(random)).append(',')
+                        .append(randomField(random))
+                        .append(random.nextInt(4) == 0 ? "\r\n" : "\n");
+            }
+            byte[] content = bytes(csv.toString());
+            assertSameStudents(random.nextBoolean() ? concat(BOM, content) : content);
+        }
+    }
+
+    private static String randomField(Random random) {
+        String alphabet = "abcXYZ019 şğüİ€😀,\"\n\r\\";
+        int length = random.nextInt(8);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            value.appendCodePoint(alphabet.codePointAt(alphabet.offsetByCodePoints(0,
+                    random.nextInt(alphabet.codePointCount(0, alphabet.length())))));
+        }
+        String text = value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r' || c == '\\')) {
+            return text;
+        }
+        // Ozel karakterli sutun tirnaklanir; tirnak "" ile, ters bolu \\ ile kacar
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\"\"") + "\"";
+    }
+
+    private void assertSameStudents(String csv) throws IOException {
+        assertSameStudents(bytes(csv));
+    }
+
+    private void assertSameStudents(byte[] csv) throws IOException {
+        List<String> expected = students(new OpenCsvRecordReader(
+                new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8)));
+        // Kucuk tampon: kayitlar ve cok byte'li karakterler tampon sinirina denk gelir
+        List<String> actual = students(new Utf8CsvRecordReader(
+                Channels.newChannel(new ByteArrayInputStream(csv)), 7));
+        assertEquals(expected, actual, () -> new String(csv, StandardCharsets.UTF_8));
+    }
+
+    // CsvFileProcessor gibi header'a gore name, surname, number projeksiyonu kurup satirlari donusturur
+    private List<String> students(CsvRecordReader reader) throws IOException {
+        List<String> students = new ArrayList<>();
+        try (reader) {
+            String[] header = reader.readNext();
+            List<String> columns = new ArrayList<>();
+            for (String column : header) {
+                columns.add(column.replace("\uFEFF", "").trim().toLowerCase());
+            }
+            reader.setProjection(new int[]{
+                    columns.indexOf("name"), columns.indexOf("surname"), columns.indexOf("number")});
+
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                Student student = transformer.transformCsvLineToStudent(line, null);
+                // Reddedilen satirin ham sutunlari karsilastirilmaz, sadece reddedildigi
+                students.add(student == null ? "reddedildi"
+                        : student.getName() + "|" + student.getSurname() + "|" + student.getNumber());
+            }
+        }
+        return students;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.utility;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// IpAddressParser tabanli IpValidationUtil ile eski regex/split surumunun (LegacyIpValidationUtil)
+// karsilastirmasi. Her ornek IpAddressParserTest'teki karisik girislerin tamamini isler.
+// Testlerle calismaz; main ile calistirilir, JMH secenekleri arguman olarak verilebilir:
+//   mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+//       -Dexec.args="-cp %classpath com.example.backend.utility.IpAddressParserBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IpAddressParserBenchmark {
+
+    @Param({"10000"})
+    public int inputs;
+
+    private String[] mixed;
+    private String[] ipv4;
+    private String[] ipv6;
+
+    @Setup
+    public void generateInputs() {
+        List<String> all = IpAddressParserTest.randomInputs(inputs, 5);
+        mixed = all.toArray(new String[0]);
+        ipv4 = all.stream().filter(LegacyIpValidationUtil::isValidIpv4).map(String::trim).toArray(String[]::new);
+        ipv6 = all.stream().filter(input -> LegacyIpValidationUtil.isValidIpv6(input)
+                && IpValidationUtil.isValidIpv6(input)).toArray(String[]::new);
+    }
+
+    // IpParseUtil.getInputType ve IP kaydetme/ice aktarma yolundaki tam dogrulama
+    @Benchmark
+    public void validateInputLegacy(Blackhole blackhole) {
+        for (String input : mixed) {
+            blackhole.consume(LegacyIpValidationUtil.isValidIpInput(input));
+        }
+    }
+
+    @Benchmark
+    public void validateInput(Blackhole blackhole) {
+        for (String input : mixed) {
+            blackhole.consume(IpValidationUtil.isValidIpInput(input));
+        }
+    }
+
+    @Benchmark
+    public void ipv4ToLongLegacy(Blackhole blackhole) {
+        for (String input : ipv4) {
+            blackhole.consume(LegacyIpValidationUtil.ipToLong(input));
+        }
+    }
+
+    @Benchmark
+    public void ipv4ToLong(Blackhole blackhole) {
+        for (String input : ipv4) {
+            blackhole.consume(IpValidationUtil.ipToLong(input));
+        }
+    }
+
+    @Benchmark
+    public void ipv6ToBigIntegerLegacy(Blackhole blackhole) {
+        for (String input : ipv6) {
+            blackhole.consume(LegacyIpValidationUtil.ipv6ToBigInteger(input));
+        }
+    }
+
+    @Benchmark
+    public void ipv6ToBigInteger(Blackhole blackhole) {
+        for (String input : ipv6) {
+            blackhole.consume(IpValidationUtil.ipv6ToBigInteger(input));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args))
+                .include(IpAddressParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
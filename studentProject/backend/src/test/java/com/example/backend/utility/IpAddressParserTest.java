@@ -0,0 +1,322 @@
+package com.example.backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// IpAddressParser tabanli IpValidationUtil/IpParseUtil eski regex/split surumuyle (LegacyIpValidationUtil)
+// ayni sonucu vermeli. Bilerek degisen tek davranis tekil IPv6 ve IPv6 CIDR dogrulamasidir; orada
+// yeni sonuc JDK'nin IPv6 ayristiricisiyla (InetAddress) ayni olmali.
+class IpAddressParserTest {
+
+    private static final String ALPHABET = "0123456789abcdefABF.:/- ";
+
+    @Test
+    void ipv4ValidationUnchanged() {
+        for (String input : randomInputs(200_000, 1)) {
+            assertEquals(LegacyIpValidationUtil.isValidIpv4(input), IpValidationUtil.isValidIpv4(input), input);
+            assertEquals(LegacyIpValidationUtil.isValidIpv4Cidr(input), IpValidationUtil.isValidIpv4Cidr(input), input);
+            assertEquals(LegacyIpValidationUtil.isValidIpv4Range(input), IpValidationUtil.isValidIpv4Range(input), input);
+            assertEquals(LegacyIpValidationUtil.isValidIpv6Range(input), IpValidationUtil.isValidIpv6Range(input), input);
+        }
+    }
+
+    @Test
+    void ipv6ValidationDiffersOnlyWhereJdkAgrees() {
+        for (String input : randomInputs(200_000, 2)) {
+            boolean ipv6 = IpValidationUtil.isValidIpv6(input);
+            if (ipv6 != LegacyIpValidationUtil.isValidIpv6(input)) {
+                assertEquals(jdkAcceptsIpv6(input.trim()), ipv6, input);
+            }
+
+            boolean cidr = IpValidationUtil.isValidIpv6Cidr(input);
+            if (cidr != LegacyIpValidationUtil.isValidIpv6Cidr(input)) {
+                String trimmed = input.trim();
+                int slash = trimmed.indexOf('/');
+                assertTrue(slash > 0, input);
+                // Fark adres kismindan gelmeli; prefix her iki surumde de 0-128 arasi sayi
+                assertEquals(jdkAcceptsIpv6(trimmed.substring(0, slash))
+                        && trimmed.substring(slash + 1).matches("[0-9]{1,3}")
+                        && Integer.parseInt(trimmed.substring(slash + 1)) <= 128, cidr, input);
+            }
+
+            boolean any = IpValidationUtil.isValidIpInput(input);
+            if (any != LegacyIpValidationUtil.isValidIpInput(input)) {
+                assertTrue(ipv6 != LegacyIpValidationUtil.isValidIpv6(input)
+                        || cidr != LegacyIpValidationUtil.isValidIpv6Cidr(input), input);
+            }
+        }
+    }
+
+    @Test
+    void parsedValuesMatchLegacyAndJdk() throws Exception {
+        for (String input : randomInputs(200_000, 3)) {
+            if (IpValidationUtil.isValidIpv4(input)) {
+                assertEquals(LegacyIpValidationUtil.ipToLong(input.trim()), IpValidationUtil.ipToLong(input.trim()), input);
+            }
+            if (IpValidationUtil.isValidIpv6(input)) {
+                assertEquals(new BigInteger(1, InetAddress.getByName(input.trim()).getAddress()),
+                        IpValidationUtil.ipv6ToBigInteger(input), input);
+            }
+            if (IpValidationUtil.isValidIpInput(input) && LegacyIpValidationUtil.isValidIpInput(input)) {
+                assertEquals(LegacyIpValidationUtil.toRange(input), IpParseUtil.toRange(input), input);
+            }
+        }
+    }
+
+    @Test
+    void longToIpUnchanged() {
+        Random random = new Random(4);
+        for (int i = 0; i < 10_000; i++) {
+            long address = random.nextLong() & 0xFFFFFFFFL;
+            assertEquals(LegacyIpValidationUtil.longToIp(address), IpValidationUtil.longToIp(address));
+        }
+        assertEquals("0.0.0.0", IpValidationUtil.longToIp(0));
+        assertEquals("255.255.255.255", IpValidationUtil.longToIp(0xFFFFFFFFL));
+    }
+
+    // Regex/split surumu "1::" gibi sonda kisaltmayi reddediyor, sonda tek ':' kabul ediyordu
+    @Test
+    void ipv6TrailingCompressionAccepted() {
+        assertTrue(IpValidationUtil.isValidIpv6("1::"));
+        assertTrue(IpValidationUtil.isValidIpv6("2001:db8::"));
+        assertTrue(IpValidationUtil.isValidIpv6("fe80:0:0:0:0:0:0::"));
+        assertTrue(IpValidationUtil.isValidIpv6Cidr("2001:db8::/32"));
+        assertTrue(IpValidationUtil.isValidIpInput("2001:db8::/32"));
+        assertEquals(new BigInteger("20010db8000000000000000000000000", 16), IpValidationUtil.ipv6ToBigInteger("2001:db8::"));
+        assertEquals(new IpParseUtil.IpRange(6, new BigInteger("20010db8000000000000000000000000", 16),
+                new BigInteger("20010db8ffffffffffffffffffffffff", 16)), IpParseUtil.toRange("2001:db8::/32"));
+    }
+
+    @Test
+    void ipv6TrailingColonAndExtraGroupsRejected() {
+        assertFalse(IpValidationUtil.isValidIpv6("1:2:3:4:5:6:7:8:"));
+        assertFalse(IpValidationUtil.isValidIpv6("::1:"));
+        assertFalse(IpValidationUtil.isValidIpv6("1::2:"));
+        assertFalse(IpValidationUtil.isValidIpv6("1:2:3:4::5:6:7:8"));
+        assertFalse(IpValidationUtil.isValidIpv6("1:2:3:4:5:6:7:8:9"));
+        assertFalse(IpValidationUtil.isValidIpv6Cidr("::1:/64"));
+        assertFalse(IpValidationUtil.isValidIpInput("1:2:3:4:5:6:7:8:"));
+        assertNull(IpValidationUtil.ipv6ToBigInteger("1:2:3:4:5:6:7:8:"));
+    }
+
+    @Test
+    void ipv6EdgeValues() {
+        assertEquals(BigInteger.ZERO, IpValidationUtil.ipv6ToBigInteger("::"));
+        assertEquals(BigInteger.ONE, IpValidationUtil.ipv6ToBigInteger(" ::1 "));
+        assertEquals(BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE),
+                IpValidationUtil.ipv6ToBigInteger("ffff:ffff:ffff:ffff:ffff:FFFF:ffff:ffff"));
+        assertEquals(new BigInteger("00010000000000000000000000000002", 16), IpValidationUtil.ipv6ToBigInteger("1::2"));
+        assertFalse(IpValidationUtil.isValidIpv6(":::"));
+        assertFalse(IpValidationUtil.isValidIpv6("1::2::3"));
+        assertFalse(IpValidationUtil.isValidIpv6("12345::"));
+        // Gomulu IPv4 yazimi eskisi gibi desteklenmez
+        assertFalse(IpValidationUtil.isValidIpv6("::ffff:1.2.3.4"));
+        // IPv6 araligi eskisi gibi sadece kisaltilmamis yazimla
+        assertFalse(IpValidationUtil.isValidIpv6Range("1::1-1::2"));
+        assertTrue(IpValidationUtil.isValidIpv6Range("1:0:0:0:0:0:0:1-1:0:0:0:0:0:0:2"));
+    }
+
+    @Test
+    void ipv4EdgeValues() {
+        assertTrue(IpValidationUtil.isValidIpv4(" 010.001.0.255 "));
+        assertEquals(0x0A010000L | 255, IpValidationUtil.ipToLong("010.001.0.255"));
+        assertFalse(IpValidationUtil.isValidIpv4("256.0.0.1"));
+        assertFalse(IpValidationUtil.isValidIpv4("1.2.3.0001"));
+        assertFalse(IpValidationUtil.isValidIpv4("1.2.3"));
+        assertFalse(IpValidationUtil.isValidIpv4("1.2.3.4."));
+        assertFalse(IpValidationUtil.isValidIpv4Cidr("10.0.0.0/08"));
+        assertFalse(IpValidationUtil.isValidIpv4Cidr("10.0.0.0/33"));
+        assertFalse(IpValidationUtil.isValidIpInput("10.0.0.1/8"));
+        assertFalse(IpValidationUtil.isValidIpInput("10.0.0.9-10.0.0.1"));
+        assertTrue(IpValidationUtil.isValidIpInput("10.0.0.0/8"));
+        assertEquals(0, IpValidationUtil.ipToLong("1.2.3.x"));
+    }
+
+    @Test
+    void ipInRangeComparesNumerically() {
+        assertTrue(IpValidationUtil.isIpInRange("2001:0db8:0:0:0:0:0:5", "2001:db8::/32"));
+        assertFalse(IpValidationUtil.isIpInRange("2001:db9::1", "2001:db8::/32"));
+        assertTrue(IpValidationUtil.isIpInRange("10.0.0.5", "10.0.0.1-10.0.0.9"));
+        assertFalse(IpValidationUtil.isIpInRange("10.0.0.5", "2001:db8::/32"));
+        assertFalse(IpValidationUtil.isIpInRange("10.0.0.5", "10.0.0.5"));
+    }
+
+    // Ayristiricinin kendi sinirlari: oktet/grup uzunlugu, "::" konumu, [from, to) alt araligi
+    @Test
+    void parseIpv4Edges() {
+        assertEquals(0, IpAddressParser.parseIpv4("0.0.0.0"));
+        assertEquals(0xFFFFFFFFL, IpAddressParser.parseIpv4("255.255.255.255"));
+        assertEquals(0x01020304L, IpAddressParser.parseIpv4("01.002.3.4"));
+        for (String input : new String[]{"", "256.0.0.1", "1.2.3", "1.2.3.4.", ".1.2.3.4", "1..2.3", "0001.2.3.4",
+                "1.2.3.4 ", "1.2.3.-4", "1.2.3.4.5", "a.b.c.d"}) {
+            assertEquals(IpAddressParser.INVALID, IpAddressParser.parseIpv4(input), input);
+        }
+        assertEquals(IpAddressParser.INVALID, IpAddressParser.parseIpv4(null));
+
+        String cidr = "x10.0.0.1/24";
+        assertEquals(0x0A000001L, IpAddressParser.parseIpv4(cidr, 1, cidr.indexOf('/')));
+        assertEquals(IpAddressParser.INVALID, IpAddressParser.parseIpv4(cidr, 1, 1));
+        assertEquals("255.0.10.1", IpAddressParser.formatIpv4(IpAddressParser.parseIpv4("255.0.10.1")));
+    }
+
+    @Test
+    void parseIpv6Edges() {
+        assertIpv6(0, 0, "::");
+        assertIpv6(0, 1, "::1");
+        assertIpv6(0x0001000000000000L, 0, "1::");
+        assertIpv6(-1, -1, "ffff:FFFF:ffff:ffff:ffff:ffff:ffff:ffff");
+        assertIpv6(0x0001000200030004L, 0x0005000600070008L, "1:2:3:4:5:6:7:8");
+        assertIpv6(0x0001000200030004L, 0, "1:2:3:4::");
+        assertIpv6(0x0001000200030004L, 0x0005000000000000L, "1:2:3:4:5::");
+        assertIpv6(1, 0x0002000300040005L, "::1:2:3:4:5");
+        assertIpv6(0x0001000200030000L, 0x0005000600070008L, "1:2:3::5:6:7:8");
+        assertIpv6(0x20010db800000000L, 0x00000000ffff0001L, "2001:db8::ffff:1");
+
+        for (String input : new String[]{"", ":", ":1", "1:", "1::2::3", ":::", "12345::", "g::",
+                "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8", "::1:2:3:4:5:6:7:8", "1:2:3:4:5:6:7:8::",
+                "1.2.3.4", "::1 ", "1:2:3:4:5:6:7:"}) {
+            assertFalse(IpAddressParser.parseIpv6(input, null), input);
+        }
+        assertFalse(IpAddressParser.parseIpv6(null, null));
+
+        // requireFull: kisaltma yok, 8 grup
+        String full = "1:2:3:4:5:6:7:8";
+        assertTrue(IpAddressParser.parseIpv6(full, 0, full.length(), null, true));
+        assertFalse(IpAddressParser.parseIpv6("::1", 0, 3, null, true));
+        assertFalse(IpAddressParser.parseIpv6("::", 0, 2, null, true));
+
+        long[] out = new long[2];
+        String cidr = "[2001:db8::1]/64";
+        assertTrue(IpAddressParser.parseIpv6(cidr, 1, cidr.indexOf(']'), out, false));
+        assertEquals(0x20010db800000000L, out[0]);
+        assertEquals(1, out[1]);
+    }
+
+    @Test
+    void parsePrefixEdges() {
+        assertEquals(0, IpAddressParser.parsePrefix("0", 0, 1, 32));
+        assertEquals(32, IpAddressParser.parsePrefix("32", 0, 2, 32));
+        assertEquals(-1, IpAddressParser.parsePrefix("33", 0, 2, 32));
+        assertEquals(128, IpAddressParser.parsePrefix("128", 0, 3, 128));
+        assertEquals(8, IpAddressParser.parsePrefix("008", 0, 3, 32));
+        assertEquals(-1, IpAddressParser.parsePrefix("0128", 0, 4, 128));
+        assertEquals(-1, IpAddressParser.parsePrefix("", 0, 0, 32));
+        assertEquals(-1, IpAddressParser.parsePrefix("1a", 0, 2, 32));
+        assertEquals(-1, IpAddressParser.parsePrefix("-1", 0, 2, 32));
+        assertEquals(24, IpAddressParser.parsePrefix("10.0.0.0/24", 9, 11, 32));
+    }
+
+    // String.trim ile ayni: kod noktasi <= ' ' olan her karakter kirpilir, NBSP kirpilmaz
+    @Test
+    void trimMatchesStringTrim() {
+        for (String input : new String[]{"", " ", "   ", "1.2.3.4", "  1.2.3.4\t\n", "\u0000::1\u001f",
+                " a b ", "\u00a01.2.3.4\u00a0"}) {
+            int start = IpAddressParser.trimStart(input);
+            int end = IpAddressParser.trimEnd(input, start);
+            assertTrue(start <= end, input);
+            assertEquals(input.trim(), input.substring(start, end), input);
+        }
+        assertEquals(3, IpAddressParser.trimEnd("   ", 3));
+        assertEquals(1, IpAddressParser.indexOf("a/b/c", '/', 0, 5));
+        assertEquals(3, IpAddressParser.indexOf("a/b/c", '/', 2, 5));
+        assertEquals(-1, IpAddressParser.indexOf("a/b/c", '/', 2, 3));
+    }
+
+    @Test
+    void toBigIntegerIsUnsigned() {
+        BigInteger two64 = BigInteger.ONE.shiftLeft(64);
+        assertEquals(BigInteger.ZERO, IpAddressParser.toBigInteger(0, 0));
+        assertEquals(BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE), IpAddressParser.toBigInteger(-1, -1));
+        assertEquals(two64.subtract(BigInteger.ONE), IpAddressParser.toBigInteger(0, -1));
+        assertEquals(two64, IpAddressParser.toBigInteger(1, 0));
+        assertEquals(BigInteger.ONE.shiftLeft(127), IpAddressParser.toBigInteger(Long.MIN_VALUE, 0));
+        assertEquals(BigInteger.ONE.shiftLeft(63), IpAddressParser.toBigInteger(0, Long.MIN_VALUE));
+    }
+
+    private static void assertIpv6(long hi, long lo, String input) {
+        long[] out = new long[2];
+        assertTrue(IpAddressParser.parseIpv6(input, out), input);
+        assertEquals(hi, out[0], input);
+        assertEquals(lo, out[1], input);
+        assertTrue(IpAddressParser.parseIpv6(input, null), input);
+    }
+
+    private static boolean jdkAcceptsIpv6(String text) {
+        // InetAddress ayrica gomulu IPv4 ve %scope yazimini kabul eder; bunlar desteklenmiyor
+        if (!text.contains(":") || text.contains(".") || text.contains("%") || text.contains(" ")) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(text).getAddress().length == 16;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // IPv4/IPv6 adres, CIDR ve araliklari; bir kismi rastgele bozulmus, bir kismi rastgele karakterler
+    static List<String> randomInputs(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String input = switch (random.nextInt(8)) {
+                case 0 -> ipv4(random);
+                case 1 -> ipv6(random);
+                case 2 -> ipv4(random) + "/" + random.nextInt(40);
+                case 3 -> ipv6(random) + "/" + random.nextInt(140);
+                case 4 -> ipv4(random) + "-" + ipv4(random);
+                case 5 -> ipv6(random) + "-" + ipv6(random);
+                case 6 -> {
+                    StringBuilder text = new StringBuilder();
+                    int length = random.nextInt(20);
+                    for (int j = 0; j < length; j++) {
+                        text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                    }
+                    yield text.toString();
+                }
+                default -> new String[]{"::", "::1", "1::", "::ffff:1.2.3.4", " 10.0.0.1 ", "10.0.0.0/8",
+                        "0.0.0.0/0", "fe80::1/64"}[random.nextInt(8)];
+            };
+            if (random.nextInt(10) == 0 && !input.isEmpty()) {
+                char[] chars = input.toCharArray();
+                chars[random.nextInt(chars.length)] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                input = new String(chars);
+            }
+            inputs.add(input);
+        }
+        return inputs;
+    }
+
+    private static String ipv4(Random random) {
+        return random.nextInt(300) + "." + random.nextInt(300) + "." + random.nextInt(260) + "." + random.nextInt(260);
+    }
+
+    // 8 grup; bazen bir yerde "::" ile kisaltilmis ve birkac grubu atlanmis
+    private static String ipv6(Random random) {
+        StringBuilder text = new StringBuilder();
+        int compressAt = random.nextInt(3) == 0 ? random.nextInt(9) : -1;
+        for (int group = 0; group < 8; group++) {
+            if (group == compressAt) {
+                text.append(group == 0 ? "::" : ":");
+                continue;
+            }
+            if (compressAt >= 0 && random.nextInt(4) == 0) {
+                continue;
+            }
+            text.append(Integer.toHexString(random.nextInt(random.nextBoolean() ? 0x10000 : 16)));
+            if (group < 7) {
+                text.append(':');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.backend.utility;
+
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.regex.Pattern;
+
+// IpAddressParser'dan onceki regex/split tabanli IpValidationUtil'in dogrulama ve donusum metodlari.
+// IpAddressParserTest eski ve yeni sonuclari karsilastirir, IpAddressParserBenchmark hizlarini olcer.
+final class LegacyIpValidationUtil {
+
+    // Regex patterns - static final olarak tanımlanmış
+    private static final Pattern IPV4_PATTERN = Pattern.compile(
+            "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
+    );
+
+    private static final Pattern IPV4_CIDR_PATTERN = Pattern.compile(
+            "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)/([0-9]|[1-2][0-9]|3[0-2])$"
+    );
+    
+    private static final Pattern IPV4_RANGE_PATTERN = Pattern.compile(
+            "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)-((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
+    );
+
+    private static final Pattern IPV6_RANGE_PATTERN = Pattern.compile(
+            "^([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}-([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}$"
+    );
+
+    // Temel IP doğrulama metodları
+    static boolean isValidIpv4(String ip) {
+        return ip != null && !ip.trim().isEmpty() && IPV4_PATTERN.matcher(ip.trim()).matches();
+    }
+
+    static boolean isValidIpv4Cidr(String cidr) {
+        return cidr != null && !cidr.trim().isEmpty() && IPV4_CIDR_PATTERN.matcher(cidr.trim()).matches();
+    }
+
+    static boolean isValidIpv4Range(String ipRange) {
+        return ipRange != null && !ipRange.trim().isEmpty() && IPV4_RANGE_PATTERN.matcher(ipRange.trim()).matches();
+    }
+
+    static boolean isValidIpv6Range(String ipRange) {
+        return ipRange != null && !ipRange.trim().isEmpty() && IPV6_RANGE_PATTERN.matcher(ipRange.trim()).matches();
+    }
+
+    static boolean isValidIpv6Cidr(String cidr) {
+        if (cidr == null || cidr.trim().isEmpty() || !cidr.contains("/")) {
+            return false;
+        }
+
+        String[] parts = cidr.split("/");
+        if (parts.length != 2) {
+            return false;
+        }
+
+        try {
+            int mask = Integer.parseInt(parts[1]);
+            return mask >= 0 && mask <= 128 && isValidIpv6(parts[0]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    static boolean isValidIpv6(String ip) {
+        if (ip == null || ip.trim().isEmpty()) {
+            return false;
+        }
+
+        String trimmedIp = ip.trim();
+
+        // Özel IPv6 adresleri
+        if (trimmedIp.equals("::1") || trimmedIp.equals("::")) {
+            return true;
+        }
+
+        if (!trimmedIp.contains(":")) {
+            return false;
+        }
+
+        // Çift iki nokta üst üste (::) kontrolü
+        if (trimmedIp.contains("::")) {
+            return isValidCompressedIpv6(trimmedIp);
+        } else {
+            return isValidFullIpv6(trimmedIp);
+        }
+    }
+
+    private static boolean isValidCompressedIpv6(String ip) {
+        // Sadece bir tane :: olmalı
+        if (ip.indexOf("::") != ip.lastIndexOf("::")) {
+            return false;
+        }
+
+        if (ip.equals("::")) {
+            return true;
+        }
+
+        String[] parts = ip.split("::");
+        if (parts.length != 2) {
+            return false;
+        }
+
+        return isValidHexGroups(parts[0]) && isValidHexGroups(parts[1]);
+    }
+
+    private static boolean isValidFullIpv6(String ip) {
+        String[] groups = ip.split(":");
+        if (groups.length != 8) {
+            return false;
+        }
+
+        for (String group : groups) {
+            if (!isValidHexGroup(group)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidHexGroup(String group) {
+        return group != null && !group.isEmpty() && group.length() <= 4 && 
+               group.matches("[0-9a-fA-F]{1,4}");
+    }
+
+    private static boolean isValidHexGroups(String groups) {
+        if (groups == null || groups.isEmpty()) {
+            return true;
+        }
+
+        String[] groupArray = groups.split(":");
+        for (String group : groupArray) {
+            if (!isValidHexGroup(group)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Ana IP doğrulama metodu
+    static boolean isValidIpInput(String input) {
+        if (input == null || input.trim().isEmpty()) {
+            return false;
+        }
+
+        String trimmedInput = input.trim();
+
+        // Sırayla tüm formatları kontrol et
+        return isValidIpv4(trimmedInput) ||
+               isValidIpv6(trimmedInput) ||
+               (isValidIpv4Cidr(trimmedInput) && isValidIpv4Subnet(trimmedInput)) ||
+               (isValidIpv6Cidr(trimmedInput) && isValidIpv6Subnet(trimmedInput)) ||
+               (isValidIpv4Range(trimmedInput) && isValidIpv4RangeLogic(trimmedInput)) ||
+               (isValidIpv6Range(trimmedInput) && isValidIpv6RangeLogic(trimmedInput));
+    }
+
+    // Subnet doğrulama metodları
+    private static boolean isValidIpv4Subnet(String cidr) {
+        try {
+            String[] parts = cidr.split("/");
+            String ip = parts[0];
+            int mask = Integer.parseInt(parts[1]);
+
+            return mask >= 0 && mask <= 32 && isValidIpv4(ip) && isIpv4NetworkAddress(ip, mask);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean isValidIpv6Subnet(String cidr) {
+        try {
+            String[] parts = cidr.split("/");
+            String ip = parts[0];
+            int mask = Integer.parseInt(parts[1]);
+
+            return mask >= 0 && mask <= 128 && isValidIpv6(ip);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Range doğrulama metodları
+    private static boolean isValidIpv4RangeLogic(String ipRange) {
+        try {
+            String[] parts = ipRange.split("-");
+            String startIp = parts[0];
+            String endIp = parts[1];
+
+            return isValidIpv4(startIp) && isValidIpv4(endIp) && 
+                   ipToLong(startIp) <= ipToLong(endIp);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean isValidIpv6RangeLogic(String ipRange) {
+        try {
+            String[] parts = ipRange.split("-");
+            String startIp = parts[0];
+            String endIp = parts[1];
+
+            return isValidIpv6(startIp) && isValidIpv6(endIp);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Network adresi kontrolü
+    private static boolean isIpv4NetworkAddress(String ip, int mask) {
+        long ipLong = ipToLong(ip);
+        long networkMask = (0xFFFFFFFFL << (32 - mask)) & 0xFFFFFFFFL;
+        return (ipLong & networkMask) == ipLong;
+    }
+
+    // IP dönüştürme metodları
+    static long ipToLong(String ipAddress) {
+        String[] parts = ipAddress.split("\\.");
+        if (parts.length != 4) return 0;
+
+        long result = 0;
+        for (int i = 0; i < 4; i++) {
+            result = result << 8 | Integer.parseInt(parts[i]);
+        }
+        return result;
+    }
+
+    // 128 bitlik isaretsiz deger; gecerli bir IPv6 adresi degilse null
+    static BigInteger ipv6ToBigInteger(String ipAddress) {
+        if (!isValidIpv6(ipAddress)) {
+            return null;
+        }
+        try {
+            // Iki nokta iceren girdi IPv6 literal olarak cozulur, DNS sorgusu yapilmaz
+            byte[] bytes = InetAddress.getByName(ipAddress.trim()).getAddress();
+            return bytes.length == 16 ? new BigInteger(1, bytes) : null;
+        } catch (UnknownHostException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static String longToIp(long ip) {
+        return String.format("%d.%d.%d.%d",
+                (ip >> 24) & 0xFF,
+                (ip >> 16) & 0xFF,
+                (ip >> 8) & 0xFF,
+                ip & 0xFF
+        );
+    }
+
+    // Eski IpParseUtil.getInputType ve toRange: format eski dogrulayicilarla, deger ipToLong/InetAddress ile
+    static IpParseUtil.IpRange toRange(String input) {
+        if (input == null || input.trim().isEmpty()) {
+            return null;
+        }
+        String trimmedInput = input.trim();
+        if (isValidIpv4(trimmedInput)) {
+            BigInteger address = BigInteger.valueOf(ipToLong(trimmedInput));
+            return new IpParseUtil.IpRange(4, address, address);
+        }
+        if (isValidIpv6(trimmedInput)) {
+            BigInteger address = ipv6ToBigInteger(trimmedInput);
+            return address != null ? new IpParseUtil.IpRange(6, address, address) : null;
+        }
+        boolean ipv4Cidr = isValidIpv4Cidr(trimmedInput);
+        if (ipv4Cidr || isValidIpv6Cidr(trimmedInput)) {
+            String[] parts = trimmedInput.split("/");
+            int bits = ipv4Cidr ? 32 : 128;
+            BigInteger address = ipv4Cidr ? BigInteger.valueOf(ipToLong(parts[0])) : ipv6ToBigInteger(parts[0]);
+            if (address == null) {
+                return null;
+            }
+            BigInteger hostMask = BigInteger.ONE.shiftLeft(bits - Integer.parseInt(parts[1])).subtract(BigInteger.ONE);
+            BigInteger network = address.andNot(hostMask);
+            return new IpParseUtil.IpRange(bits == 32 ? 4 : 6, network, network.or(hostMask));
+        }
+        boolean ipv4Range = isValidIpv4Range(trimmedInput);
+        if (ipv4Range || isValidIpv6Range(trimmedInput)) {
+            String[] parts = trimmedInput.split("-");
+            BigInteger first = ipv4Range ? BigInteger.valueOf(ipToLong(parts[0].trim())) : ipv6ToBigInteger(parts[0]);
+            BigInteger last = ipv4Range ? BigInteger.valueOf(ipToLong(parts[1].trim())) : ipv6ToBigInteger(parts[1]);
+            if (first == null || last == null) {
+                return null;
+            }
+            return new IpParseUtil.IpRange(ipv4Range ? 4 : 6, first.min(last), first.max(last));
+        }
+        return null;
+    }
+}